@@ -0,0 +1,237 @@
+package site.neurotriumph.www.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestResponseBodyMethodProcessor;
+import site.neurotriumph.www.component.FastAuthTokenVerifier;
+import site.neurotriumph.www.component.PasswordHashingExecutor;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.component.VerifiedTokenCache;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.Header;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.controller.UserController;
+import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.hasher.Sha256PasswordHasher;
+import site.neurotriumph.www.pojo.ConfirmationRequestBody;
+import site.neurotriumph.www.pojo.LoginRequestBody;
+import site.neurotriumph.www.pojo.LoginResponseBody;
+import site.neurotriumph.www.repository.RevokedTokenRepository;
+import site.neurotriumph.www.repository.UserRepository;
+import site.neurotriumph.www.resolver.AuthTokenPayloadArgumentResolver;
+import site.neurotriumph.www.resolver.ConfirmationRequestBodyArgumentResolver;
+import site.neurotriumph.www.resolver.ConfirmationTokenPayloadArgumentResolver;
+import site.neurotriumph.www.resolver.TokenHandlerMethods;
+import site.neurotriumph.www.service.AuthService;
+
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Baseline of the request authentication pipeline with the database
+ * taken out: issuing a token through AuthService.login, resolving the
+ * auth token and the confirmation token of a handler such as
+ * UserController.confirmEmailUpdate, and reading claims the way the
+ * controllers do. Settings are the defaults: no token cache, fast
+ * verifier on, SHA-256 password hashes.
+ *
+ * Reports throughput; run with "-prof gc" for gc.alloc.rate.norm (bytes/op).
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationPipelineBenchmark {
+  private static final String APP_SECRET = "abc123";
+  private static final String EMAIL = "test@gmail.com";
+  private static final String PASSWORD = "Qwerty123";
+
+  private AuthService authService;
+  private PasswordHashingExecutor passwordHashingExecutor;
+  private LoginRequestBody loginRequestBody;
+
+  private AuthTokenPayloadArgumentResolver authTokenPayloadArgumentResolver;
+  private ConfirmationRequestBodyArgumentResolver confirmationRequestBodyArgumentResolver;
+  private ConfirmationTokenPayloadArgumentResolver confirmationTokenPayloadArgumentResolver;
+  private MethodParameter authTokenPayloadParameter;
+  private MethodParameter confirmationRequestBodyParameter;
+  private MethodParameter confirmationTokenPayloadParameter;
+  private ServletWebRequest webRequest;
+
+  private DecodedJWT scannedAuthToken;
+  private DecodedJWT decodedAuthToken;
+  private DecodedJWT confirmationToken;
+
+  @Setup
+  public void setup() throws Exception {
+    TokenVerifierRegistry tokenVerifierRegistry = new TokenVerifierRegistry(APP_SECRET);
+    TokenEpochTable tokenEpochTable = new TokenEpochTable(1024);
+
+    TokenRevocationList tokenRevocationList = new TokenRevocationList(
+      Mockito.mock(RevokedTokenRepository.class), 1000, 0.01);
+    tokenRevocationList.afterPropertiesSet();
+
+    User user = new User(1L, EMAIL, DigestUtils.sha256Hex(PASSWORD), true);
+    UserRepository userRepository = userRepositoryOf(user);
+
+    passwordHashingExecutor = new PasswordHashingExecutor(List.of(new Sha256PasswordHasher()),
+      Sha256PasswordHasher.NAME, 1, 64);
+
+    authService = new AuthService();
+    ReflectionTestUtils.setField(authService, "tokenVerifierRegistry", tokenVerifierRegistry);
+    ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+    ReflectionTestUtils.setField(authService, "tokenEpochTable", tokenEpochTable);
+    ReflectionTestUtils.setField(authService, "passwordHashingExecutor", passwordHashingExecutor);
+    ReflectionTestUtils.setField(authService, "tokenRevocationList", tokenRevocationList);
+
+    loginRequestBody = new LoginRequestBody(EMAIL, PASSWORD);
+    LoginResponseBody loginResponseBody = authService.login(loginRequestBody);
+
+    authTokenPayloadArgumentResolver = new AuthTokenPayloadArgumentResolver(tokenVerifierRegistry,
+      new FastAuthTokenVerifier(APP_SECRET, true, tokenVerifierRegistry),
+      new VerifiedTokenCache(false, 0, 0),
+      tokenEpochTable,
+      tokenRevocationList,
+      userRepository);
+
+    Method handler = UserController.class.getMethod("confirmEmailUpdate",
+      DecodedJWT.class, ConfirmationRequestBody.class, DecodedJWT.class);
+    TokenHandlerMethods tokenHandlerMethods = new TokenHandlerMethods(
+      List.of(new HandlerMethod(new UserController(), handler)));
+
+    confirmationRequestBodyArgumentResolver = new ConfirmationRequestBodyArgumentResolver(
+      new RequestResponseBodyMethodProcessor(List.of(new MappingJackson2HttpMessageConverter())),
+      tokenHandlerMethods,
+      tokenVerifierRegistry);
+    confirmationTokenPayloadArgumentResolver = new ConfirmationTokenPayloadArgumentResolver();
+
+    authTokenPayloadParameter = new MethodParameter(handler, 0);
+    confirmationRequestBodyParameter = new MethodParameter(handler, 1);
+    confirmationTokenPayloadParameter = new MethodParameter(handler, 2);
+
+    String confirmationTokenString = JWT.create()
+      .withClaim(Field.NEW_EMAIL, "new@gmail.com")
+      .withExpiresAt(new Date(System.currentTimeMillis() + Const.CONFIRMATION_TOKEN_LIFETIME))
+      .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.EMAIL_UPDATE_CONFIRMATION));
+
+    byte[] content = new ObjectMapper().writeValueAsBytes(new ConfirmationRequestBody(confirmationTokenString));
+
+    MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/user/email/confirm") {
+      @Override
+      public ServletInputStream getInputStream() {
+        return new DelegatingServletInputStream(new ByteArrayInputStream(content));
+      }
+    };
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(content);
+    request.addHeader(Header.AUTHENTICATION_TOKEN, loginResponseBody.getToken());
+    webRequest = new ServletWebRequest(request);
+
+    scannedAuthToken = resolveAuthToken();
+    decodedAuthToken = JWT.decode(loginResponseBody.getToken());
+    confirmationToken = tokenVerifierRegistry.verify(TokenMarker.EMAIL_UPDATE_CONFIRMATION,
+      confirmationTokenString);
+  }
+
+  @TearDown
+  public void tearDown() {
+    passwordHashingExecutor.destroy();
+  }
+
+  /*
+   * Answers the two lookups the pipeline makes with the given user.
+   * */
+  private static UserRepository userRepositoryOf(User user) {
+    Optional<User> result = Optional.of(user);
+
+    return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+      new Class<?>[]{UserRepository.class},
+      (proxy, method, arguments) -> switch (method.getName()) {
+        case "findByEmail", "findConfirmedById" -> result;
+        case "toString" -> "UserRepository";
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == arguments[0];
+        default -> throw new UnsupportedOperationException(method.getName());
+      });
+  }
+
+  @Benchmark
+  public LoginResponseBody issueAuthToken() {
+    return authService.login(loginRequestBody);
+  }
+
+  @Benchmark
+  public DecodedJWT resolveAuthToken() {
+    return (DecodedJWT) authTokenPayloadArgumentResolver.resolveArgument(authTokenPayloadParameter,
+      null, webRequest, null);
+  }
+
+  @Benchmark
+  public Object resolveConfirmationToken() throws Exception {
+    confirmationRequestBodyArgumentResolver.resolveArgument(confirmationRequestBodyParameter,
+      null, webRequest, null);
+
+    return confirmationTokenPayloadArgumentResolver.resolveArgument(confirmationTokenPayloadParameter,
+      null, webRequest, null);
+  }
+
+  @Benchmark
+  public Long extractUserIdFromScannedToken() {
+    return scannedAuthToken.getClaim(Field.USER_ID).asLong();
+  }
+
+  @Benchmark
+  public Long extractUserIdFromDecodedToken() {
+    return decodedAuthToken.getClaim(Field.USER_ID).asLong();
+  }
+
+  @Benchmark
+  public String extractNewEmailFromConfirmationToken() {
+    return confirmationToken.getClaim(Field.NEW_EMAIL).asString();
+  }
+
+  /*
+   * Everything UserController.confirmEmailUpdate receives before its body runs.
+   * */
+  @Benchmark
+  public String confirmEmailUpdateArguments() throws Exception {
+    DecodedJWT authTokenPayload = resolveAuthToken();
+    DecodedJWT confirmationTokenPayload = (DecodedJWT) resolveConfirmationToken();
+
+    return authTokenPayload.getClaim(Field.USER_ID).asLong() +
+      confirmationTokenPayload.getClaim(Field.NEW_EMAIL).asString();
+  }
+}
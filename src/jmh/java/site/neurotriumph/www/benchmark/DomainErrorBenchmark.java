@@ -0,0 +1,156 @@
+package site.neurotriumph.www.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.neurotriumph.www.component.ErrorResponseCache;
+import site.neurotriumph.www.component.PasswordHashingExecutor;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.exception.GlobalExceptionHandler;
+import site.neurotriumph.www.hasher.Sha256PasswordHasher;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+import site.neurotriumph.www.pojo.LoginRequestBody;
+import site.neurotriumph.www.repository.UserRepository;
+import site.neurotriumph.www.service.AuthService;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of rejecting a request, from the throw to the response entity.
+ * The rejection is thrown "depth" frames below the handler, roughly
+ * what Tomcat, the filter chain and Spring MVC put on the stack:
+ * - freshException: a new IllegalStateException per rejection, as
+ *   before, answered with a new ErrorResponseBody;
+ * - domainException: the shared stackless DomainException and the
+ *   response rendered for it at startup;
+ * - loginWrongPassword: AuthService.login with a wrong password and
+ *   the exception handler, on top of the same stack.
+ *
+ * Run with "-prof gc" to get gc.alloc.rate.norm (bytes/op).
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainErrorBenchmark {
+  private static final String EMAIL = "test@gmail.com";
+
+  @Param({"10", "100"})
+  private int depth;
+
+  private GlobalExceptionHandler globalExceptionHandler;
+  private PasswordHashingExecutor passwordHashingExecutor;
+  private AuthService authService;
+  private LoginRequestBody wrongPassword;
+
+  @Setup
+  public void setup() throws Exception {
+    globalExceptionHandler = new GlobalExceptionHandler();
+    ReflectionTestUtils.setField(globalExceptionHandler, "errorResponseCache",
+      new ErrorResponseCache(new ObjectMapper()));
+
+    passwordHashingExecutor = new PasswordHashingExecutor(List.of(new Sha256PasswordHasher()),
+      Sha256PasswordHasher.NAME, 1, 64);
+
+    Optional<User> user = Optional.of(new User(1L, EMAIL, DigestUtils.sha256Hex("Qwerty123"), true));
+    UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+      UserRepository.class.getClassLoader(),
+      new Class<?>[]{UserRepository.class},
+      (proxy, method, arguments) -> switch (method.getName()) {
+        case "findByEmail" -> user;
+        case "toString" -> "UserRepository";
+        default -> throw new UnsupportedOperationException(method.getName());
+      });
+
+    authService = new AuthService();
+    ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+    ReflectionTestUtils.setField(authService, "tokenEpochTable", new TokenEpochTable(1024));
+    ReflectionTestUtils.setField(authService, "passwordHashingExecutor", passwordHashingExecutor);
+
+    wrongPassword = new LoginRequestBody(EMAIL, "Qwerty1234");
+  }
+
+  @TearDown
+  public void tearDown() {
+    passwordHashingExecutor.destroy();
+  }
+
+  private static void throwFresh(int depth) {
+    if (depth > 0) {
+      throwFresh(depth - 1);
+      return;
+    }
+
+    throw new IllegalStateException(Message.WRONG_PASSWORD);
+  }
+
+  private static void throwDomain(int depth) {
+    if (depth > 0) {
+      throwDomain(depth - 1);
+      return;
+    }
+
+    throw DomainException.of(Message.WRONG_PASSWORD);
+  }
+
+  private void login(int depth) {
+    if (depth > 0) {
+      login(depth - 1);
+      return;
+    }
+
+    authService.login(wrongPassword);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> freshException() {
+    try {
+      throwFresh(depth);
+      return null;
+    } catch (IllegalStateException e) {
+      return new ResponseEntity<>(new ErrorResponseBody(e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> domainException() {
+    try {
+      throwDomain(depth);
+      return null;
+    } catch (DomainException e) {
+      return globalExceptionHandler.domainException(e);
+    }
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> loginWrongPassword() {
+    try {
+      login(depth);
+      return null;
+    } catch (DomainException e) {
+      return globalExceptionHandler.domainException(e);
+    }
+  }
+}
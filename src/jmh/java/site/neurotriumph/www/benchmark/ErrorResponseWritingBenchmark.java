@@ -0,0 +1,69 @@
+package site.neurotriumph.www.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import site.neurotriumph.www.component.ErrorResponseCache;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Writing a 400 body the way Spring MVC does once the exception handler
+ * has returned: an ErrorResponseBody through the Jackson converter, as
+ * before, against the byte array ErrorResponseCache rendered at startup
+ * through the byte array converter.
+ *
+ * Run with "-prof gc" to get gc.alloc.rate.norm (bytes/op).
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseWritingBenchmark {
+  private MappingJackson2HttpMessageConverter jacksonConverter;
+  private ByteArrayHttpMessageConverter byteArrayConverter;
+  private ErrorResponseCache errorResponseCache;
+
+  @Setup
+  public void setup() throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+    byteArrayConverter = new ByteArrayHttpMessageConverter();
+    errorResponseCache = new ErrorResponseCache(objectMapper);
+  }
+
+  @Benchmark
+  public MockHttpOutputMessage jackson() throws IOException {
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    jacksonConverter.write(new ErrorResponseBody(Message.WRONG_PASSWORD), MediaType.APPLICATION_JSON, outputMessage);
+
+    return outputMessage;
+  }
+
+  @Benchmark
+  public MockHttpOutputMessage preRendered() throws IOException {
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    byteArrayConverter.write(errorResponseCache.getBody(Message.WRONG_PASSWORD), MediaType.APPLICATION_JSON,
+      outputMessage);
+
+    return outputMessage;
+  }
+}
@@ -0,0 +1,81 @@
+package site.neurotriumph.www.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import site.neurotriumph.www.component.FastAuthTokenVerifier;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Verification of a token shaped like the ones AuthService.login issues,
+ * including reading the user id the way the controllers do.
+ * Run with "-prof gc" to get gc.alloc.rate.norm (bytes/op).
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastAuthTokenVerificationBenchmark {
+  private static final String APP_SECRET = "abc123";
+
+  private Algorithm algorithm;
+  private TokenVerifierRegistry tokenVerifierRegistry;
+  private FastAuthTokenVerifier fastAuthTokenVerifier;
+  private String token;
+
+  @Setup
+  public void setup() {
+    tokenVerifierRegistry = new TokenVerifierRegistry(APP_SECRET);
+    fastAuthTokenVerifier = new FastAuthTokenVerifier(APP_SECRET, true, tokenVerifierRegistry);
+    algorithm = tokenVerifierRegistry.getAlgorithm(TokenMarker.AUTHENTICATION);
+
+    token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withClaim(Field.TOKEN_VERSION, Const.AUTH_TOKEN_VERSION)
+      .withClaim(Field.CONFIRMED, true)
+      .withClaim(Field.TOKEN_EPOCH, 0)
+      .withExpiresAt(new Date(System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME))
+      .sign(algorithm);
+  }
+
+  @Benchmark
+  public Long jwtRequireVerify() {
+    DecodedJWT decodedJWT = JWT.require(algorithm)
+      .build()
+      .verify(token);
+
+    return decodedJWT.getClaim(Field.USER_ID).asLong();
+  }
+
+  @Benchmark
+  public Long registryVerify() {
+    return tokenVerifierRegistry.verify(TokenMarker.AUTHENTICATION, token)
+      .getClaim(Field.USER_ID)
+      .asLong();
+  }
+
+  @Benchmark
+  public Long fastVerify() {
+    return fastAuthTokenVerifier.verify(token)
+      .getClaim(Field.USER_ID)
+      .asLong();
+  }
+}
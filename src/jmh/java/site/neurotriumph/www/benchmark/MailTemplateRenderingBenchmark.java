@@ -0,0 +1,105 @@
+package site.neurotriumph.www.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.util.StreamUtils;
+import site.neurotriumph.www.component.MailTemplates;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of producing the registration confirmation mail: the compiled
+ * templates against substituting placeholders in the template sources
+ * for every mail, and the whole multipart MimeMessage built the way
+ * MailDispatcher does.
+ *
+ * Run with "-prof gc" to get gc.alloc.rate.norm (bytes/op).
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRenderingBenchmark {
+  private static final String SITE_URL = "https://neurotriumph.site";
+
+  private MailTemplates.Templates templates;
+  private String htmlSource;
+  private String textSource;
+  private String token;
+  private JavaMailSenderImpl javaMailSender;
+
+  @Setup
+  public void setup() throws IOException {
+    templates = new MailTemplates(SITE_URL).get(TokenMarker.REGISTRATION_CONFIRMATION);
+    htmlSource = read("mail/registration_confirmation.html");
+    textSource = read("mail/registration_confirmation.txt");
+
+    token = JWT.create()
+      .withClaim("uid", 1L)
+      .withExpiresAt(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(15)))
+      .sign(Algorithm.HMAC256("abc123" + TokenMarker.REGISTRATION_CONFIRMATION));
+
+    javaMailSender = new JavaMailSenderImpl();
+  }
+
+  private static String read(String location) throws IOException {
+    try (InputStream inputStream = new ClassPathResource(location).getInputStream()) {
+      return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static String substitute(String source, String token) {
+    return source
+      .replace("{{site_url}}", SITE_URL)
+      .replace("{{token_lifetime_minutes}}", "15")
+      .replace("{{token}}", token);
+  }
+
+  @Benchmark
+  public void compiledTemplates(Blackhole blackhole) {
+    blackhole.consume(templates.html().render(token));
+    blackhole.consume(templates.text().render(token));
+  }
+
+  @Benchmark
+  public void substitutePerMail(Blackhole blackhole) {
+    blackhole.consume(substitute(htmlSource, token));
+    blackhole.consume(substitute(textSource, token));
+  }
+
+  @Benchmark
+  public MimeMessage mimeMessage() throws MessagingException {
+    MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+    MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+
+    helper.setText(templates.text().render(token), templates.html().render(token));
+    helper.setFrom("test@gmail.com");
+    helper.setTo("user@gmail.com");
+    helper.setSubject(templates.subject());
+
+    return mimeMessage;
+  }
+}
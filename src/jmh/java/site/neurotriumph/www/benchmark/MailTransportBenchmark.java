@@ -0,0 +1,126 @@
+package site.neurotriumph.www.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import site.neurotriumph.www.component.PooledJavaMailSender;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Mails per second delivered to a local GreenMail server by the plain
+ * JavaMailSenderImpl, which connects and authenticates on every send
+ * call, and by PooledJavaMailSender. "single" sends one mail per call,
+ * like the dispatcher woken up by a lone registration; "batch" sends
+ * BATCH_SIZE mails per call.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTransportBenchmark {
+  private static final String SENDER_EMAIL = "test@gmail.com";
+  private static final String SENDER_PASSWORD = "Qwerty123";
+  private static final int BATCH_SIZE = 10;
+
+  private GreenMail greenMail;
+  private JavaMailSenderImpl javaMailSender;
+  private PooledJavaMailSender pooledJavaMailSender;
+  private SimpleMailMessage[] single;
+  private SimpleMailMessage[] batch;
+
+  @Setup
+  public void setup() {
+    ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+    greenMail = new GreenMail(ServerSetupTest.SMTP)
+      .withConfiguration(GreenMailConfiguration.aConfig()
+        .withUser(SENDER_EMAIL, SENDER_PASSWORD));
+    greenMail.start();
+
+    javaMailSender = configure(new JavaMailSenderImpl());
+    pooledJavaMailSender = configure(new PooledJavaMailSender(2, 100, 30000));
+
+    single = messages(1);
+    batch = messages(BATCH_SIZE);
+  }
+
+  private static <T extends JavaMailSenderImpl> T configure(T sender) {
+    sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+    sender.setPort(ServerSetupTest.SMTP.getPort());
+    sender.setUsername(SENDER_EMAIL);
+    sender.setPassword(SENDER_PASSWORD);
+    sender.getJavaMailProperties().setProperty("mail.smtp.auth", "true");
+
+    return sender;
+  }
+
+  private static SimpleMailMessage[] messages(int count) {
+    SimpleMailMessage[] messages = new SimpleMailMessage[count];
+
+    for (int i = 0; i < count; i++) {
+      messages[i] = new SimpleMailMessage();
+      messages[i].setFrom(SENDER_EMAIL);
+      messages[i].setTo(SENDER_EMAIL);
+      messages[i].setSubject("Neuro Triumph");
+      messages[i].setText("Follow the link to confirm registration");
+    }
+
+    return messages;
+  }
+
+  /*
+   * GreenMail keeps every received mail in memory.
+   * */
+  @TearDown(org.openjdk.jmh.annotations.Level.Iteration)
+  public void purgeMailboxes() throws Exception {
+    greenMail.purgeEmailFromAllMailboxes();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pooledJavaMailSender.destroy();
+    greenMail.stop();
+  }
+
+  @Benchmark
+  public void connectionPerCallSingle() {
+    javaMailSender.send(single);
+  }
+
+  @Benchmark
+  public void pooledSingle() {
+    pooledJavaMailSender.send(single);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void connectionPerCallBatch() {
+    javaMailSender.send(batch);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void pooledBatch() {
+    pooledJavaMailSender.send(batch);
+  }
+}
@@ -0,0 +1,95 @@
+package site.neurotriumph.www.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import site.neurotriumph.www.NeuroTriumphServerApplication;
+import site.neurotriumph.www.entity.NeuralNetwork;
+import site.neurotriumph.www.repository.NeuralNetworkRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Inserts ROWS neural networks into the database configured in
+ * test.properties the way a seed load or a bulk import would: saveAll
+ * in transactions of CHUNK rows, so the persistence context stays small.
+ *
+ * batchSize is hibernate.jdbc.batch_size. With 1 every insert is its own
+ * round trip, with 50 (the allocation size of neural_network_id_seq)
+ * Hibernate sends the inserts of a chunk as JDBC batches and takes one
+ * value from the sequence per 50 ids.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class NeuralNetworkBulkInsertBenchmark {
+  private static final int ROWS = 100_000;
+  private static final int CHUNK = 1000;
+
+  @Param({"1", "50"})
+  private int batchSize;
+
+  private ConfigurableApplicationContext context;
+  private NeuralNetworkRepository neuralNetworkRepository;
+  private int run;
+
+  @Setup
+  public void setup() {
+    ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+    context = new SpringApplicationBuilder(NeuroTriumphServerApplication.class)
+      .properties("spring.config.name=test", "spring.jpa.show-sql=false", "server.port=0",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+        "spring.jpa.properties.hibernate.order_inserts=true")
+      .run();
+
+    neuralNetworkRepository = context.getBean(NeuralNetworkRepository.class);
+    neuralNetworkRepository.deleteAllInBatch();
+  }
+
+  @TearDown
+  public void tearDown() {
+    neuralNetworkRepository.deleteAllInBatch();
+    context.close();
+  }
+
+  @Benchmark
+  public long insert() {
+    // Every iteration inserts under another owner, the (owner_id, name)
+    // and (owner_id, api_root_hash) pairs have to stay unique.
+    long ownerId = ++run;
+    List<NeuralNetwork> chunk = new ArrayList<>(CHUNK);
+
+    for (int i = 0; i < ROWS; i++) {
+      chunk.add(new NeuralNetwork(ownerId, "nn_" + i, "http://nn" + i + ".org/api", "secret_" + i));
+
+      if (chunk.size() == CHUNK) {
+        neuralNetworkRepository.saveAll(chunk);
+        chunk.clear();
+      }
+    }
+
+    neuralNetworkRepository.saveAll(chunk);
+
+    return neuralNetworkRepository.count();
+  }
+}
@@ -0,0 +1,154 @@
+package site.neurotriumph.www.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.neurotriumph.www.NeuroTriumphServerApplication;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.entity.NeuralNetwork;
+import site.neurotriumph.www.pojo.GetNeuralNetworksResponseBodyItem;
+import site.neurotriumph.www.repository.NeuralNetworkRepository;
+import site.neurotriumph.www.service.NeuralNetworkService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * One page of the public listing (GET /nn/0) read from the database
+ * configured in test.properties, which is emptied and filled with
+ * ROWS active neural networks whose api_root is apiRootLength
+ * characters long:
+ * - entities: the previous query, full NeuralNetwork entities in the
+ *   read-only transaction of the repository, mapped to response items;
+ * - projection: NeuralNetworkService.getAll, which selects only the
+ *   columns of the response into non-managed records.
+ *
+ * Run with "-prof gc" to get gc.alloc.rate.norm (heap bytes per page).
+ * On MariaDB the bytes the server sent for one page of each variant
+ * are printed once at setup, from the Bytes_sent session status.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NeuralNetworkListingBenchmark {
+  private static final int ROWS = 1000;
+
+  @Param({"32", "2048"})
+  private int apiRootLength;
+
+  private ConfigurableApplicationContext context;
+  private NeuralNetworkRepository neuralNetworkRepository;
+  private NeuralNetworkService neuralNetworkService;
+  private EntityManager entityManager;
+  private TransactionTemplate readOnlyTransaction;
+  private JdbcTemplate jdbcTemplate;
+
+  @Setup
+  public void setup() {
+    ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+    context = new SpringApplicationBuilder(NeuroTriumphServerApplication.class)
+      .properties("spring.config.name=test", "spring.jpa.show-sql=false", "server.port=0")
+      .run();
+
+    neuralNetworkRepository = context.getBean(NeuralNetworkRepository.class);
+    neuralNetworkService = context.getBean(NeuralNetworkService.class);
+    entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+      context.getBean(EntityManagerFactory.class));
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+    readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTransaction.setReadOnly(true);
+
+    neuralNetworkRepository.deleteAllInBatch();
+
+    List<NeuralNetwork> neuralNetworks = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      String apiRoot = "http://nn" + i + ".org/";
+      neuralNetworks.add(new NeuralNetwork(1L, "nn_" + i,
+        apiRoot + "a".repeat(Math.max(0, apiRootLength - apiRoot.length())), "secret_" + i));
+    }
+
+    neuralNetworkRepository.saveAll(neuralNetworks);
+
+    printBytesSent("entities", this::entities);
+    printBytesSent("projection", this::projection);
+  }
+
+  private void printBytesSent(String variant, Supplier<?> page) {
+    try {
+      long bytesSent = readOnlyTransaction.execute(status -> {
+        // Reading the status twice in a row gives what reading it costs.
+        long before = bytesSent();
+        long overhead = bytesSent() - before;
+
+        before = bytesSent();
+        page.get();
+
+        return bytesSent() - before - overhead;
+      });
+
+      System.out.println(variant + ": " + bytesSent + " bytes sent by the server per page");
+    } catch (DataAccessException e) {
+      System.out.println(variant + ": bytes sent per page are only reported on MariaDB");
+    }
+  }
+
+  private long bytesSent() {
+    return jdbcTemplate.queryForObject("SHOW SESSION STATUS LIKE 'Bytes_sent'",
+      (resultSet, i) -> resultSet.getLong(2));
+  }
+
+  @TearDown
+  public void tearDown() {
+    neuralNetworkRepository.deleteAllInBatch();
+    context.close();
+  }
+
+  @Benchmark
+  public List<GetNeuralNetworksResponseBodyItem> entities() {
+    return readOnlyTransaction.execute(status -> entityManager.createQuery(
+        "SELECT nn FROM neural_network nn WHERE nn.active = true ORDER BY nn.id", NeuralNetwork.class)
+      .setMaxResults(Const.NEURAL_NETWORKS_PAGE_SIZE)
+      .getResultList()
+      .stream()
+      .map(n -> {
+        long allTests = n.getTests_passed() + n.getTests_failed();
+        return new GetNeuralNetworksResponseBodyItem(
+          allTests > 0 ? (n.getTests_passed() / allTests * 100) : 0,
+          n.getName());
+      })
+      .toList());
+  }
+
+  @Benchmark
+  public List<GetNeuralNetworksResponseBodyItem> projection() {
+    return neuralNetworkService.getAll(0L);
+  }
+}
@@ -0,0 +1,69 @@
+package site.neurotriumph.www.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import site.neurotriumph.www.constant.Regex;
+import site.neurotriumph.www.validator.NeuralNetworkApiRootValidator;
+import site.neurotriumph.www.validator.NeuralNetworkNameValidator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/*
+ * Rejecting a crafted neural network name and api root of "length"
+ * characters that are valid up to the last one, with the @Pattern
+ * regexes the request bodies used to have and with the single pass
+ * validators. The regex time grows polynomially with "length", a
+ * single 1000 character api root keeps a thread busy for seconds.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NeuralNetworkValidatorBenchmark {
+  private static final Pattern NN_NAME = Pattern.compile(Regex.NN_NAME);
+  private static final Pattern URL = Pattern.compile(Regex.URL);
+
+  @Param({"16", "256", "1000"})
+  private int length;
+
+  private String name;
+  private String apiRoot;
+
+  @Setup
+  public void setup() {
+    name = "a" + "0".repeat(length - 2) + "!";
+    apiRoot = "http://" + "a".repeat(length - 8) + " ";
+  }
+
+  @Benchmark
+  public boolean nameRegex() {
+    return NN_NAME.matcher(name).matches();
+  }
+
+  @Benchmark
+  public boolean nameValidator() {
+    return NeuralNetworkNameValidator.matches(name);
+  }
+
+  @Benchmark
+  public boolean apiRootRegex() {
+    return URL.matcher(apiRoot).matches();
+  }
+
+  @Benchmark
+  public boolean apiRootValidator() {
+    return NeuralNetworkApiRootValidator.matches(apiRoot);
+  }
+}
@@ -0,0 +1,112 @@
+package site.neurotriumph.www.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import site.neurotriumph.www.annotation.AuthTokenPayload;
+import site.neurotriumph.www.component.FastAuthTokenVerifier;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.component.VerifiedTokenCache;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.Header;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.controller.NeuralNetworkController;
+import site.neurotriumph.www.repository.RevokedTokenRepository;
+import site.neurotriumph.www.resolver.AuthTokenPayloadArgumentResolver;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-request cost of handing the verified auth token to a handler:
+ * the scan the aspects used to perform on every invocation versus the
+ * argument resolver, whose parameter metadata is cached by Spring MVC.
+ * Run with "-prof gc" to get gc.alloc.rate.norm (bytes/op).
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenArgumentResolutionBenchmark {
+  private static final String APP_SECRET = "abc123";
+
+  private TokenVerifierRegistry tokenVerifierRegistry;
+  private AuthTokenPayloadArgumentResolver authTokenPayloadArgumentResolver;
+  private Method handler;
+  private MethodParameter authTokenPayloadParameter;
+  private ServletWebRequest webRequest;
+  private String token;
+
+  @Setup
+  public void setup() throws NoSuchMethodException {
+    tokenVerifierRegistry = new TokenVerifierRegistry(APP_SECRET);
+    TokenRevocationList tokenRevocationList = new TokenRevocationList(
+      Mockito.mock(RevokedTokenRepository.class), 1000, 0.01);
+    tokenRevocationList.afterPropertiesSet();
+
+    authTokenPayloadArgumentResolver = new AuthTokenPayloadArgumentResolver(tokenVerifierRegistry,
+      new FastAuthTokenVerifier(APP_SECRET, false, tokenVerifierRegistry),
+      new VerifiedTokenCache(false, 0, 0),
+      new TokenEpochTable(1),
+      tokenRevocationList,
+      null);
+
+    handler = NeuralNetworkController.class.getMethod("getAllByUser", DecodedJWT.class, Long.class);
+    authTokenPayloadParameter = new MethodParameter(handler, 0);
+
+    token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withExpiresAt(new Date(System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME))
+      .sign(Algorithm.HMAC256(APP_SECRET + TokenMarker.AUTHENTICATION));
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(Header.AUTHENTICATION_TOKEN, token);
+    webRequest = new ServletWebRequest(request);
+  }
+
+  @Benchmark
+  public Object[] aspectArgumentRewriting() {
+    DecodedJWT decodedJWT = tokenVerifierRegistry.verify(TokenMarker.AUTHENTICATION,
+      webRequest.getHeader(Header.AUTHENTICATION_TOKEN));
+
+    Object[] arguments = new Object[]{null, 0L};
+    Annotation[][] annotations = handler.getParameterAnnotations();
+
+    for (int i = 0; i < arguments.length; i++) {
+      for (int j = 0; j < annotations[i].length; j++) {
+        if (annotations[i][j].annotationType().equals(AuthTokenPayload.class)) {
+          arguments[i] = decodedJWT;
+          break;
+        }
+      }
+    }
+
+    return arguments;
+  }
+
+  @Benchmark
+  public Object argumentResolver() {
+    return authTokenPayloadArgumentResolver.resolveArgument(authTokenPayloadParameter, null, webRequest, null);
+  }
+}
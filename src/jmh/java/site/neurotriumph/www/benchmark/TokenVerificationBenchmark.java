@@ -0,0 +1,82 @@
+package site.neurotriumph.www.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the verification path the aspects used to take (building
+ * the algorithm and the verifier per request, then decoding the token
+ * a second time) with the precomputed TokenVerifierRegistry.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+  private static final String APP_SECRET = "abc123";
+
+  @Param({"AUTHENTICATION", "PASSWORD_UPDATE_CONFIRMATION", "EMAIL_UPDATE_CONFIRMATION"})
+  private TokenMarker tokenMarker;
+
+  private TokenVerifierRegistry tokenVerifierRegistry;
+  private String token;
+
+  @Setup
+  public void setup() {
+    tokenVerifierRegistry = new TokenVerifierRegistry(APP_SECRET);
+
+    Algorithm algorithm = Algorithm.HMAC256(APP_SECRET + tokenMarker);
+    Date expiresAt = new Date(System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME);
+
+    token = switch (tokenMarker) {
+      case PASSWORD_UPDATE_CONFIRMATION -> JWT.create()
+        .withClaim(Field.NEW_PASSWORD_HASH, DigestUtils.sha256Hex("Qwerty123"))
+        .withExpiresAt(expiresAt)
+        .sign(algorithm);
+      case EMAIL_UPDATE_CONFIRMATION -> JWT.create()
+        .withClaim(Field.NEW_EMAIL, "new.email@gmail.com")
+        .withExpiresAt(expiresAt)
+        .sign(algorithm);
+      default -> JWT.create()
+        .withClaim(Field.USER_ID, 1L)
+        .withExpiresAt(expiresAt)
+        .sign(algorithm);
+    };
+  }
+
+  @Benchmark
+  public DecodedJWT perRequestVerifierAndSecondDecode() {
+    JWT.require(Algorithm.HMAC256(APP_SECRET + tokenMarker))
+      .build()
+      .verify(token);
+
+    return JWT.decode(token);
+  }
+
+  @Benchmark
+  public DecodedJWT registryVerifier() {
+    return tokenVerifierRegistry.verify(tokenMarker, token);
+  }
+}
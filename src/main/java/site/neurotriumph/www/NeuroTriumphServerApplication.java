@@ -2,8 +2,10 @@ package site.neurotriumph.www;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class NeuroTriumphServerApplication {
   public static void main(String[] args) {
     SpringApplication.run(NeuroTriumphServerApplication.class, args);
@@ -0,0 +1,22 @@
+package site.neurotriumph.www.annotation;
+
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.validator.NeuralNetworkNameValidator;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = NeuralNetworkNameValidator.class)
+public @interface NeuralNetworkName {
+  String message() default Message.INVALID_NN_NAME;
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+}
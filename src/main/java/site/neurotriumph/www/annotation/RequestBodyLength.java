@@ -0,0 +1,19 @@
+package site.neurotriumph.www.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Longest value a String field of a request body may have, counted only
+ * toward the size of the whole body (see RequestBodyLimits). Unlike
+ * @Size it is not validated, so a value under the body limit is never
+ * rejected for its length. For fields whose values were accepted without
+ * a limit, such as the current password of a user.
+ * */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestBodyLength {
+  int max();
+}
@@ -0,0 +1,95 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.DisposableBean;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.ServerBusyException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+ * Fixed pool of daemon threads behind a bounded queue. Work that does
+ * not fit into the queue is refused immediately with
+ * ServerBusyException instead of waiting for a free thread.
+ * */
+public class BoundedExecutor implements DisposableBean {
+  private final ThreadPoolExecutor executor;
+
+  private final AtomicLong rejections = new AtomicLong();
+
+  public BoundedExecutor(String name, int threads, int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+      runnable -> {
+        Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      },
+      new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  public <T> CompletableFuture<T> supply(Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, executor);
+    } catch (RejectedExecutionException e) {
+      rejections.incrementAndGet();
+      return CompletableFuture.failedFuture(new ServerBusyException(Message.SERVER_IS_BUSY));
+    }
+  }
+
+  /*
+   * Like supply, but work that does not fit is refused by throwing
+   * ServerBusyException to the caller rather than through the future.
+   * */
+  public CompletableFuture<Void> submit(Runnable task) {
+    try {
+      return CompletableFuture.runAsync(task, executor);
+    } catch (RejectedExecutionException e) {
+      rejections.incrementAndGet();
+      throw new ServerBusyException(Message.SERVER_IS_BUSY);
+    }
+  }
+
+  /*
+   * Runs the task on the pool and waits for it on the calling thread.
+   * */
+  public <T> T execute(Supplier<T> task) {
+    CompletableFuture<T> future = supply(task);
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerBusyException(Message.SERVER_IS_BUSY);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public int getQueueSize() {
+    return executor.getQueue().size();
+  }
+
+  public long getRejections() {
+    return rejections.get();
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
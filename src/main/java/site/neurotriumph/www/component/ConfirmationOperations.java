@@ -0,0 +1,198 @@
+package site.neurotriumph.www.component;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.OperationStatus;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.exception.ServerBusyException;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+import site.neurotriumph.www.pojo.OperationResponseBody;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+ * Confirmations accepted by the "/async" confirm endpoints. The tokens
+ * are verified on the request thread as usual, the confirmation itself
+ * runs on the confirmation pool, and its outcome is kept here so that
+ * GET /operation/{id} can report it.
+ *
+ * The id of an operation is a hash of its confirmation token, so the
+ * token doubles as the idempotency key: confirming again with the same
+ * token returns the operation accepted the first time instead of running
+ * it twice. Operations are kept for as long as a confirmation token is
+ * valid, in insertion order, so expired ones are dropped from the head;
+ * beyond the capacity the oldest finished one goes. Pending operations
+ * are never evicted, as the same token could then run a second time, so
+ * a submit that finds only pending ones at the capacity is refused with
+ * ServerBusyException.
+ *
+ * Only DONE outcomes and domain rejections are kept. An operation that
+ * failed any other way (e.g. a database timeout) is forgotten, so that
+ * submitting the still valid token again runs the confirmation again.
+ * */
+@Component
+public class ConfirmationOperations {
+  private final long retention;
+  private final int capacity;
+  private final LinkedHashMap<String, Operation> operations = new LinkedHashMap<>();
+
+  @Autowired
+  @Qualifier("confirmationExecutor")
+  private BoundedExecutor confirmationExecutor;
+
+  public ConfirmationOperations(@Value("${app.confirmation.operation-retention:900000}") long retention,
+                                @Value("${app.confirmation.operation-capacity:10000}") int capacity) {
+    this.retention = retention;
+    this.capacity = Math.max(1, capacity);
+  }
+
+  /*
+   * Starts the confirmation unless an operation for the same token has
+   * been accepted already. Throws ServerBusyException, without
+   * remembering anything, when the pool is saturated or the capacity is
+   * taken by pending operations.
+   * */
+  public OperationResponseBody submit(TokenMarker tokenMarker, String token, Runnable confirmation) {
+    String id = DigestUtils.sha256Hex(tokenMarker.name() + ':' + token);
+    Operation operation;
+
+    synchronized (this) {
+      operation = get(id, System.currentTimeMillis());
+
+      if (operation != null) {
+        return operation.toResponseBody();
+      }
+
+      operation = new Operation(id, System.currentTimeMillis());
+      put(operation);
+    }
+
+    CompletableFuture<Void> future;
+    try {
+      future = confirmationExecutor.submit(confirmation);
+    } catch (ServerBusyException e) {
+      remove(operation);
+      throw e;
+    }
+
+    Operation accepted = operation;
+    future.whenComplete((result, e) -> {
+      if (!accepted.complete(e)) {
+        remove(accepted);
+      }
+    });
+
+    return operation.toResponseBody();
+  }
+
+  public synchronized OperationResponseBody getStatus(String id) {
+    Operation operation = get(id, System.currentTimeMillis());
+
+    if (operation == null) {
+      throw DomainException.of(Message.OPERATION_DOES_NOT_EXIST);
+    }
+
+    return operation.toResponseBody();
+  }
+
+  private Operation get(String id, long now) {
+    Operation operation = operations.get(id);
+
+    if (operation != null && operation.acceptedAt + retention <= now) {
+      operations.remove(id);
+      return null;
+    }
+
+    return operation;
+  }
+
+  private void put(Operation operation) {
+    Iterator<Operation> iterator = operations.values().iterator();
+
+    while (iterator.hasNext() && iterator.next().acceptedAt + retention <= operation.acceptedAt) {
+      iterator.remove();
+    }
+
+    if (operations.size() >= capacity && !evictOldestFinished()) {
+      throw new ServerBusyException(Message.SERVER_IS_BUSY);
+    }
+
+    operations.put(operation.id, operation);
+  }
+
+  private boolean evictOldestFinished() {
+    Iterator<Operation> iterator = operations.values().iterator();
+
+    while (iterator.hasNext()) {
+      if (iterator.next().status != OperationStatus.PENDING) {
+        iterator.remove();
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private synchronized void remove(Operation operation) {
+    operations.remove(operation.id, operation);
+  }
+
+  public synchronized int getSize() {
+    return operations.size();
+  }
+
+  private static final class Operation {
+    private final String id;
+    private final long acceptedAt;
+    private volatile OperationStatus status = OperationStatus.PENDING;
+    private volatile ErrorResponseBody error;
+
+    private Operation(String id, long acceptedAt) {
+      this.id = id;
+      this.acceptedAt = acceptedAt;
+    }
+
+    /*
+     * Returns false when the failure is not a domain rejection, in which
+     * case the operation must not be kept.
+     * */
+    private boolean complete(Throwable e) {
+      if (e instanceof CompletionException && e.getCause() != null) {
+        e = e.getCause();
+      }
+
+      if (e == null) {
+        status = OperationStatus.DONE;
+        return true;
+      }
+
+      if (!(e instanceof DomainException domainException)) {
+        error = DomainException.of(Message.OPERATION_FAILED).getResponseBody();
+        status = OperationStatus.FAILED;
+        return false;
+      }
+
+      error = domainException.getResponseBody();
+      status = OperationStatus.FAILED;
+      return true;
+    }
+
+    private OperationResponseBody toResponseBody() {
+      // The error is written before the status, so read them the other way.
+      OperationStatus status = this.status;
+      ErrorResponseBody error = this.error;
+
+      return new OperationResponseBody(id, status,
+        error != null ? error.getError() : null,
+        error != null ? error.getCode() : null);
+    }
+  }
+}
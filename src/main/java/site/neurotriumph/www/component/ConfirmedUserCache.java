@@ -0,0 +1,153 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Opt-in set of user ids known to belong to existing, confirmed users.
+ * It is a direct-mapped table of primitive longs: every id has exactly
+ * one slot, and a new id simply evicts whatever occupied its slot, so
+ * the memory used is fixed by the capacity.
+ *
+ * Every invalidation advances a stamp. An id read from the database is
+ * only cached if no invalidation happened since the caller took the
+ * stamp, so a lookup racing with a deletion cannot resurrect the user.
+ * */
+@Component
+public class ConfirmedUserCache {
+  private static final long EMPTY = 0;
+
+  private final boolean enabled;
+  private final AtomicLongArray slots;
+  private final int mask;
+
+  private final AtomicLong stamp = new AtomicLong();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public ConfirmedUserCache(@Value("${app.confirmed-user-cache.enabled:false}") boolean enabled,
+                            @Value("${app.confirmed-user-cache.capacity:65536}") int capacity) {
+    this.enabled = enabled;
+
+    int slotCount = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    this.slots = new AtomicLongArray(enabled ? slotCount : 1);
+    this.mask = slots.length() - 1;
+  }
+
+  private int indexOf(long id) {
+    long hash = id * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private static boolean isCacheable(Long id) {
+    return id != null && id > 0;
+  }
+
+  public boolean contains(Long id) {
+    if (!enabled || !isCacheable(id)) {
+      return false;
+    }
+
+    if (slots.get(indexOf(id)) == id) {
+      hits.incrementAndGet();
+      return true;
+    }
+
+    misses.incrementAndGet();
+    return false;
+  }
+
+  /*
+   * Must be taken before the database lookup whose result is passed to put.
+   * */
+  public long stamp() {
+    return stamp.get();
+  }
+
+  public void put(Long id, long stamp) {
+    if (!enabled || !isCacheable(id) || this.stamp.get() != stamp) {
+      return;
+    }
+
+    int index = indexOf(id);
+    long previous = slots.getAndSet(index, id);
+
+    if (previous == EMPTY) {
+      size.incrementAndGet();
+    } else if (previous != id) {
+      evictions.incrementAndGet();
+    }
+
+    /*
+     * An invalidation may have slipped in between the stamp check and the
+     * write above, in which case the id must not stay in the table.
+     * */
+    if (this.stamp.get() != stamp && slots.compareAndSet(index, id, EMPTY)) {
+      size.decrementAndGet();
+    }
+  }
+
+  public void invalidate(Long id) {
+    if (!enabled || !isCacheable(id)) {
+      return;
+    }
+
+    stamp.incrementAndGet();
+    invalidations.incrementAndGet();
+
+    if (slots.compareAndSet(indexOf(id), id, EMPTY)) {
+      size.decrementAndGet();
+    }
+  }
+
+  /*
+   * Invalidates the id right away and once more when the surrounding
+   * transaction completes, so that a lookup made by another request
+   * before the commit cannot re-cache the id with its old state.
+   * */
+  public void invalidateTransactionally(Long id) {
+    invalidate(id);
+
+    if (enabled && TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidate(id);
+        }
+      });
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  public long getInvalidations() {
+    return invalidations.get();
+  }
+}
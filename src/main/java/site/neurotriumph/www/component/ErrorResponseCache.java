@@ -0,0 +1,73 @@
+package site.neurotriumph.www.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Error responses rendered once at startup. Every Message constant is
+ * serialized with the application's ObjectMapper into a byte array,
+ * which is written to the response as is (ByteArrayHttpMessageConverter)
+ * instead of going through Jackson for every rejected request. The 400
+ * responses are complete ResponseEntity instances shared by all
+ * requests.
+ *
+ * Messages that are not Message constants (e.g. the text of a
+ * ConstraintViolationException) are still serialized per response.
+ * */
+@Component
+public class ErrorResponseCache {
+  private final Map<String, byte[]> bodies = new HashMap<>();
+  private final Map<String, ResponseEntity<Object>> badRequests = new HashMap<>();
+
+  public ErrorResponseCache(ObjectMapper objectMapper) throws JsonProcessingException {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers = HttpHeaders.readOnlyHttpHeaders(headers);
+
+    for (DomainException domainException : DomainException.values()) {
+      byte[] body = objectMapper.writeValueAsBytes(domainException.getResponseBody());
+
+      bodies.put(domainException.getMessage(), body);
+      badRequests.put(domainException.getMessage(), new ResponseEntity<>(body, headers, HttpStatus.BAD_REQUEST));
+    }
+  }
+
+  public ResponseEntity<Object> badRequest(String message) {
+    ResponseEntity<Object> responseEntity = badRequests.get(message);
+
+    if (responseEntity == null) {
+      return new ResponseEntity<>(new ErrorResponseBody(message), HttpStatus.BAD_REQUEST);
+    }
+
+    return responseEntity;
+  }
+
+  public ResponseEntity<Object> response(String message, HttpHeaders headers, HttpStatus status) {
+    byte[] body = bodies.get(message);
+
+    if (body == null) {
+      return new ResponseEntity<>(new ErrorResponseBody(message), headers, status);
+    }
+
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    return new ResponseEntity<>(body, headers, status);
+  }
+
+  /*
+   * The rendered body of a Message constant, or null for any other text.
+   * */
+  public byte[] getBody(String message) {
+    return bodies.get(message);
+  }
+}
@@ -0,0 +1,327 @@
+package site.neurotriumph.www.component;
+
+import com.auth0.jwt.JWT;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/*
+ * Verifies authentication tokens of the exact shape AuthService.login
+ * issues: the fixed HS256 header and a flat payload of known numeric
+ * and boolean claims plus the token id. The HMAC is computed with a per-thread Mac into
+ * per-thread buffers, the signature is compared in constant time and
+ * the payload is scanned without building a JSON tree.
+ *
+ * Anything else - another header, an unknown or repeated claim, a bad
+ * signature, an expired token - makes verify return null, and the caller
+ * falls back to the generic auth0 verifier, which produces the usual
+ * errors. This path therefore only ever accepts tokens that the generic
+ * verifier would accept as well.
+ * */
+@Component
+public class FastAuthTokenVerifier {
+  private static final String HMAC_SHA256 = "HmacSHA256";
+  private static final int SIGNATURE_LENGTH = 32;
+  private static final int ENCODED_SIGNATURE_LENGTH = 43;
+  private static final int MAX_TOKEN_LENGTH = 1024;
+  private static final int MAX_NUMBER_DIGITS = 18;
+  private static final int MAX_TOKEN_ID_LENGTH = 64;
+
+  /*
+   * Bits of the claims seen while scanning a payload.
+   * */
+  private static final int USER_ID = 1;
+  private static final int EXPIRATION_TIME = 1 << 1;
+  private static final int TOKEN_VERSION = 1 << 2;
+  private static final int TOKEN_EPOCH = 1 << 3;
+  private static final int CONFIRMED = 1 << 4;
+  private static final int TOKEN_ID = 1 << 5;
+
+  private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] BASE64_URL = new byte[128];
+
+  static {
+    Arrays.fill(BASE64_URL, (byte) -1);
+
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_URL[alphabet.charAt(i)] = (byte) i;
+    }
+  }
+
+  private final boolean enabled;
+  private final byte[] secret;
+  private final String header;
+  private final ThreadLocal<Scratch> scratch;
+
+  public FastAuthTokenVerifier(@Value("${app.secret}") String appSecret,
+                               @Value("${app.auth.fast-verifier.enabled:true}") boolean enabled,
+                               TokenVerifierRegistry tokenVerifierRegistry) {
+    this.enabled = enabled;
+    this.secret = (appSecret + TokenMarker.AUTHENTICATION).getBytes(StandardCharsets.UTF_8);
+
+    String sample = JWT.create().sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.AUTHENTICATION));
+    this.header = sample.substring(0, sample.indexOf('.') + 1);
+
+    this.scratch = ThreadLocal.withInitial(this::createScratch);
+  }
+
+  private Scratch createScratch() {
+    try {
+      Mac mac = Mac.getInstance(HMAC_SHA256);
+      mac.init(new SecretKeySpec(secret, HMAC_SHA256));
+      return new Scratch(mac);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public ScannedAuthToken verify(String token) {
+    if (!enabled || token.length() > MAX_TOKEN_LENGTH || !token.startsWith(header)) {
+      return null;
+    }
+
+    int payloadStart = header.length();
+    int signatureStart = token.indexOf('.', payloadStart) + 1;
+
+    if (signatureStart == 0 || token.length() - signatureStart != ENCODED_SIGNATURE_LENGTH) {
+      return null;
+    }
+
+    Scratch scratch = this.scratch.get();
+
+    if (!hasValidSignature(scratch, token, signatureStart)) {
+      return null;
+    }
+
+    int payloadLength = decode(token, payloadStart, signatureStart - 1, scratch.payload);
+    if (payloadLength < 0) {
+      return null;
+    }
+
+    return scan(token, payloadStart, signatureStart, scratch.payload, payloadLength);
+  }
+
+  private boolean hasValidSignature(Scratch scratch, String token, int signatureStart) {
+    int signedLength = signatureStart - 1;
+    byte[] signed = scratch.signed;
+
+    for (int i = 0; i < signedLength; i++) {
+      signed[i] = (byte) token.charAt(i);
+    }
+
+    if (decode(token, signatureStart, token.length(), scratch.actualSignature) != SIGNATURE_LENGTH) {
+      return false;
+    }
+
+    try {
+      scratch.mac.update(signed, 0, signedLength);
+      scratch.mac.doFinal(scratch.expectedSignature, 0);
+    } catch (ShortBufferException e) {
+      return false;
+    }
+
+    return MessageDigest.isEqual(scratch.expectedSignature, scratch.actualSignature);
+  }
+
+  /*
+   * Decodes unpadded base64url from token[from, to) into target and returns
+   * the number of bytes written, or -1 if the input is not valid base64url.
+   * */
+  private static int decode(String token, int from, int to, byte[] target) {
+    int length = to - from;
+    if (length % 4 == 1 || length * 3 / 4 > target.length) {
+      return -1;
+    }
+
+    int written = 0;
+    int buffer = 0;
+    int bits = 0;
+
+    for (int i = from; i < to; i++) {
+      char c = token.charAt(i);
+      int value = c < 128 ? BASE64_URL[c] : -1;
+
+      if (value < 0) {
+        return -1;
+      }
+
+      buffer = (buffer << 6) | value;
+      bits += 6;
+
+      if (bits >= 8) {
+        bits -= 8;
+        target[written++] = (byte) (buffer >> bits);
+      }
+    }
+
+    return written;
+  }
+
+  private static ScannedAuthToken scan(String token, int payloadStart, int signatureStart,
+                                       byte[] payload, int length) {
+    if (length < 2 || payload[0] != '{' || payload[length - 1] != '}') {
+      return null;
+    }
+
+    long userId = 0;
+    long expiresAt = 0;
+    long version = 0;
+    long epoch = 0;
+    boolean confirmed = false;
+    String tokenId = null;
+    int seen = 0;
+
+    int position = 1;
+    while (position < length - 1) {
+      if (payload[position++] != '"' || position + 5 > length) {
+        return null;
+      }
+
+      /*
+       * All known claims have three letter names.
+       * */
+      int claim = claimOf(payload[position], payload[position + 1], payload[position + 2]);
+      if (claim == 0 || (seen & claim) != 0 || payload[position + 3] != '"' || payload[position + 4] != ':') {
+        return null;
+      }
+
+      seen |= claim;
+      position += 5;
+
+      if (claim == TOKEN_ID) {
+        /*
+         * Only ids that need no escaping, such as the UUIDs login issues.
+         * */
+        if (position >= length || payload[position++] != '"') {
+          return null;
+        }
+
+        int start = position;
+
+        while (position < length && isTokenIdCharacter(payload[position])) {
+          position++;
+        }
+
+        if (position == start || position - start > MAX_TOKEN_ID_LENGTH ||
+          position >= length || payload[position] != '"') {
+          return null;
+        }
+
+        tokenId = new String(payload, start, position - start, StandardCharsets.US_ASCII);
+        position++;
+      } else if (claim == CONFIRMED) {
+        if (matches(payload, position, length, TRUE)) {
+          confirmed = true;
+          position += TRUE.length;
+        } else if (matches(payload, position, length, FALSE)) {
+          position += FALSE.length;
+        } else {
+          return null;
+        }
+      } else {
+        int start = position;
+        long value = 0;
+
+        while (position < length && payload[position] >= '0' && payload[position] <= '9') {
+          value = value * 10 + (payload[position++] - '0');
+        }
+
+        if (position == start || position - start > MAX_NUMBER_DIGITS) {
+          return null;
+        }
+
+        switch (claim) {
+          case USER_ID -> userId = value;
+          case EXPIRATION_TIME -> expiresAt = value;
+          case TOKEN_VERSION -> version = value;
+          default -> epoch = value;
+        }
+      }
+
+      if (payload[position] == ',') {
+        if (++position >= length - 1) {
+          return null;
+        }
+      } else if (position != length - 1) {
+        return null;
+      }
+    }
+
+    if ((seen & (USER_ID | EXPIRATION_TIME)) != (USER_ID | EXPIRATION_TIME) ||
+      version > Integer.MAX_VALUE || epoch > Integer.MAX_VALUE) {
+      return null;
+    }
+
+    /*
+     * Same rule as auth0's verifier: the current time is truncated to
+     * seconds and the token is expired once it is past "exp".
+     * */
+    if (System.currentTimeMillis() / 1000 > expiresAt) {
+      return null;
+    }
+
+    return new ScannedAuthToken(token, payloadStart, signatureStart,
+      userId,
+      expiresAt,
+      (seen & TOKEN_VERSION) != 0 ? (int) version : null,
+      (seen & TOKEN_EPOCH) != 0 ? (int) epoch : null,
+      (seen & CONFIRMED) != 0 ? confirmed : null,
+      tokenId);
+  }
+
+  private static int claimOf(byte a, byte b, byte c) {
+    if (is(Field.USER_ID, a, b, c)) return USER_ID;
+    if (is(Field.EXPIRATION_TIME, a, b, c)) return EXPIRATION_TIME;
+    if (is(Field.TOKEN_VERSION, a, b, c)) return TOKEN_VERSION;
+    if (is(Field.TOKEN_EPOCH, a, b, c)) return TOKEN_EPOCH;
+    if (is(Field.CONFIRMED, a, b, c)) return CONFIRMED;
+    if (is(Field.TOKEN_ID, a, b, c)) return TOKEN_ID;
+    return 0;
+  }
+
+  private static boolean is(String name, byte a, byte b, byte c) {
+    return name.charAt(0) == a && name.charAt(1) == b && name.charAt(2) == c;
+  }
+
+  private static boolean isTokenIdCharacter(byte c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+  }
+
+  private static boolean matches(byte[] payload, int position, int length, byte[] literal) {
+    if (position + literal.length > length) {
+      return false;
+    }
+
+    for (int i = 0; i < literal.length; i++) {
+      if (payload[position + i] != literal[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static final class Scratch {
+    private final Mac mac;
+    private final byte[] signed = new byte[MAX_TOKEN_LENGTH];
+    private final byte[] payload = new byte[MAX_TOKEN_LENGTH];
+    private final byte[] expectedSignature = new byte[SIGNATURE_LENGTH];
+    private final byte[] actualSignature = new byte[SIGNATURE_LENGTH];
+
+    private Scratch(Mac mac) {
+      this.mac = mac;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package site.neurotriumph.www.component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Lock-free latency histogram with power-of-two microsecond buckets:
+ * bucket i counts latencies below 2^i microseconds, the last one
+ * everything above. Percentiles are reported as the upper bound of the
+ * bucket they fall into, so they are accurate to within a factor of two,
+ * which is enough to tell a healthy SMTP server from a degrading one.
+ * */
+public class LatencyHistogram {
+  private static final int BUCKETS = 40;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalMicros = new AtomicLong();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  public void recordNanos(long nanos) {
+    recordMicros(nanos / 1000);
+  }
+
+  public void recordMicros(long micros) {
+    long value = Math.max(0, micros);
+    int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+
+    buckets.incrementAndGet(bucket);
+    count.incrementAndGet();
+    totalMicros.addAndGet(value);
+    maxMicros.accumulateAndGet(value, Math::max);
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getMeanMicros() {
+    long n = count.get();
+    return n == 0 ? 0 : totalMicros.get() / n;
+  }
+
+  public long getMaxMicros() {
+    return maxMicros.get();
+  }
+
+  /*
+   * Upper bound of the bucket holding the given quantile, capped at the
+   * largest latency seen.
+   * */
+  public long getPercentileMicros(double quantile) {
+    long n = count.get();
+
+    if (n == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(quantile * n);
+    long seen = 0;
+
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+
+      if (seen >= rank) {
+        return Math.min((1L << i) - 1, maxMicros.get());
+      }
+    }
+
+    return maxMicros.get();
+  }
+}
@@ -0,0 +1,132 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Remembers, per recipient and kind of token, the last mail queued in
+ * the outbox, for one window after it was due to be sent. MailSenderService
+ * uses it so that a user clicking "register" or "change email" over and
+ * over gets at most one mail per window, carrying the newest token.
+ *
+ * Entries are kept in insertion order, so expired ones are dropped from
+ * the head on every write; beyond the capacity the oldest entry goes,
+ * which at worst lets one more mail through.
+ * */
+@Component
+public class MailCoalescingWindow {
+  private final long window;
+  private final int capacity;
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+  private final AtomicLong superseded = new AtomicLong();
+  private final AtomicLong deferred = new AtomicLong();
+
+  public MailCoalescingWindow(@Value("${app.mail.coalescing.window:60000}") long window,
+                              @Value("${app.mail.coalescing.capacity:10000}") int capacity) {
+    this.window = window;
+    this.capacity = Math.max(1, capacity);
+  }
+
+  public boolean isEnabled() {
+    return window > 0;
+  }
+
+  /*
+   * Returns the mail queued for the recipient within the window, or null.
+   * */
+  public synchronized Entry get(String recipient, TokenMarker tokenMarker, long now) {
+    Key key = new Key(recipient, tokenMarker);
+    Entry entry = entries.get(key);
+
+    if (entry != null && entry.expiresAt(window) <= now) {
+      entries.remove(key);
+      return null;
+    }
+
+    return entry;
+  }
+
+  /*
+   * The entry only becomes visible once the transaction that queued the
+   * mail commits; a rolled back mail must not be superseded or delay the
+   * next one.
+   * */
+  public void putAfterCommit(String recipient, TokenMarker tokenMarker, Entry entry) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(recipient, tokenMarker, entry);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        put(recipient, tokenMarker, entry);
+      }
+    });
+  }
+
+  public synchronized void put(String recipient, TokenMarker tokenMarker, Entry entry) {
+    Key key = new Key(recipient, tokenMarker);
+    long now = System.currentTimeMillis();
+
+    entries.remove(key);
+    entries.put(key, entry);
+
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry eldest = iterator.next();
+
+      if (entries.size() <= capacity && eldest.expiresAt(window) > now) {
+        break;
+      }
+
+      iterator.remove();
+    }
+  }
+
+  public void recordSuperseded() {
+    superseded.incrementAndGet();
+  }
+
+  public void recordDeferred() {
+    deferred.incrementAndGet();
+  }
+
+  public long getWindow() {
+    return window;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public long getSuperseded() {
+    return superseded.get();
+  }
+
+  public long getDeferred() {
+    return deferred.get();
+  }
+
+  private record Key(String recipient, TokenMarker tokenMarker) {
+  }
+
+  /*
+   * nextAttemptAt is the value the outbox row was written with; it only
+   * matches the row while no dispatcher has claimed it.
+   * */
+  public record Entry(Long outgoingMailId, long nextAttemptAt) {
+    private long expiresAt(long window) {
+      return nextAttemptAt + window;
+    }
+  }
+}
@@ -0,0 +1,280 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.entity.OutgoingMail;
+import site.neurotriumph.www.repository.OutgoingMailRepository;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Drains the mail outbox. Due rows are claimed one by one with a
+ * conditional UPDATE that pushes next_attempt_at forward by a lease, so
+ * several instances can poll the same table without sending a mail
+ * twice; a dispatcher that dies mid-batch only delays its rows until the
+ * lease runs out.
+ *
+ * Confirmation mails are rendered from their templates here, off the
+ * request path. A claimed batch goes out over a single SMTP connection.
+ * Sent rows are deleted, failed ones are retried with exponential
+ * backoff and end up DEAD after the last attempt.
+ *
+ * Besides polling on a schedule, the dispatcher is woken up right after
+ * a transaction that queued a mail commits, so mails normally leave
+ * within milliseconds.
+ * */
+@Component
+public class MailDispatcher implements DisposableBean {
+  private static final int MAX_ERROR_LENGTH = 1024;
+
+  private final OutgoingMailRepository outgoingMailRepository;
+  private final JavaMailSender javaMailSender;
+  private final MailTemplates mailTemplates;
+  private final MailTelemetry mailTelemetry;
+  private final String senderEmail;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long initialBackoff;
+  private final long maxBackoff;
+  private final long lease;
+
+  private final ExecutorService wakeUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "mail-dispatcher");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong failedAttempts = new AtomicLong();
+  private final AtomicLong deadLettered = new AtomicLong();
+
+  public MailDispatcher(OutgoingMailRepository outgoingMailRepository,
+                        JavaMailSender javaMailSender,
+                        MailTemplates mailTemplates,
+                        MailTelemetry mailTelemetry,
+                        @Value("${spring.mail.username}") String senderEmail,
+                        @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                        @Value("${app.mail.outbox.max-attempts:10}") int maxAttempts,
+                        @Value("${app.mail.outbox.initial-backoff:1000}") long initialBackoff,
+                        @Value("${app.mail.outbox.max-backoff:3600000}") long maxBackoff,
+                        @Value("${app.mail.outbox.lease:60000}") long lease) {
+    this.outgoingMailRepository = outgoingMailRepository;
+    this.javaMailSender = javaMailSender;
+    this.mailTemplates = mailTemplates;
+    this.mailTelemetry = mailTelemetry;
+    this.senderEmail = senderEmail;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.lease = lease;
+  }
+
+  /*
+   * Wakes the dispatcher once the current transaction commits, or right
+   * away when there is none.
+   * */
+  public void wakeUpAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      wakeUp();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        wakeUp();
+      }
+    });
+  }
+
+  public void wakeUp() {
+    if (!wakeUpScheduled.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      wakeUpExecutor.execute(() -> {
+        wakeUpScheduled.set(false);
+        dispatch();
+      });
+    } catch (RejectedExecutionException e) {
+      wakeUpScheduled.set(false);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:1000}")
+  public void poll() {
+    dispatch();
+  }
+
+  public synchronized void dispatch() {
+    List<OutgoingMail> batch;
+
+    do {
+      batch = claimBatch();
+
+      if (!batch.isEmpty()) {
+        send(batch);
+      }
+    } while (batch.size() == batchSize);
+  }
+
+  private List<OutgoingMail> claimBatch() {
+    long now = System.currentTimeMillis();
+    List<OutgoingMail> claimed = new ArrayList<>();
+
+    for (OutgoingMail outgoingMail : outgoingMailRepository.findDue(OutgoingMailStatus.PENDING, now,
+      PageRequest.of(0, batchSize))) {
+      if (outgoingMailRepository.claim(outgoingMail.getId(), OutgoingMailStatus.PENDING,
+        outgoingMail.getNext_attempt_at(), now + lease) == 1) {
+        claimed.add(outgoingMail);
+      }
+    }
+
+    return claimed;
+  }
+
+  private void send(List<OutgoingMail> batch) {
+    List<OutgoingMail> built = new ArrayList<>(batch.size());
+    List<MimeMessage> messages = new ArrayList<>(batch.size());
+    List<OutgoingMail> failed = new ArrayList<>();
+
+    for (OutgoingMail outgoingMail : batch) {
+      try {
+        messages.add(buildMessage(outgoingMail));
+        built.add(outgoingMail);
+      } catch (MessagingException | IllegalStateException e) {
+        scheduleRetry(outgoingMail, e);
+        failed.add(outgoingMail);
+      }
+    }
+
+    if (!messages.isEmpty()) {
+      send(built, messages.toArray(new MimeMessage[0]), failed);
+    }
+
+    if (!failed.isEmpty()) {
+      outgoingMailRepository.saveAll(failed);
+    }
+  }
+
+  private MimeMessage buildMessage(OutgoingMail outgoingMail) throws MessagingException {
+    MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+    MimeMessageHelper helper;
+
+    if (outgoingMail.getTemplate() == null) {
+      helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+      helper.setText(outgoingMail.getBody());
+    } else {
+      MailTemplates.Templates templates = mailTemplates.get(outgoingMail.getTemplate());
+
+      helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+      helper.setText(templates.text().render(outgoingMail.getBody()),
+        templates.html().render(outgoingMail.getBody()));
+    }
+
+    helper.setFrom(senderEmail);
+    helper.setTo(outgoingMail.getRecipient());
+    helper.setSubject(outgoingMail.getSubject());
+
+    return mimeMessage;
+  }
+
+  private void send(List<OutgoingMail> batch, MimeMessage[] messages, List<OutgoingMail> failed) {
+    Map<Object, Exception> failedMessages = Map.of();
+    MailException batchException = null;
+
+    long startedAt = mailTelemetry.deliveryStarted(messages.length);
+
+    try {
+      javaMailSender.send(messages);
+    } catch (MailSendException e) {
+      failedMessages = e.getFailedMessages();
+      batchException = failedMessages.isEmpty() ? e : null;
+    } catch (MailException e) {
+      batchException = e;
+    } finally {
+      mailTelemetry.deliveryFinished(messages.length, startedAt);
+    }
+
+    List<Long> sentIds = new ArrayList<>();
+
+    for (int i = 0; i < messages.length; i++) {
+      Exception exception = batchException != null ? batchException : failedMessages.get(messages[i]);
+
+      if (exception == null) {
+        sentIds.add(batch.get(i).getId());
+        // The claim pushed next_attempt_at forward in the table only, the
+        // entity still holds the time this attempt was due.
+        mailTelemetry.delivered(batch.get(i).getTemplate(), batch.get(i).getNext_attempt_at());
+      } else {
+        scheduleRetry(batch.get(i), exception);
+        failed.add(batch.get(i));
+      }
+    }
+
+    if (!sentIds.isEmpty()) {
+      outgoingMailRepository.deleteAllByIdInBatch(sentIds);
+      sent.addAndGet(sentIds.size());
+    }
+  }
+
+  private void scheduleRetry(OutgoingMail outgoingMail, Exception exception) {
+    mailTelemetry.deliveryFailed(outgoingMail.getTemplate(), exception);
+
+    int attempts = outgoingMail.getAttempts() + 1;
+    String error = String.valueOf(exception.getMessage());
+
+    outgoingMail.setAttempts(attempts);
+    outgoingMail.setLast_error(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    failedAttempts.incrementAndGet();
+
+    if (attempts >= maxAttempts) {
+      outgoingMail.setStatus(OutgoingMailStatus.DEAD);
+      deadLettered.incrementAndGet();
+      return;
+    }
+
+    long backoff = initialBackoff << Math.min(attempts - 1, 30);
+    outgoingMail.setNext_attempt_at(System.currentTimeMillis() + Math.min(backoff, maxBackoff));
+  }
+
+  public long getSent() {
+    return sent.get();
+  }
+
+  public long getFailedAttempts() {
+    return failedAttempts.get();
+  }
+
+  public long getDeadLettered() {
+    return deadLettered.get();
+  }
+
+  @Override
+  public void destroy() {
+    wakeUpExecutor.shutdownNow();
+  }
+}
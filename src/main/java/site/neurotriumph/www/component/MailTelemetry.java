@@ -0,0 +1,132 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Measurements of the mail path, in two halves:
+ * - queueing, which runs on the request thread: how long
+ *   MailSenderService.send takes and why it fails;
+ * - delivery, which runs in MailDispatcher: how long SMTP calls take,
+ *   how long mails wait between being due and being accepted by the
+ *   server, and why sends fail. A mail is due at its next_attempt_at,
+ *   so the time a mail is deferred on purpose (coalescing window, retry
+ *   backoff) is not counted as delay.
+ *
+ * Latencies are kept per flow, i.e. per TokenMarker of the mail, with
+ * "plain" for mails without a template. Failures are counted per
+ * exception class.
+ * */
+@Component
+public class MailTelemetry {
+  public static final String PLAIN_FLOW = "plain";
+
+  private final Map<String, Flow> flows = new ConcurrentHashMap<>();
+  private final LatencyHistogram smtpLatency = new LatencyHistogram();
+
+  private final AtomicInteger queueingInFlight = new AtomicInteger();
+  private final AtomicInteger deliveryInFlight = new AtomicInteger();
+
+  private final Map<String, AtomicLong> queueingFailures = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> deliveryFailures = new ConcurrentHashMap<>();
+
+  public static String flowOf(TokenMarker tokenMarker) {
+    return tokenMarker == null ? PLAIN_FLOW : tokenMarker.name().toLowerCase(Locale.ROOT);
+  }
+
+  private Flow flow(TokenMarker tokenMarker) {
+    return flows.computeIfAbsent(flowOf(tokenMarker), name -> new Flow());
+  }
+
+  private static void count(Map<String, AtomicLong> failures, Throwable exception) {
+    failures.computeIfAbsent(exception.getClass().getName(), name -> new AtomicLong()).incrementAndGet();
+  }
+
+  /*
+   * Returns the start time to pass to queueingFinished.
+   * */
+  public long queueingStarted() {
+    queueingInFlight.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  public void queueingFinished(TokenMarker tokenMarker, long startedAt, RuntimeException exception) {
+    queueingInFlight.decrementAndGet();
+    flow(tokenMarker).queueingLatency.recordNanos(System.nanoTime() - startedAt);
+
+    if (exception != null) {
+      count(queueingFailures, exception);
+    }
+  }
+
+  public long deliveryStarted(int messages) {
+    deliveryInFlight.addAndGet(messages);
+    return System.nanoTime();
+  }
+
+  public void deliveryFinished(int messages, long startedAt) {
+    deliveryInFlight.addAndGet(-messages);
+    smtpLatency.recordNanos(System.nanoTime() - startedAt);
+  }
+
+  /*
+   * dueAt is the next_attempt_at of the attempt that delivered the mail,
+   * in epoch milliseconds.
+   * */
+  public void delivered(TokenMarker tokenMarker, long dueAt) {
+    flow(tokenMarker).deliveryDelay.recordMicros(Math.max(0, System.currentTimeMillis() - dueAt) * 1000);
+  }
+
+  public void deliveryFailed(TokenMarker tokenMarker, Throwable exception) {
+    flow(tokenMarker).deliveryFailures.incrementAndGet();
+    count(deliveryFailures, exception);
+  }
+
+  public Map<String, Flow> getFlows() {
+    return flows;
+  }
+
+  public LatencyHistogram getSmtpLatency() {
+    return smtpLatency;
+  }
+
+  public int getQueueingInFlight() {
+    return queueingInFlight.get();
+  }
+
+  public int getDeliveryInFlight() {
+    return deliveryInFlight.get();
+  }
+
+  public Map<String, AtomicLong> getQueueingFailures() {
+    return queueingFailures;
+  }
+
+  public Map<String, AtomicLong> getDeliveryFailures() {
+    return deliveryFailures;
+  }
+
+  public static class Flow {
+    private final LatencyHistogram queueingLatency = new LatencyHistogram();
+    private final LatencyHistogram deliveryDelay = new LatencyHistogram();
+    private final AtomicLong deliveryFailures = new AtomicLong();
+
+    public LatencyHistogram getQueueingLatency() {
+      return queueingLatency;
+    }
+
+    public LatencyHistogram getDeliveryDelay() {
+      return deliveryDelay;
+    }
+
+    public long getDeliveryFailures() {
+      return deliveryFailures.get();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package site.neurotriumph.www.component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A mail template compiled into literal fragments with token slots in
+ * between. Placeholders look like {{name}}; all of them except {{token}}
+ * are replaced with their values once, at compile time, so rendering is
+ * a single pass of appends into a buffer of the exact size.
+ *
+ * The token is appended as is: it is a JWT, whose characters need no
+ * escaping in HTML, in a URL or in text.
+ * */
+public final class MailTemplate {
+  public static final String TOKEN = "token";
+
+  private static final String OPEN = "{{";
+  private static final String CLOSE = "}}";
+
+  private final String[] fragments;
+  private final int fragmentsLength;
+
+  private MailTemplate(String[] fragments) {
+    this.fragments = fragments;
+
+    int length = 0;
+    for (String fragment : fragments) {
+      length += fragment.length();
+    }
+
+    this.fragmentsLength = length;
+  }
+
+  /*
+   * Fails on placeholders that are neither {{token}} nor in variables,
+   * so a typo in a template stops the application at startup.
+   * */
+  public static MailTemplate compile(String source, Map<String, String> variables) {
+    List<String> fragments = new ArrayList<>();
+    StringBuilder fragment = new StringBuilder();
+    int position = 0;
+
+    while (true) {
+      int open = source.indexOf(OPEN, position);
+
+      if (open < 0) {
+        fragment.append(source, position, source.length());
+        break;
+      }
+
+      int close = source.indexOf(CLOSE, open + OPEN.length());
+
+      if (close < 0) {
+        throw new IllegalStateException("unclosed placeholder at " + open);
+      }
+
+      String name = source.substring(open + OPEN.length(), close).trim();
+      fragment.append(source, position, open);
+
+      if (name.equals(TOKEN)) {
+        fragments.add(fragment.toString());
+        fragment.setLength(0);
+      } else if (variables.containsKey(name)) {
+        fragment.append(variables.get(name));
+      } else {
+        throw new IllegalStateException("unknown placeholder " + name);
+      }
+
+      position = close + CLOSE.length();
+    }
+
+    fragments.add(fragment.toString());
+
+    return new MailTemplate(fragments.toArray(new String[0]));
+  }
+
+  public String render(String token) {
+    int slots = fragments.length - 1;
+    StringBuilder result = new StringBuilder(fragmentsLength + slots * token.length());
+
+    result.append(fragments[0]);
+    for (int i = 1; i < fragments.length; i++) {
+      result.append(token).append(fragments[i]);
+    }
+
+    return result.toString();
+  }
+}
@@ -0,0 +1,77 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * HTML and plain text templates of the confirmation mails, one pair per
+ * TokenMarker under classpath:mail/, compiled once at startup. The
+ * subject is the <title> of the HTML template.
+ * */
+@Component
+public class MailTemplates {
+  private static final String LOCATION = "mail/";
+  private static final Pattern TITLE = Pattern.compile("<title>(.*?)</title>", Pattern.DOTALL);
+
+  private final Map<TokenMarker, Templates> templates = new EnumMap<>(TokenMarker.class);
+
+  public MailTemplates(@Value("${app.mail.site-url:https://neurotriumph.site}") String siteUrl) throws IOException {
+    Map<String, String> variables = Map.of(
+      "site_url", siteUrl,
+      "token_lifetime_minutes", String.valueOf(TimeUnit.MILLISECONDS.toMinutes(Const.CONFIRMATION_TOKEN_LIFETIME)));
+
+    for (TokenMarker tokenMarker : TokenMarker.values()) {
+      String name = LOCATION + tokenMarker.name().toLowerCase(Locale.ROOT);
+      ClassPathResource html = new ClassPathResource(name + ".html");
+
+      if (!html.exists()) {
+        continue;
+      }
+
+      String htmlSource = read(html);
+      Matcher title = TITLE.matcher(htmlSource);
+
+      if (!title.find()) {
+        throw new IllegalStateException(name + ".html has no title");
+      }
+
+      templates.put(tokenMarker, new Templates(
+        title.group(1).trim(),
+        MailTemplate.compile(htmlSource, variables),
+        MailTemplate.compile(read(new ClassPathResource(name + ".txt")), variables)));
+    }
+  }
+
+  private static String read(ClassPathResource resource) throws IOException {
+    try (InputStream inputStream = resource.getInputStream()) {
+      return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+    }
+  }
+
+  public Templates get(TokenMarker tokenMarker) {
+    Templates result = templates.get(tokenMarker);
+
+    if (result == null) {
+      throw new IllegalStateException("no mail template for " + tokenMarker);
+    }
+
+    return result;
+  }
+
+  public record Templates(String subject, MailTemplate html, MailTemplate text) {
+  }
+}
@@ -0,0 +1,69 @@
+package site.neurotriumph.www.component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.exception.DomainException;
+
+/*
+ * Cursors of the keyset-paginated neural network listings. A cursor is
+ * a signed token holding the id of the last neural network of the page
+ * and, for the listing of a user, the id of that user, so it can neither
+ * be forged to skip the owner check nor replayed against another listing.
+ *
+ * The listings are ordered by id alone, so the id is both the sort key
+ * and the tie-breaker.
+ * */
+@Component
+public class NeuralNetworkCursors {
+  @Autowired
+  private TokenVerifierRegistry tokenVerifierRegistry;
+
+  /*
+   * ownerId is null for the public listing.
+   * */
+  public String encode(Long ownerId, long lastId) {
+    return JWT.create()
+      .withClaim(Field.AFTER_ID, lastId)
+      .withClaim(Field.OWNER_ID, ownerId)
+      .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.NEURAL_NETWORK_CURSOR));
+  }
+
+  /*
+   * Returns the id after which the page starts, 0 for a missing cursor.
+   * */
+  public long decode(Long ownerId, String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return 0;
+    }
+
+    if (cursor.length() > Const.MAX_TOKEN_LENGTH) {
+      throw DomainException.of(Message.INVALID_CURSOR);
+    }
+
+    DecodedJWT decodedJWT;
+
+    try {
+      decodedJWT = tokenVerifierRegistry.verify(TokenMarker.NEURAL_NETWORK_CURSOR, cursor);
+    } catch (JWTVerificationException e) {
+      throw DomainException.of(Message.INVALID_CURSOR);
+    }
+
+    Long afterId = decodedJWT.getClaim(Field.AFTER_ID).asLong();
+    Claim owner = decodedJWT.getClaim(Field.OWNER_ID);
+
+    if (afterId == null || afterId < 0 || !Objects.equals(ownerId, owner.isNull() ? null : owner.asLong())) {
+      throw DomainException.of(Message.INVALID_CURSOR);
+    }
+
+    return afterId;
+  }
+}
@@ -0,0 +1,99 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.hasher.PasswordHasher;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Runs password hashing on a small fixed pool instead of the request
+ * threads. The queue in front of the pool is bounded: once it is full,
+ * new work is refused with ServerBusyException right away, so a burst of
+ * login attempts cannot pile up CPU-bound work behind the request
+ * threads.
+ *
+ * New hashes are always produced by the hasher named in
+ * app.password.hasher; existing hashes are checked by whichever hasher
+ * recognises them.
+ * */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+  private final List<PasswordHasher> passwordHashers;
+  private final PasswordHasher currentPasswordHasher;
+  private final BoundedExecutor executor;
+
+  public PasswordHashingExecutor(List<PasswordHasher> passwordHashers,
+                                 @Value("${app.password.hasher:sha256}") String hasherName,
+                                 @Value("${app.password.hashing.threads:0}") int threads,
+                                 @Value("${app.password.hashing.queue-capacity:64}") int queueCapacity) {
+    this.passwordHashers = passwordHashers;
+    this.currentPasswordHasher = passwordHashers.stream()
+      .filter(passwordHasher -> passwordHasher.getName().equals(hasherName))
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("unknown password hasher: " + hasherName));
+    this.executor = new BoundedExecutor("password-hashing", threads, queueCapacity);
+  }
+
+  public String hash(String password) {
+    return executor.execute(() -> currentPasswordHasher.hash(password));
+  }
+
+  public CompletableFuture<String> hashAsync(String password) {
+    return executor.supply(() -> currentPasswordHasher.hash(password));
+  }
+
+  public boolean matches(String password, String passwordHash) {
+    PasswordHasher passwordHasher = findPasswordHasher(passwordHash);
+
+    if (passwordHasher == null) {
+      return false;
+    }
+
+    return executor.execute(() -> passwordHasher.matches(password, passwordHash));
+  }
+
+  public CompletableFuture<Boolean> matchesAsync(String password, String passwordHash) {
+    PasswordHasher passwordHasher = findPasswordHasher(passwordHash);
+
+    if (passwordHasher == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    return executor.supply(() -> passwordHasher.matches(password, passwordHash));
+  }
+
+  /*
+   * Whether a hash that has just been matched should be replaced
+   * by one produced by the current hasher.
+   * */
+  public boolean needsUpgrade(String passwordHash) {
+    return !currentPasswordHasher.supports(passwordHash) ||
+      currentPasswordHasher.needsRehash(passwordHash);
+  }
+
+  public int getQueueSize() {
+    return executor.getQueueSize();
+  }
+
+  public long getRejections() {
+    return executor.getRejections();
+  }
+
+  private PasswordHasher findPasswordHasher(String passwordHash) {
+    for (PasswordHasher passwordHasher : passwordHashers) {
+      if (passwordHasher.supports(passwordHash)) {
+        return passwordHasher;
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public void destroy() {
+    executor.destroy();
+  }
+}
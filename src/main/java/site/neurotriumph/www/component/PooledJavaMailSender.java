@@ -0,0 +1,200 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * JavaMailSender that keeps a few connected SMTP transports around
+ * instead of opening, securing and authenticating a new connection for
+ * every send call.
+ *
+ * A transport is checked with a NOOP when it is taken from the pool,
+ * not before every message, and is closed once it has sent
+ * maxMessagesPerConnection messages or has been idle for longer than
+ * idleTimeout, so servers that drop long-lived connections never see
+ * one of ours go stale in use.
+ * */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+  private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+  private final BlockingDeque<PooledTransport> idleTransports;
+  private final int maxMessagesPerConnection;
+  private final long idleTimeout;
+
+  private final AtomicLong connectionsOpened = new AtomicLong();
+  private final AtomicLong connectionsReused = new AtomicLong();
+
+  public PooledJavaMailSender(int maxIdleConnections, int maxMessagesPerConnection, long idleTimeout) {
+    this.idleTransports = new LinkedBlockingDeque<>(Math.max(1, maxIdleConnections));
+    this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+    this.idleTimeout = idleTimeout;
+  }
+
+  /*
+   * Same contract as JavaMailSenderImpl.doSend: messages that could not
+   * be sent are reported through MailSendException.getFailedMessages().
+   * */
+  @Override
+  protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+    Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+    PooledTransport pooledTransport = null;
+
+    try {
+      for (int i = 0; i < mimeMessages.length; i++) {
+        if (pooledTransport == null) {
+          try {
+            pooledTransport = borrow();
+          } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+          } catch (Exception e) {
+            for (int j = i; j < mimeMessages.length; j++) {
+              failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], e);
+            }
+
+            throw new MailSendException("Mail server connection failed", e, failedMessages);
+          }
+        }
+
+        MimeMessage mimeMessage = mimeMessages[i];
+
+        try {
+          if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+          }
+
+          String messageId = mimeMessage.getMessageID();
+          mimeMessage.saveChanges();
+
+          if (messageId != null) {
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+          }
+
+          Address[] addresses = mimeMessage.getAllRecipients();
+          pooledTransport.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+          pooledTransport.messagesSent++;
+        } catch (Exception e) {
+          failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessage, e);
+
+          // The failure may have been the connection itself, give the
+          // remaining messages a fresh one in that case.
+          if (!pooledTransport.transport.isConnected()) {
+            close(pooledTransport);
+            pooledTransport = null;
+          }
+        }
+
+        if (pooledTransport != null && pooledTransport.messagesSent >= maxMessagesPerConnection) {
+          close(pooledTransport);
+          pooledTransport = null;
+        }
+      }
+    } finally {
+      if (pooledTransport != null) {
+        release(pooledTransport);
+      }
+    }
+
+    if (!failedMessages.isEmpty()) {
+      throw new MailSendException(failedMessages);
+    }
+  }
+
+  private PooledTransport borrow() throws MessagingException {
+    PooledTransport pooledTransport;
+
+    while ((pooledTransport = idleTransports.pollFirst()) != null) {
+      if (System.currentTimeMillis() - pooledTransport.releasedAt <= idleTimeout
+        && pooledTransport.transport.isConnected()) {
+        connectionsReused.incrementAndGet();
+        return pooledTransport;
+      }
+
+      close(pooledTransport);
+    }
+
+    Transport transport = connectTransport();
+    connectionsOpened.incrementAndGet();
+
+    return new PooledTransport(transport);
+  }
+
+  private void release(PooledTransport pooledTransport) {
+    pooledTransport.releasedAt = System.currentTimeMillis();
+
+    // Most recently used first, so a quiet period lets the extra
+    // connections time out instead of keeping all of them warm.
+    if (!idleTransports.offerFirst(pooledTransport)) {
+      close(pooledTransport);
+    }
+  }
+
+  private void close(PooledTransport pooledTransport) {
+    try {
+      pooledTransport.transport.close();
+    } catch (MessagingException ignored) {
+    }
+  }
+
+  /*
+   * Closes connections that have been idle for longer than idleTimeout.
+   * */
+  @Scheduled(fixedDelayString = "${app.mail.pool.idle-timeout:30000}")
+  public void evictIdleConnections() {
+    long now = System.currentTimeMillis();
+    PooledTransport pooledTransport;
+
+    while ((pooledTransport = idleTransports.peekLast()) != null && now - pooledTransport.releasedAt > idleTimeout) {
+      if (idleTransports.removeLastOccurrence(pooledTransport)) {
+        close(pooledTransport);
+      }
+    }
+  }
+
+  public int getIdleConnections() {
+    return idleTransports.size();
+  }
+
+  public long getConnectionsOpened() {
+    return connectionsOpened.get();
+  }
+
+  public long getConnectionsReused() {
+    return connectionsReused.get();
+  }
+
+  @Override
+  public void destroy() {
+    PooledTransport pooledTransport;
+
+    while ((pooledTransport = idleTransports.pollFirst()) != null) {
+      close(pooledTransport);
+    }
+  }
+
+  private static final class PooledTransport {
+    private final Transport transport;
+    private int messagesSent;
+    private long releasedAt;
+
+    private PooledTransport(Transport transport) {
+      this.transport = transport;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.RequestBodyTooLargeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Enforces the RequestBodyLimits of every @RequestBody type of the
+ * application before and while Jackson reads it: a declared
+ * Content-Length above the limit is refused without reading the body
+ * at all, anything else is read through a RequestBodyLimitingInputStream.
+ * */
+@ControllerAdvice
+public class RequestBodyLimitAdvice extends RequestBodyAdviceAdapter {
+  private static final String REQUEST_BODY_PACKAGE = "site.neurotriumph.www.pojo.";
+
+  private final Map<Class<?>, RequestBodyLimits> requestBodyLimits = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean supports(MethodParameter methodParameter,
+                          Type targetType,
+                          Class<? extends HttpMessageConverter<?>> converterType) {
+    return targetType instanceof Class<?> type && type.getName().startsWith(REQUEST_BODY_PACKAGE);
+  }
+
+  @Override
+  public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage,
+                                         MethodParameter parameter,
+                                         Type targetType,
+                                         Class<? extends HttpMessageConverter<?>> converterType)
+    throws IOException {
+    RequestBodyLimits limits = requestBodyLimits.computeIfAbsent((Class<?>) targetType, RequestBodyLimits::of);
+
+    if (limits.isEmpty()) {
+      return inputMessage;
+    }
+
+    if (limits.getMaxBodySize() >= 0 && inputMessage.getHeaders().getContentLength() > limits.getMaxBodySize()) {
+      throw new RequestBodyTooLargeException(Message.REQUEST_BODY_IS_TOO_LARGE);
+    }
+
+    InputStream body = new RequestBodyLimitingInputStream(inputMessage.getBody(), limits);
+
+    return new HttpInputMessage() {
+      @Override
+      public InputStream getBody() {
+        return body;
+      }
+
+      @Override
+      public HttpHeaders getHeaders() {
+        return inputMessage.getHeaders();
+      }
+    };
+  }
+}
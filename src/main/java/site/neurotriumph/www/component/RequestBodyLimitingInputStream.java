@@ -0,0 +1,211 @@
+package site.neurotriumph.www.component;
+
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.exception.RequestBodyTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Passes a JSON request body through to the parser while following its
+ * structure byte by byte, and aborts the read as soon as the body grows
+ * past its limit or a top-level string property grows past the limit
+ * of its field. An oversized value is rejected at the first character
+ * too many, before Jackson has buffered the rest of it.
+ *
+ * Lengths are counted in UTF-16 code units like String.length(), so
+ * they agree with @Size: an escape sequence is one unit and a four byte
+ * UTF-8 sequence is two. Escape sequences in keys are decoded before
+ * the key is looked up, so "n\u0061me" is limited like "name".
+ * Malformed JSON is left for the parser to reject.
+ * */
+public class RequestBodyLimitingInputStream extends FilterInputStream {
+  private final RequestBodyLimits requestBodyLimits;
+  private final long maxBodySize;
+  private final byte[] key;
+
+  private long bodySize;
+  private int depth;
+  private boolean expectingKey;
+  private boolean inString;
+  private boolean inKey;
+  private boolean escaped;
+  private int hexDigitsLeft;
+  private int escapedCodeUnit;
+  private int keyLength;
+  private RequestBodyLimits.FieldLimit pendingFieldLimit;
+  private RequestBodyLimits.FieldLimit fieldLimit;
+  private int valueLength;
+
+  public RequestBodyLimitingInputStream(InputStream inputStream, RequestBodyLimits requestBodyLimits) {
+    super(inputStream);
+    this.requestBodyLimits = requestBodyLimits;
+    this.maxBodySize = requestBodyLimits.getMaxBodySize();
+    // One extra byte tells a longer key apart from a known one.
+    this.key = new byte[requestBodyLimits.getMaxKeyLength() + 1];
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = super.read();
+
+    if (b >= 0) {
+      scan((byte) b);
+    }
+
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = super.read(b, off, len);
+
+    for (int i = 0; i < read; i++) {
+      scan(b[off + i]);
+    }
+
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    // Skipped bytes would have to be scanned too, read them instead.
+    byte[] buffer = new byte[(int) Math.min(n, 512)];
+    int read = read(buffer, 0, buffer.length);
+
+    return Math.max(read, 0);
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  private void scan(byte b) {
+    if (maxBodySize >= 0 && ++bodySize > maxBodySize) {
+      throw new RequestBodyTooLargeException(Message.REQUEST_BODY_IS_TOO_LARGE);
+    }
+
+    if (inString) {
+      scanString(b);
+      return;
+    }
+
+    switch (b) {
+      case '"' -> {
+        inString = true;
+        inKey = depth == 1 && expectingKey;
+        keyLength = 0;
+        fieldLimit = depth == 1 && !inKey ? pendingFieldLimit : null;
+        valueLength = 0;
+      }
+      case '{', '[' -> {
+        depth++;
+        expectingKey = depth == 1 && b == '{';
+      }
+      case '}', ']' -> depth--;
+      case ':' -> {
+        if (depth == 1) {
+          expectingKey = false;
+        }
+      }
+      case ',' -> {
+        if (depth == 1) {
+          expectingKey = true;
+          pendingFieldLimit = null;
+        }
+      }
+      default -> {
+      }
+    }
+  }
+
+  private void scanString(byte b) {
+    if (hexDigitsLeft > 0) {
+      escapedCodeUnit = escapedCodeUnit << 4 | Math.max(Character.digit(b, 16), 0);
+
+      if (--hexDigitsLeft == 0) {
+        appendToKey(escapedCodeUnit);
+      }
+
+      return;
+    }
+
+    if (escaped) {
+      escaped = false;
+
+      switch (b) {
+        case 'u' -> {
+          hexDigitsLeft = 4;
+          escapedCodeUnit = 0;
+        }
+        case 'b' -> appendToKey('\b');
+        case 'f' -> appendToKey('\f');
+        case 'n' -> appendToKey('\n');
+        case 'r' -> appendToKey('\r');
+        case 't' -> appendToKey('\t');
+        default -> appendToKey(b);
+      }
+
+      countCharacters(1);
+      return;
+    }
+
+    if (b == '\\') {
+      escaped = true;
+      return;
+    }
+
+    if (b == '"') {
+      inString = false;
+
+      if (inKey) {
+        inKey = false;
+        pendingFieldLimit = keyLength < key.length
+          ? requestBodyLimits.getFieldLimit(new String(key, 0, keyLength, StandardCharsets.UTF_8))
+          : null;
+      }
+
+      return;
+    }
+
+    appendToKey(b);
+
+    // Continuation bytes belong to the character of their lead byte.
+    if ((b & 0xC0) != 0x80) {
+      countCharacters((b & 0xF8) == 0xF0 ? 2 : 1);
+    }
+  }
+
+  private void appendToKey(byte b) {
+    if (inKey && keyLength < key.length) {
+      key[keyLength++] = b;
+    }
+  }
+
+  /*
+   * Appends the UTF-8 encoding of an escaped code unit. A surrogate is
+   * encoded on its own, which no declared key can match.
+   * */
+  private void appendToKey(int codeUnit) {
+    if (codeUnit < 0x80) {
+      appendToKey((byte) codeUnit);
+    } else if (codeUnit < 0x800) {
+      appendToKey((byte) (0xC0 | codeUnit >> 6));
+      appendToKey((byte) (0x80 | codeUnit & 0x3F));
+    } else {
+      appendToKey((byte) (0xE0 | codeUnit >> 12));
+      appendToKey((byte) (0x80 | codeUnit >> 6 & 0x3F));
+      appendToKey((byte) (0x80 | codeUnit & 0x3F));
+    }
+  }
+
+  private void countCharacters(int count) {
+    if (fieldLimit != null && (valueLength += count) > fieldLimit.maxLength()) {
+      throw DomainException.of(fieldLimit.message());
+    }
+  }
+}
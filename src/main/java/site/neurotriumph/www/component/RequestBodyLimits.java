@@ -0,0 +1,122 @@
+package site.neurotriumph.www.component;
+
+import site.neurotriumph.www.annotation.RequestBodyLength;
+import site.neurotriumph.www.exception.DomainException;
+
+import javax.validation.constraints.Size;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Size limits of a request body type, derived from its declaration:
+ * - every String field with @Size(max = ...) gets a field limit that
+ *   is checked while the body is still being read, and is rejected with
+ *   the message of that @Size, the same one Bean Validation would give;
+ * - a String field with @RequestBodyLength instead only counts toward
+ *   the limit of the whole body;
+ * - the whole body may not be longer than the longest JSON encoding of
+ *   a valid instance (every character a six byte escape sequence), plus
+ *   some room for whitespace.
+ *
+ * The limits are only exact for bodies of scalar fields named like
+ * their JSON properties, which all request bodies are.
+ * */
+public class RequestBodyLimits {
+  private static final int MAX_ESCAPED_CHARACTER_BYTES = 6;
+  private static final int MAX_SCALAR_BYTES = 32;
+  private static final int PROPERTY_OVERHEAD_BYTES = 8;
+  private static final int WHITESPACE_BYTES = 1024;
+
+  private final Map<String, FieldLimit> fieldLimits = new HashMap<>();
+  private final int maxKeyLength;
+  private final long maxBodySize;
+
+  private RequestBodyLimits(Class<?> type) {
+    int maxKeyLength = 0;
+    long maxBodySize = 2 + WHITESPACE_BYTES;
+    boolean bounded = true;
+
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+          continue;
+        }
+
+        String key = field.getName();
+        maxKeyLength = Math.max(maxKeyLength, key.getBytes(StandardCharsets.UTF_8).length);
+        maxBodySize += key.length() + PROPERTY_OVERHEAD_BYTES;
+
+        if (field.getType() == String.class) {
+          FieldLimit fieldLimit = findFieldLimit(field);
+
+          RequestBodyLength requestBodyLength = field.getAnnotation(RequestBodyLength.class);
+
+          if (fieldLimit != null) {
+            fieldLimits.put(key, fieldLimit);
+            maxBodySize += (long) fieldLimit.maxLength() * MAX_ESCAPED_CHARACTER_BYTES;
+          } else if (requestBodyLength != null) {
+            maxBodySize += (long) requestBodyLength.max() * MAX_ESCAPED_CHARACTER_BYTES;
+          } else {
+            bounded = false;
+          }
+        } else if (field.getType().isPrimitive() || Number.class.isAssignableFrom(field.getType())
+          || field.getType() == Boolean.class) {
+          maxBodySize += MAX_SCALAR_BYTES;
+        } else {
+          bounded = false;
+        }
+      }
+    }
+
+    this.maxKeyLength = maxKeyLength;
+    this.maxBodySize = bounded ? maxBodySize : -1;
+  }
+
+  public static RequestBodyLimits of(Class<?> type) {
+    return new RequestBodyLimits(type);
+  }
+
+  private static FieldLimit findFieldLimit(Field field) {
+    FieldLimit fieldLimit = null;
+
+    for (Size size : field.getAnnotationsByType(Size.class)) {
+      if (size.max() != Integer.MAX_VALUE && (fieldLimit == null || size.max() < fieldLimit.maxLength())) {
+        // Fail early if the message could not be answered like any other.
+        DomainException.of(size.message());
+
+        fieldLimit = new FieldLimit(size.max(), size.message());
+      }
+    }
+
+    return fieldLimit;
+  }
+
+  /*
+   * Limit of a top-level property, or null if it has none.
+   * */
+  public FieldLimit getFieldLimit(String key) {
+    return fieldLimits.get(key);
+  }
+
+  public int getMaxKeyLength() {
+    return maxKeyLength;
+  }
+
+  /*
+   * Largest valid body in bytes, or -1 when the type has fields whose
+   * length is not declared.
+   * */
+  public long getMaxBodySize() {
+    return maxBodySize;
+  }
+
+  public boolean isEmpty() {
+    return fieldLimits.isEmpty() && maxBodySize < 0;
+  }
+
+  public record FieldLimit(int maxLength, String message) {
+  }
+}
@@ -0,0 +1,228 @@
+package site.neurotriumph.www.component;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.impl.NullClaim;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import site.neurotriumph.www.constant.Field;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * DecodedJWT produced by FastAuthTokenVerifier. It only knows the claims
+ * AuthService.login puts into a token, and only builds Claim objects when
+ * they are asked for.
+ * */
+public class ScannedAuthToken implements DecodedJWT {
+  private static final String ALGORITHM = "HS256";
+  private static final String TYPE = "JWT";
+
+  private final String token;
+  private final int payloadStart;
+  private final int signatureStart;
+
+  private final Long userId;
+  private final long expiresAt;
+  private final Integer version;
+  private final Integer epoch;
+  private final Boolean confirmed;
+  private final String tokenId;
+
+  ScannedAuthToken(String token, int payloadStart, int signatureStart, Long userId, long expiresAt,
+                   Integer version, Integer epoch, Boolean confirmed, String tokenId) {
+    this.token = token;
+    this.payloadStart = payloadStart;
+    this.signatureStart = signatureStart;
+    this.userId = userId;
+    this.expiresAt = expiresAt;
+    this.version = version;
+    this.epoch = epoch;
+    this.confirmed = confirmed;
+    this.tokenId = tokenId;
+  }
+
+  @Override
+  public String getToken() {
+    return token;
+  }
+
+  @Override
+  public String getHeader() {
+    return token.substring(0, payloadStart - 1);
+  }
+
+  @Override
+  public String getPayload() {
+    return token.substring(payloadStart, signatureStart - 1);
+  }
+
+  @Override
+  public String getSignature() {
+    return token.substring(signatureStart);
+  }
+
+  @Override
+  public String getAlgorithm() {
+    return ALGORITHM;
+  }
+
+  @Override
+  public String getType() {
+    return TYPE;
+  }
+
+  @Override
+  public String getContentType() {
+    return null;
+  }
+
+  @Override
+  public String getKeyId() {
+    return null;
+  }
+
+  @Override
+  public Claim getHeaderClaim(String name) {
+    return switch (name) {
+      case "alg" -> new ValueClaim(ALGORITHM);
+      case "typ" -> new ValueClaim(TYPE);
+      default -> new NullClaim();
+    };
+  }
+
+  @Override
+  public String getIssuer() {
+    return null;
+  }
+
+  @Override
+  public String getSubject() {
+    return null;
+  }
+
+  @Override
+  public List<String> getAudience() {
+    return null;
+  }
+
+  @Override
+  public Date getExpiresAt() {
+    return new Date(expiresAt * 1000);
+  }
+
+  @Override
+  public Date getNotBefore() {
+    return null;
+  }
+
+  @Override
+  public Date getIssuedAt() {
+    return null;
+  }
+
+  @Override
+  public String getId() {
+    return tokenId;
+  }
+
+  private Object getValue(String name) {
+    return switch (name) {
+      case Field.USER_ID -> userId;
+      case Field.EXPIRATION_TIME -> expiresAt;
+      case Field.TOKEN_VERSION -> version;
+      case Field.TOKEN_EPOCH -> epoch;
+      case Field.CONFIRMED -> confirmed;
+      case Field.TOKEN_ID -> tokenId;
+      default -> null;
+    };
+  }
+
+  @Override
+  public Claim getClaim(String name) {
+    Object value = getValue(name);
+    return value == null ? new NullClaim() : new ValueClaim(value);
+  }
+
+  @Override
+  public Map<String, Claim> getClaims() {
+    Map<String, Claim> claims = new HashMap<>();
+
+    for (String name : new String[]{Field.USER_ID, Field.EXPIRATION_TIME, Field.TOKEN_VERSION,
+      Field.TOKEN_EPOCH, Field.CONFIRMED, Field.TOKEN_ID}) {
+      Object value = getValue(name);
+      if (value != null) {
+        claims.put(name, new ValueClaim(value));
+      }
+    }
+
+    return Collections.unmodifiableMap(claims);
+  }
+
+  /*
+   * Mirrors the conversions of auth0's JsonNodeClaim for scalar values.
+   * */
+  private record ValueClaim(Object value) implements Claim {
+    @Override
+    public boolean isNull() {
+      return false;
+    }
+
+    @Override
+    public Boolean asBoolean() {
+      return value instanceof Boolean b ? b : null;
+    }
+
+    @Override
+    public Integer asInt() {
+      return value instanceof Number n ? n.intValue() : null;
+    }
+
+    @Override
+    public Long asLong() {
+      return value instanceof Number n ? n.longValue() : null;
+    }
+
+    @Override
+    public Double asDouble() {
+      return value instanceof Number n ? n.doubleValue() : null;
+    }
+
+    @Override
+    public String asString() {
+      return value instanceof String s ? s : null;
+    }
+
+    @Override
+    public Date asDate() {
+      return value instanceof Number n ? new Date(n.longValue() * 1000) : null;
+    }
+
+    @Override
+    public <T> T[] asArray(Class<T> tClazz) {
+      return null;
+    }
+
+    @Override
+    public <T> List<T> asList(Class<T> tClazz) {
+      return null;
+    }
+
+    @Override
+    public Map<String, Object> asMap() {
+      return null;
+    }
+
+    @Override
+    public <T> T as(Class<T> tClazz) throws JWTDecodeException {
+      if (!tClazz.isInstance(value)) {
+        throw new JWTDecodeException("Couldn't map the Claim value to " + tClazz.getSimpleName());
+      }
+
+      return tClazz.cast(value);
+    }
+  }
+}
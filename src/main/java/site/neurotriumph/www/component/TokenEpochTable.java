@@ -0,0 +1,167 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * In-memory copy of the token epoch of recently authenticated users.
+ * An authentication token carries the epoch of its user at login time,
+ * and the token is only trusted while the epoch in this table agrees.
+ *
+ * Like ConfirmedUserCache, this is a direct-mapped table with a fixed
+ * capacity: an evicted or unknown user is simply reloaded from the
+ * database. Epochs loaded from the database are only stored if no
+ * change happened since the caller took the stamp, and a stored epoch
+ * never goes backwards.
+ * */
+@Component
+public class TokenEpochTable {
+  public static final int UNKNOWN = -1;
+
+  private final AtomicReferenceArray<Entry> slots;
+  private final int mask;
+
+  private final AtomicLong stamp = new AtomicLong();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public TokenEpochTable(@Value("${app.auth.token-epoch-table.capacity:65536}") int capacity) {
+    this.slots = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    this.mask = slots.length() - 1;
+  }
+
+  private int indexOf(long userId) {
+    long hash = userId * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  public int getEpoch(Long userId) {
+    if (userId == null) {
+      return UNKNOWN;
+    }
+
+    Entry entry = slots.get(indexOf(userId));
+    if (entry == null || entry.userId() != userId) {
+      misses.incrementAndGet();
+      return UNKNOWN;
+    }
+
+    hits.incrementAndGet();
+    return entry.epoch();
+  }
+
+  /*
+   * Must be taken before reading the epoch that is passed to putLoaded.
+   * */
+  public long stamp() {
+    return stamp.get();
+  }
+
+  public void putLoaded(Long userId, int epoch, long stamp) {
+    if (this.stamp.get() == stamp) {
+      put(userId, epoch);
+    }
+  }
+
+  private void put(long userId, int epoch) {
+    int index = indexOf(userId);
+    Entry entry = new Entry(userId, epoch);
+
+    Entry previous;
+    do {
+      previous = slots.get(index);
+
+      if (previous != null && previous.userId() == userId && previous.epoch() >= epoch) {
+        return;
+      }
+    } while (!slots.compareAndSet(index, previous, entry));
+
+    if (previous == null) {
+      size.incrementAndGet();
+    } else if (previous.userId() != userId) {
+      evictions.incrementAndGet();
+    }
+  }
+
+  private void remove(long userId) {
+    stamp.incrementAndGet();
+    invalidations.incrementAndGet();
+
+    int index = indexOf(userId);
+    Entry entry = slots.get(index);
+
+    if (entry != null && entry.userId() == userId && slots.compareAndSet(index, entry, null)) {
+      size.decrementAndGet();
+    }
+  }
+
+  /*
+   * Records a new epoch once the transaction that persisted it commits.
+   * On rollback the user is dropped from the table and reloaded later.
+   * */
+  public void putTransactionally(Long userId, int epoch) {
+    stamp.incrementAndGet();
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(userId, epoch);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          stamp.incrementAndGet();
+          put(userId, epoch);
+        } else {
+          remove(userId);
+        }
+      }
+    });
+  }
+
+  public void removeTransactionally(Long userId) {
+    remove(userId);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          remove(userId);
+        }
+      });
+    }
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  public long getInvalidations() {
+    return invalidations.get();
+  }
+
+  private record Entry(long userId, int epoch) {
+  }
+}
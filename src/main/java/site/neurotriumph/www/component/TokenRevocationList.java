@@ -0,0 +1,242 @@
+package site.neurotriumph.www.component;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.entity.RevokedToken;
+import site.neurotriumph.www.repository.RevokedTokenRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Ids of authentication tokens revoked before their expiration. The id
+ * is the "jti" claim; tokens issued before it was introduced are
+ * identified by their signature instead.
+ *
+ * The revoked_token table is the source of truth; an in-memory Bloom
+ * filter over its ids answers the common "not revoked" case with a few
+ * bit probes, and only a filter match costs a query.
+ *
+ * Rows are kept until the token's own expiration, after which the token
+ * is rejected anyway. The filter cannot forget ids, so it is rebuilt from
+ * the remaining rows on a schedule, right after the expired ones are
+ * purged. Revocations that happen while a rebuild is running are written
+ * into the filter being built as well.
+ *
+ * A revocation is added to the filter of the instance that handled the
+ * logout right away. Every other instance sharing the table adds it on
+ * its next sync, which reads the ids revoked since the previous one, so
+ * a revoked token stays accepted elsewhere for at most sync-interval
+ * milliseconds, as long as the clocks of the instances are less than
+ * SYNC_OVERLAP apart.
+ * */
+@Component
+public class TokenRevocationList implements InitializingBean {
+  private static final long SYNC_OVERLAP = TimeUnit.MINUTES.toMillis(1);
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final int expectedTokens;
+  private final double falsePositiveProbability;
+
+  private volatile BloomFilter filter;
+  private volatile BloomFilter pendingFilter;
+  private long lastSyncAt;
+
+  private final AtomicLong revocations = new AtomicLong();
+  private final AtomicLong filterMisses = new AtomicLong();
+  private final AtomicLong filterMatches = new AtomicLong();
+  private final AtomicLong falsePositives = new AtomicLong();
+  private final AtomicLong purged = new AtomicLong();
+
+  public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                             @Value("${app.auth.revocation.expected-tokens:100000}") int expectedTokens,
+                             @Value("${app.auth.revocation.false-positive-probability:0.01}")
+                             double falsePositiveProbability) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.expectedTokens = Math.max(1, expectedTokens);
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  public static String idOf(DecodedJWT decodedJWT) {
+    String tokenId = decodedJWT.getId();
+    return tokenId != null ? tokenId : decodedJWT.getSignature();
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    rebuild();
+  }
+
+  public boolean isRevoked(String tokenId) {
+    if (!filter.mightContain(tokenId)) {
+      filterMisses.incrementAndGet();
+      return false;
+    }
+
+    filterMatches.incrementAndGet();
+
+    if (revokedTokenRepository.existsById(tokenId)) {
+      return true;
+    }
+
+    falsePositives.incrementAndGet();
+    return false;
+  }
+
+  /*
+   * expiresAt is the "exp" claim of the token, in seconds.
+   * */
+  public void revoke(String tokenId, long expiresAt) {
+    revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, System.currentTimeMillis()));
+
+    add(tokenId);
+    revocations.incrementAndGet();
+  }
+
+  private void add(String tokenId) {
+    /*
+     * The pending filter goes first: if it is already gone by the time
+     * it is read, the rebuilt filter has been published and is the one
+     * updated below.
+     * */
+    BloomFilter pending = pendingFilter;
+    if (pending != null) {
+      pending.add(tokenId);
+    }
+
+    filter.add(tokenId);
+  }
+
+  /*
+   * Adds the tokens revoked by other instances since the previous sync.
+   * */
+  @Scheduled(initialDelayString = "${app.auth.revocation.sync-interval:10000}",
+    fixedDelayString = "${app.auth.revocation.sync-interval:10000}")
+  public synchronized void sync() {
+    long now = System.currentTimeMillis();
+
+    for (String tokenId : revokedTokenRepository.findAllIdsRevokedSince(lastSyncAt - SYNC_OVERLAP)) {
+      add(tokenId);
+    }
+
+    lastSyncAt = now;
+  }
+
+  @Scheduled(initialDelayString = "${app.auth.revocation.rebuild-interval:3600000}",
+    fixedDelayString = "${app.auth.revocation.rebuild-interval:3600000}")
+  public synchronized void rebuild() {
+    long now = System.currentTimeMillis();
+    purged.addAndGet(revokedTokenRepository.deleteAllExpiredBefore(now / 1000));
+
+    BloomFilter next = new BloomFilter(
+      (int) Math.min(Integer.MAX_VALUE / 2, Math.max(expectedTokens, 2 * revokedTokenRepository.count())),
+      falsePositiveProbability);
+    pendingFilter = next;
+
+    List<String> tokenIds = revokedTokenRepository.findAllIds();
+    for (String tokenId : tokenIds) {
+      next.add(tokenId);
+    }
+
+    filter = next;
+    pendingFilter = null;
+    lastSyncAt = now;
+  }
+
+  public int getFilterBits() {
+    return filter.bitCount;
+  }
+
+  public long getRevocations() {
+    return revocations.get();
+  }
+
+  public long getFilterMisses() {
+    return filterMisses.get();
+  }
+
+  public long getFilterMatches() {
+    return filterMatches.get();
+  }
+
+  public long getFalsePositives() {
+    return falsePositives.get();
+  }
+
+  public long getPurged() {
+    return purged.get();
+  }
+
+  /*
+   * Standard Bloom filter over a shared bit array. The probe positions
+   * are derived from one 64-bit hash split into two halves.
+   * */
+  static final class BloomFilter {
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double falsePositiveProbability) {
+      double ln2 = Math.log(2);
+      long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+
+      this.bits = new AtomicLongArray((int) Math.max(1, (Math.min(optimalBits, Integer.MAX_VALUE / 2) + 63) / 64));
+      this.bitCount = bits.length() * 64;
+      this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    void add(String value) {
+      long hash = hash(value);
+      int hash1 = (int) hash;
+      int hash2 = (int) (hash >>> 32);
+
+      for (int i = 1; i <= hashCount; i++) {
+        int bit = probe(hash1, hash2, i);
+        long mask = 1L << bit;
+
+        bits.getAndAccumulate(bit >>> 6, mask, (current, update) -> current | update);
+      }
+    }
+
+    boolean mightContain(String value) {
+      long hash = hash(value);
+      int hash1 = (int) hash;
+      int hash2 = (int) (hash >>> 32);
+
+      for (int i = 1; i <= hashCount; i++) {
+        int bit = probe(hash1, hash2, i);
+
+        if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private int probe(int hash1, int hash2, int i) {
+      int combined = hash1 + i * hash2;
+      return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    private static long hash(String value) {
+      long hash = 0x9E3779B97F4A7C15L;
+
+      for (int i = 0; i < value.length(); i++) {
+        hash = (hash ^ value.charAt(i)) * 0xFF51AFD7ED558CCDL;
+        hash = Long.rotateLeft(hash, 31);
+      }
+
+      hash ^= hash >>> 33;
+      hash *= 0xC4CEB9FE1A85EC53L;
+      hash ^= hash >>> 33;
+
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package site.neurotriumph.www.component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Algorithms and verifiers are immutable and thread-safe, so
+ * they are built once per TokenMarker at startup instead of on
+ * every request.
+ * */
+@Component
+public class TokenVerifierRegistry {
+  private final Map<TokenMarker, Algorithm> algorithms = new EnumMap<>(TokenMarker.class);
+  private final Map<TokenMarker, JWTVerifier> verifiers = new EnumMap<>(TokenMarker.class);
+
+  public TokenVerifierRegistry(@Value("${app.secret}") String appSecret) {
+    for (TokenMarker tokenMarker : TokenMarker.values()) {
+      Algorithm algorithm = Algorithm.HMAC256(appSecret + tokenMarker);
+
+      algorithms.put(tokenMarker, algorithm);
+      verifiers.put(tokenMarker, JWT.require(algorithm).build());
+    }
+  }
+
+  public Algorithm getAlgorithm(TokenMarker tokenMarker) {
+    return algorithms.get(tokenMarker);
+  }
+
+  /*
+   * Verifies the signature and the time claims of the token and
+   * returns the token decoded along the way, so the caller does
+   * not have to parse it a second time.
+   * */
+  public DecodedJWT verify(TokenMarker tokenMarker, String token) throws JWTVerificationException {
+    return verifiers.get(tokenMarker).verify(token);
+  }
+}
@@ -0,0 +1,27 @@
+package site.neurotriumph.www.component;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import site.neurotriumph.www.constant.RequestAttribute;
+
+/*
+ * Marks the user of the current request as already proven to exist and
+ * be confirmed, so services can skip looking the user up again.
+ * Outside of a web request nothing is ever trusted.
+ * */
+public final class TrustedUserContext {
+  private TrustedUserContext() {
+  }
+
+  public static void trust(RequestAttributes requestAttributes, Long userId) {
+    requestAttributes.setAttribute(RequestAttribute.TRUSTED_USER_ID, userId, RequestAttributes.SCOPE_REQUEST);
+  }
+
+  public static boolean isTrusted(Long userId) {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+    return userId != null && requestAttributes != null &&
+      userId.equals(requestAttributes.getAttribute(RequestAttribute.TRUSTED_USER_ID,
+        RequestAttributes.SCOPE_REQUEST));
+  }
+}
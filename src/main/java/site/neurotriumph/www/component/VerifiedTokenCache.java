@@ -0,0 +1,132 @@
+package site.neurotriumph.www.component;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Opt-in LRU cache of already verified authentication tokens.
+ * The key is the SHA-256 digest of the raw token, so the cache
+ * never holds the tokens themselves, and an entry never outlives
+ * the "exp" claim of its token.
+ * */
+@Component
+public class VerifiedTokenCache {
+  private final boolean enabled;
+  private final long timeToLive;
+  private final Map<Digest, Entry> entries;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong expirations = new AtomicLong();
+
+  public VerifiedTokenCache(@Value("${app.auth.token-cache.enabled:false}") boolean enabled,
+                            @Value("${app.auth.token-cache.max-size:10000}") int maxSize,
+                            @Value("${app.auth.token-cache.ttl:300000}") long timeToLive) {
+    this.enabled = enabled;
+    this.timeToLive = timeToLive;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Digest, Entry> eldest) {
+        if (size() <= maxSize) {
+          return false;
+        }
+
+        evictions.incrementAndGet();
+        return true;
+      }
+    };
+  }
+
+  public DecodedJWT get(String token) {
+    if (!enabled) {
+      return null;
+    }
+
+    Digest digest = Digest.of(token);
+
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(digest);
+
+      if (entry != null && entry.expiresAt() <= System.currentTimeMillis()) {
+        entries.remove(digest);
+        expirations.incrementAndGet();
+        entry = null;
+      }
+    }
+
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+
+    hits.incrementAndGet();
+    return entry.decodedJWT();
+  }
+
+  public void put(String token, DecodedJWT decodedJWT) {
+    if (!enabled) {
+      return;
+    }
+
+    long expiresAt = System.currentTimeMillis() + timeToLive;
+
+    Date tokenExpiresAt = decodedJWT.getExpiresAt();
+    if (tokenExpiresAt != null) {
+      expiresAt = Math.min(expiresAt, tokenExpiresAt.getTime());
+    }
+
+    Entry entry = new Entry(decodedJWT, expiresAt);
+    Digest digest = Digest.of(token);
+
+    synchronized (entries) {
+      entries.put(digest, entry);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  public long getExpirations() {
+    return expirations.get();
+  }
+
+  private record Entry(DecodedJWT decodedJWT, long expiresAt) {
+  }
+
+  private record Digest(long a, long b, long c, long d) {
+    static Digest of(String token) {
+      ByteBuffer buffer = ByteBuffer.wrap(DigestUtils.sha256(token.getBytes(StandardCharsets.UTF_8)));
+      return new Digest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package site.neurotriumph.www.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import site.neurotriumph.www.component.BoundedExecutor;
+
+/*
+ * Pools used by the asynchronous endpoints. Database access and password
+ * hashing run on separate pools, so a slow stage only queues up work of
+ * its own kind; mail goes through the outbox (see MailDispatcher).
+ * Confirmations accepted by the "/async" confirm endpoints have a pool
+ * of their own, so a burst of account deletions cannot hold up logins.
+ * */
+@Configuration
+public class AsyncExecutorConfig {
+  @Bean
+  public BoundedExecutor databaseExecutor(@Value("${app.async.database.threads:16}") int threads,
+                                          @Value("${app.async.database.queue-capacity:256}") int queueCapacity) {
+    return new BoundedExecutor("database", threads, queueCapacity);
+  }
+
+  @Bean
+  public BoundedExecutor confirmationExecutor(@Value("${app.async.confirmation.threads:4}") int threads,
+                                              @Value("${app.async.confirmation.queue-capacity:1024}") int queueCapacity) {
+    return new BoundedExecutor("confirmation", threads, queueCapacity);
+  }
+}
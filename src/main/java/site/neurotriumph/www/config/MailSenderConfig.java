@@ -0,0 +1,51 @@
+package site.neurotriumph.www.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import site.neurotriumph.www.component.PooledJavaMailSender;
+
+import java.util.Properties;
+
+/*
+ * Replaces the auto-configured JavaMailSender with one that reuses SMTP
+ * connections (see PooledJavaMailSender). It is built from the same
+ * spring.mail.* properties.
+ * */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailSenderConfig {
+  @Bean
+  public PooledJavaMailSender pooledJavaMailSender(
+    MailProperties mailProperties,
+    @Value("${app.mail.pool.max-idle-connections:2}") int maxIdleConnections,
+    @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+    @Value("${app.mail.pool.idle-timeout:30000}") long idleTimeout) {
+    PooledJavaMailSender sender = new PooledJavaMailSender(maxIdleConnections, maxMessagesPerConnection,
+      idleTimeout);
+
+    sender.setHost(mailProperties.getHost());
+
+    if (mailProperties.getPort() != null) {
+      sender.setPort(mailProperties.getPort());
+    }
+
+    sender.setUsername(mailProperties.getUsername());
+    sender.setPassword(mailProperties.getPassword());
+    sender.setProtocol(mailProperties.getProtocol());
+
+    if (mailProperties.getDefaultEncoding() != null) {
+      sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+    }
+
+    if (!mailProperties.getProperties().isEmpty()) {
+      Properties properties = new Properties();
+      properties.putAll(mailProperties.getProperties());
+      sender.setJavaMailProperties(properties);
+    }
+
+    return sender;
+  }
+}
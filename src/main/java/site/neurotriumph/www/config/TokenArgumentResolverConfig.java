@@ -0,0 +1,82 @@
+package site.neurotriumph.www.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestResponseBodyMethodProcessor;
+import site.neurotriumph.www.component.FastAuthTokenVerifier;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.component.VerifiedTokenCache;
+import site.neurotriumph.www.repository.UserRepository;
+import site.neurotriumph.www.resolver.AuthTokenPayloadArgumentResolver;
+import site.neurotriumph.www.resolver.ConfirmationRequestBodyArgumentResolver;
+import site.neurotriumph.www.resolver.ConfirmationTokenPayloadArgumentResolver;
+import site.neurotriumph.www.resolver.TokenHandlerMethods;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/*
+ * Installs the token argument resolvers in front of the default ones.
+ * They have to come first, because the default @RequestBody processor
+ * would otherwise claim the ConfirmationRequestBody parameter.
+ * */
+@Configuration
+public class TokenArgumentResolverConfig implements InitializingBean {
+  @Autowired
+  private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+  @Autowired
+  @Qualifier("requestMappingHandlerMapping")
+  private RequestMappingHandlerMapping requestMappingHandlerMapping;
+
+  @Autowired
+  private TokenVerifierRegistry tokenVerifierRegistry;
+
+  @Autowired
+  private FastAuthTokenVerifier fastAuthTokenVerifier;
+
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
+
+  @Autowired
+  private TokenRevocationList tokenRevocationList;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Override
+  public void afterPropertiesSet() {
+    List<HandlerMethodArgumentResolver> defaultResolvers = requireNonNull(
+      requestMappingHandlerAdapter.getArgumentResolvers());
+
+    HandlerMethodArgumentResolver requestBodyResolver = defaultResolvers.stream()
+      .filter(r -> r instanceof RequestResponseBodyMethodProcessor)
+      .findFirst()
+      .orElseThrow();
+
+    TokenHandlerMethods tokenHandlerMethods = new TokenHandlerMethods(
+      requestMappingHandlerMapping.getHandlerMethods().values());
+
+    List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+    resolvers.add(new AuthTokenPayloadArgumentResolver(tokenVerifierRegistry, fastAuthTokenVerifier,
+      verifiedTokenCache, tokenEpochTable, tokenRevocationList, userRepository));
+    resolvers.add(new ConfirmationRequestBodyArgumentResolver(requestBodyResolver, tokenHandlerMethods,
+      tokenVerifierRegistry));
+    resolvers.add(new ConfirmationTokenPayloadArgumentResolver());
+    resolvers.addAll(defaultResolvers);
+
+    requestMappingHandlerAdapter.setArgumentResolvers(resolvers);
+  }
+}
@@ -0,0 +1,21 @@
+package site.neurotriumph.www.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/*
+ * Only the first constraint violation is ever reported to the client,
+ * so Hibernate Validator is told to stop there instead of evaluating
+ * every remaining constraint of the request body.
+ * */
+@Configuration
+public class ValidationConfig {
+  @Bean
+  public LocalValidatorFactoryBean validator() {
+    LocalValidatorFactoryBean localValidatorFactoryBean = new LocalValidatorFactoryBean();
+    localValidatorFactoryBean.getValidationPropertyMap().put("hibernate.validator.fail_fast", "true");
+
+    return localValidatorFactoryBean;
+  }
+}
@@ -4,7 +4,23 @@ import java.util.concurrent.TimeUnit;
 
 public interface Const {
   int MIN_PASSWORD_LENGTH = 6;
+  int MAX_PASSWORD_LENGTH = 128;
+  /*
+   * Passwords set before MAX_PASSWORD_LENGTH existed may be longer, so
+   * the current password only bounds the size of the request body.
+   * */
+  int MAX_CURRENT_PASSWORD_LENGTH = 4096;
+  int MAX_EMAIL_LENGTH = 320;
+  int MAX_TOKEN_LENGTH = 2048;
+  int MAX_NN_NAME_LENGTH = 255;
+  int MAX_NN_API_ROOT_LENGTH = 2048;
+  int MAX_NN_API_SECRET_LENGTH = 255;
   int NEURAL_NETWORKS_PAGE_SIZE = 18;
   long CONFIRMATION_TOKEN_LIFETIME = TimeUnit.MINUTES.toMillis(15);
   long AUTH_TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(15);
+  /*
+   * Version 2 tokens carry the confirmation status and the token epoch
+   * of the user. Tokens without a version are treated as version 1.
+   * */
+  int AUTH_TOKEN_VERSION = 2;
 }
@@ -5,4 +5,10 @@ public interface Field {
   String EXPIRATION_TIME = "exp";
   String NEW_PASSWORD_HASH = "nph";
   String NEW_EMAIL = "nel";
+  String TOKEN_VERSION = "ver";
+  String CONFIRMED = "cfd";
+  String TOKEN_EPOCH = "epc";
+  String TOKEN_ID = "jti";
+  String AFTER_ID = "aft";
+  String OWNER_ID = "own";
 }
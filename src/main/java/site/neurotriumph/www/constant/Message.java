@@ -27,4 +27,20 @@ public interface Message {
   String NN_DOES_NOT_EXIST = "neural network does not exist";
   String INVALID_ID = "invalid id";
   String ID_CANNOT_BE_BLANK = "id cannot be blank";
+  String AUTH_TOKEN_REVOKED = "authentication token revoked";
+  String SERVER_IS_BUSY = "server is busy, try again later";
+  String PASSWORD_IS_TOO_LONG = "password is too long (maximum " + Const.MAX_PASSWORD_LENGTH + " characters)";
+  String EMAIL_IS_TOO_LONG = "email is too long (maximum " + Const.MAX_EMAIL_LENGTH + " characters)";
+  String TOKEN_IS_TOO_LONG = "token is too long (maximum " + Const.MAX_TOKEN_LENGTH + " characters)";
+  String NN_NAME_IS_TOO_LONG =
+    "neural network name is too long (maximum " + Const.MAX_NN_NAME_LENGTH + " characters)";
+  String NN_API_ROOT_IS_TOO_LONG =
+    "neural network api root is too long (maximum " + Const.MAX_NN_API_ROOT_LENGTH + " characters)";
+  String NN_API_SECRET_IS_TOO_LONG =
+    "neural network api secret is too long (maximum " + Const.MAX_NN_API_SECRET_LENGTH + " characters)";
+  String REQUEST_BODY_IS_TOO_LARGE = "request body is too large";
+  String OPERATION_DOES_NOT_EXIST = "operation does not exist";
+  String OPERATION_FAILED = "operation failed";
+  String INVALID_CURSOR = "invalid cursor";
+  String INVALID_REQUEST_BODY = "invalid request body";
 }
@@ -0,0 +1,7 @@
+package site.neurotriumph.www.constant;
+
+public enum OperationStatus {
+  PENDING,
+  DONE,
+  FAILED
+}
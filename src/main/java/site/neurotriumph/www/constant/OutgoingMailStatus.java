@@ -0,0 +1,6 @@
+package site.neurotriumph.www.constant;
+
+public enum OutgoingMailStatus {
+  PENDING,
+  DEAD
+}
@@ -2,6 +2,11 @@ package site.neurotriumph.www.constant;
 
 public interface Regex {
   String JWT_TOKEN = "^[A-Za-z0-9-_=]+\\.[A-Za-z0-9-_=]+\\.?[A-Za-z0-9-_.+/=]*$";
+  /*
+   * NN_NAME and URL backtrack badly on long invalid input and are only
+   * kept as the reference for NeuralNetworkNameValidator and
+   * NeuralNetworkApiRootValidator. Do not use them with @Pattern.
+   * */
   String NN_NAME = "^[^0-9][A-Za-z0-9]+([A-Za-z0-9]*|[._-]?[A-Za-z0-9]+)*$";
   String URL = "^((([A-Za-z]{3,9}:(?:\\/\\/)?)(?:[-;:&=\\+\\$,\\w]+@)?[A-Za-z0-9.-]+" +
     "(:[0-9]+)?|(?:www.|[-;:&=\\+\\$,\\w]+@)[A-Za-z0-9.-]+)((?:\\/[\\+~%\\/.\\w\\-_]*)?" +
@@ -0,0 +1,6 @@
+package site.neurotriumph.www.constant;
+
+public interface RequestAttribute {
+  String CONFIRMATION_TOKEN_PAYLOAD = "site.neurotriumph.www.confirmationTokenPayload";
+  String TRUSTED_USER_ID = "site.neurotriumph.www.trustedUserId";
+}
@@ -5,5 +5,6 @@ public enum TokenMarker {
   PASSWORD_UPDATE_CONFIRMATION,
   EMAIL_UPDATE_CONFIRMATION,
   USER_DELETE_CONFIRMATION,
-  REGISTRATION_CONFIRMATION
+  REGISTRATION_CONFIRMATION,
+  NEURAL_NETWORK_CURSOR
 }
@@ -2,22 +2,28 @@ package site.neurotriumph.www.controller;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import site.neurotriumph.www.annotation.AuthTokenPayload;
 import site.neurotriumph.www.annotation.ConfirmationTokenPayload;
+import site.neurotriumph.www.annotation.WithAuthToken;
 import site.neurotriumph.www.annotation.WithConfirmationToken;
+import site.neurotriumph.www.component.ConfirmationOperations;
 import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.pojo.ConfirmationRequestBody;
 import site.neurotriumph.www.pojo.LoginRequestBody;
 import site.neurotriumph.www.pojo.LoginResponseBody;
+import site.neurotriumph.www.pojo.OperationResponseBody;
 import site.neurotriumph.www.pojo.RegisterRequestBody;
 import site.neurotriumph.www.service.AuthService;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @Validated
@@ -25,11 +31,25 @@ public class AuthController {
   @Autowired
   private AuthService authService;
 
+  @Autowired
+  private ConfirmationOperations confirmationOperations;
+
   @PostMapping("/login")
   public LoginResponseBody login(@Valid @RequestBody LoginRequestBody loginRequestBody) {
     return authService.login(loginRequestBody);
   }
 
+  @PostMapping("/login/async")
+  public CompletableFuture<LoginResponseBody> loginAsync(@Valid @RequestBody LoginRequestBody loginRequestBody) {
+    return authService.loginAsync(loginRequestBody);
+  }
+
+  @PostMapping("/logout")
+  @WithAuthToken
+  public void logout(@AuthTokenPayload DecodedJWT authTokenPayload) {
+    authService.logout(authTokenPayload);
+  }
+
   @PutMapping("/register/confirm")
   @WithConfirmationToken(TokenMarker.REGISTRATION_CONFIRMATION)
   public void confirmRegistration(@Valid @RequestBody ConfirmationRequestBody confirmationRequestBody,
@@ -37,8 +57,24 @@ public class AuthController {
     authService.confirmRegistration(confirmationTokenPayload.getClaim(Field.USER_ID).asLong());
   }
 
+  @PutMapping("/register/confirm/async")
+  @WithConfirmationToken(TokenMarker.REGISTRATION_CONFIRMATION)
+  public ResponseEntity<OperationResponseBody> confirmRegistrationAsync(
+    @Valid @RequestBody ConfirmationRequestBody confirmationRequestBody,
+    @ConfirmationTokenPayload DecodedJWT confirmationTokenPayload) {
+    Long userId = confirmationTokenPayload.getClaim(Field.USER_ID).asLong();
+
+    return OperationController.accepted(confirmationOperations.submit(TokenMarker.REGISTRATION_CONFIRMATION,
+      confirmationRequestBody.getToken(), () -> authService.confirmRegistration(userId)));
+  }
+
   @PostMapping("/register")
   public void register(@Valid @RequestBody RegisterRequestBody registerRequestBody) {
     authService.register(registerRequestBody);
   }
+
+  @PostMapping("/register/async")
+  public CompletableFuture<Void> registerAsync(@Valid @RequestBody RegisterRequestBody registerRequestBody) {
+    return authService.registerAsync(registerRequestBody);
+  }
 }
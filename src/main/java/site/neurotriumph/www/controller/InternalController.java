@@ -0,0 +1,152 @@
+package site.neurotriumph.www.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import site.neurotriumph.www.component.ConfirmedUserCache;
+import site.neurotriumph.www.component.LatencyHistogram;
+import site.neurotriumph.www.component.MailCoalescingWindow;
+import site.neurotriumph.www.component.MailDispatcher;
+import site.neurotriumph.www.component.MailTelemetry;
+import site.neurotriumph.www.component.PooledJavaMailSender;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.component.VerifiedTokenCache;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.pojo.CacheStatsResponseBody;
+import site.neurotriumph.www.pojo.LatencyStatsResponseBody;
+import site.neurotriumph.www.pojo.MailFlowStatsResponseBody;
+import site.neurotriumph.www.pojo.MailStatsResponseBody;
+import site.neurotriumph.www.pojo.RevocationListStatsResponseBody;
+import site.neurotriumph.www.repository.OutgoingMailRepository;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Operational statistics. Only registered when app.internal.enabled=true,
+ * so the endpoints are never exposed by default.
+ * */
+@RestController
+@ConditionalOnProperty(name = "app.internal.enabled", havingValue = "true")
+public class InternalController {
+  private final String baseUrl = "/internal/stats";
+
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  private ConfirmedUserCache confirmedUserCache;
+
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
+
+  @Autowired
+  private TokenRevocationList tokenRevocationList;
+
+  @Autowired
+  private MailDispatcher mailDispatcher;
+
+  @Autowired
+  private MailCoalescingWindow mailCoalescingWindow;
+
+  @Autowired
+  private MailTelemetry mailTelemetry;
+
+  @Autowired
+  private PooledJavaMailSender pooledJavaMailSender;
+
+  @Autowired
+  private OutgoingMailRepository outgoingMailRepository;
+
+  @GetMapping(baseUrl + "/auth_token_cache")
+  public CacheStatsResponseBody getAuthTokenCacheStats() {
+    return new CacheStatsResponseBody(
+      verifiedTokenCache.isEnabled(),
+      verifiedTokenCache.size(),
+      verifiedTokenCache.getHits(),
+      verifiedTokenCache.getMisses(),
+      verifiedTokenCache.getEvictions(),
+      verifiedTokenCache.getExpirations(),
+      0);
+  }
+
+  @GetMapping(baseUrl + "/confirmed_user_cache")
+  public CacheStatsResponseBody getConfirmedUserCacheStats() {
+    return new CacheStatsResponseBody(
+      confirmedUserCache.isEnabled(),
+      confirmedUserCache.size(),
+      confirmedUserCache.getHits(),
+      confirmedUserCache.getMisses(),
+      confirmedUserCache.getEvictions(),
+      0,
+      confirmedUserCache.getInvalidations());
+  }
+
+  @GetMapping(baseUrl + "/token_epoch_table")
+  public CacheStatsResponseBody getTokenEpochTableStats() {
+    return new CacheStatsResponseBody(
+      true,
+      tokenEpochTable.size(),
+      tokenEpochTable.getHits(),
+      tokenEpochTable.getMisses(),
+      tokenEpochTable.getEvictions(),
+      0,
+      tokenEpochTable.getInvalidations());
+  }
+
+  @GetMapping(baseUrl + "/token_revocation_list")
+  public RevocationListStatsResponseBody getTokenRevocationListStats() {
+    return new RevocationListStatsResponseBody(
+      tokenRevocationList.getFilterBits(),
+      tokenRevocationList.getRevocations(),
+      tokenRevocationList.getFilterMisses(),
+      tokenRevocationList.getFilterMatches(),
+      tokenRevocationList.getFalsePositives(),
+      tokenRevocationList.getPurged());
+  }
+
+  @GetMapping(baseUrl + "/mail")
+  public MailStatsResponseBody getMailStats() {
+    Map<String, MailFlowStatsResponseBody> flows = new TreeMap<>();
+    mailTelemetry.getFlows().forEach((name, flow) -> flows.put(name, new MailFlowStatsResponseBody(
+      toLatencyStats(flow.getQueueingLatency()),
+      toLatencyStats(flow.getDeliveryDelay()),
+      flow.getDeliveryFailures())));
+
+    return new MailStatsResponseBody(
+      outgoingMailRepository.countByStatus(OutgoingMailStatus.PENDING),
+      outgoingMailRepository.countByStatus(OutgoingMailStatus.DEAD),
+      mailTelemetry.getQueueingInFlight(),
+      mailTelemetry.getDeliveryInFlight(),
+      mailDispatcher.getSent(),
+      mailDispatcher.getFailedAttempts(),
+      mailDispatcher.getDeadLettered(),
+      mailCoalescingWindow.getSuperseded(),
+      mailCoalescingWindow.getDeferred(),
+      pooledJavaMailSender.getConnectionsOpened(),
+      pooledJavaMailSender.getConnectionsReused(),
+      toLatencyStats(mailTelemetry.getSmtpLatency()),
+      flows,
+      toCounts(mailTelemetry.getQueueingFailures()),
+      toCounts(mailTelemetry.getDeliveryFailures()));
+  }
+
+  private static LatencyStatsResponseBody toLatencyStats(LatencyHistogram latencyHistogram) {
+    return new LatencyStatsResponseBody(
+      latencyHistogram.getCount(),
+      latencyHistogram.getMeanMicros(),
+      latencyHistogram.getPercentileMicros(0.5),
+      latencyHistogram.getPercentileMicros(0.9),
+      latencyHistogram.getPercentileMicros(0.99),
+      latencyHistogram.getMaxMicros());
+  }
+
+  private static Map<String, Long> toCounts(Map<String, AtomicLong> counters) {
+    Map<String, Long> counts = new TreeMap<>();
+    counters.forEach((name, counter) -> counts.put(name, counter.get()));
+    return counts;
+  }
+}
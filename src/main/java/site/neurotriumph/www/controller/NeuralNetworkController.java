@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import site.neurotriumph.www.annotation.AuthTokenPayload;
 import site.neurotriumph.www.annotation.WithAuthToken;
@@ -18,6 +19,7 @@ import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.Regex;
 import site.neurotriumph.www.pojo.CreateNeuralNetworkRequestBody;
 import site.neurotriumph.www.pojo.CreateNeuralNetworkResponseBody;
+import site.neurotriumph.www.pojo.CursorPageResponseBody;
 import site.neurotriumph.www.pojo.DeleteNeuralNetworkRequestBody;
 import site.neurotriumph.www.pojo.GetNeuralNetworkResponseBody;
 import site.neurotriumph.www.pojo.GetNeuralNetworksResponseBodyItem;
@@ -39,6 +41,16 @@ public class NeuralNetworkController {
     return neuralNetworkService.getAll(page);
   }
 
+  /*
+   * Keyset-paginated variant of getAll: every page costs the same, however
+   * deep it is. Without a cursor the first page is returned.
+   * */
+  @GetMapping("/nn/cursor")
+  public CursorPageResponseBody<GetNeuralNetworksResponseBodyItem> getAllAfter(
+    @RequestParam(required = false) String cursor) {
+    return neuralNetworkService.getAllAfter(cursor);
+  }
+
   @GetMapping("/user/nn/all/{page:" + Regex.POSITIVE_INTEGER_NUMBER + "}")
   @WithAuthToken
   public List<GetUserNeuralNetworksResponseBodyItem> getAllByUser(@AuthTokenPayload DecodedJWT authTokenPayload,
@@ -47,6 +59,14 @@ public class NeuralNetworkController {
       page);
   }
 
+  @GetMapping("/user/nn/all/cursor")
+  @WithAuthToken
+  public CursorPageResponseBody<GetUserNeuralNetworksResponseBodyItem> getAllByUserAfter(
+    @AuthTokenPayload DecodedJWT authTokenPayload, @RequestParam(required = false) String cursor) {
+    return neuralNetworkService.getAllByUserAfter(authTokenPayload.getClaim(Field.USER_ID).asLong(),
+      cursor);
+  }
+
   @DeleteMapping("/nn")
   @WithAuthToken
   public void delete(@AuthTokenPayload DecodedJWT authTokenPayload,
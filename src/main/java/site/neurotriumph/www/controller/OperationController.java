@@ -0,0 +1,34 @@
+package site.neurotriumph.www.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import site.neurotriumph.www.component.ConfirmationOperations;
+import site.neurotriumph.www.pojo.OperationResponseBody;
+
+import java.net.URI;
+
+@RestController
+public class OperationController {
+  private static final String BASE_URL = "/operation";
+
+  @Autowired
+  private ConfirmationOperations confirmationOperations;
+
+  /*
+   * 202 pointing at the status of an operation accepted by one of the
+   * "/async" confirm endpoints.
+   * */
+  static ResponseEntity<OperationResponseBody> accepted(OperationResponseBody operationResponseBody) {
+    return ResponseEntity.accepted()
+      .location(URI.create(BASE_URL + "/" + operationResponseBody.getId()))
+      .body(operationResponseBody);
+  }
+
+  @GetMapping(BASE_URL + "/{id}")
+  public OperationResponseBody getOperation(@PathVariable String id) {
+    return confirmationOperations.getStatus(id);
+  }
+}
@@ -2,6 +2,7 @@ package site.neurotriumph.www.controller;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +13,13 @@ import site.neurotriumph.www.annotation.AuthTokenPayload;
 import site.neurotriumph.www.annotation.ConfirmationTokenPayload;
 import site.neurotriumph.www.annotation.WithAuthToken;
 import site.neurotriumph.www.annotation.WithConfirmationToken;
+import site.neurotriumph.www.component.ConfirmationOperations;
 import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.pojo.ConfirmationRequestBody;
 import site.neurotriumph.www.pojo.DeleteUserRequestBody;
 import site.neurotriumph.www.pojo.GetUserResponseBody;
+import site.neurotriumph.www.pojo.OperationResponseBody;
 import site.neurotriumph.www.pojo.UpdateEmailRequestBody;
 import site.neurotriumph.www.pojo.UpdatePasswordRequestBody;
 import site.neurotriumph.www.service.UserService;
@@ -31,6 +34,9 @@ public class UserController {
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private ConfirmationOperations confirmationOperations;
+
   @PutMapping(baseUrl + "/delete/confirm")
   @WithAuthToken
   @WithConfirmationToken(TokenMarker.USER_DELETE_CONFIRMATION)
@@ -39,6 +45,18 @@ public class UserController {
     userService.confirmUserDeletion(authTokenPayload.getClaim(Field.USER_ID).asLong());
   }
 
+  @PutMapping(baseUrl + "/delete/confirm/async")
+  @WithAuthToken
+  @WithConfirmationToken(TokenMarker.USER_DELETE_CONFIRMATION)
+  public ResponseEntity<OperationResponseBody> confirmUserDeletionAsync(
+    @AuthTokenPayload DecodedJWT authTokenPayload,
+    @Valid @RequestBody ConfirmationRequestBody confirmationRequestBody) {
+    Long userId = authTokenPayload.getClaim(Field.USER_ID).asLong();
+
+    return OperationController.accepted(confirmationOperations.submit(TokenMarker.USER_DELETE_CONFIRMATION,
+      confirmationRequestBody.getToken(), () -> userService.confirmUserDeletion(userId)));
+  }
+
   @DeleteMapping(baseUrl)
   @WithAuthToken
   public void deleteUser(@AuthTokenPayload DecodedJWT authTokenPayload,
@@ -57,6 +75,20 @@ public class UserController {
       confirmationTokenPayload.getClaim(Field.NEW_EMAIL).asString());
   }
 
+  @PutMapping(baseUrl + "/email/confirm/async")
+  @WithAuthToken
+  @WithConfirmationToken(TokenMarker.EMAIL_UPDATE_CONFIRMATION)
+  public ResponseEntity<OperationResponseBody> confirmEmailUpdateAsync(
+    @AuthTokenPayload DecodedJWT authTokenPayload,
+    @Valid @RequestBody ConfirmationRequestBody confirmationRequestBody,
+    @ConfirmationTokenPayload DecodedJWT confirmationTokenPayload) {
+    Long userId = authTokenPayload.getClaim(Field.USER_ID).asLong();
+    String newEmail = confirmationTokenPayload.getClaim(Field.NEW_EMAIL).asString();
+
+    return OperationController.accepted(confirmationOperations.submit(TokenMarker.EMAIL_UPDATE_CONFIRMATION,
+      confirmationRequestBody.getToken(), () -> userService.confirmEmailUpdate(userId, newEmail)));
+  }
+
   @PutMapping(baseUrl + "/email")
   @WithAuthToken
   public void updateEmail(@AuthTokenPayload DecodedJWT authTokenPayload,
@@ -75,6 +107,20 @@ public class UserController {
       confirmationTokenPayload.getClaim(Field.NEW_PASSWORD_HASH).asString());
   }
 
+  @PutMapping(baseUrl + "/password/confirm/async")
+  @WithAuthToken
+  @WithConfirmationToken(TokenMarker.PASSWORD_UPDATE_CONFIRMATION)
+  public ResponseEntity<OperationResponseBody> confirmPasswordUpdateAsync(
+    @AuthTokenPayload DecodedJWT authTokenPayload,
+    @Valid @RequestBody ConfirmationRequestBody confirmationRequestBody,
+    @ConfirmationTokenPayload DecodedJWT confirmationTokenPayload) {
+    Long userId = authTokenPayload.getClaim(Field.USER_ID).asLong();
+    String newPasswordHash = confirmationTokenPayload.getClaim(Field.NEW_PASSWORD_HASH).asString();
+
+    return OperationController.accepted(confirmationOperations.submit(TokenMarker.PASSWORD_UPDATE_CONFIRMATION,
+      confirmationRequestBody.getToken(), () -> userService.confirmPasswordUpdate(userId, newPasswordHash)));
+  }
+
   @PutMapping(baseUrl + "/password")
   @WithAuthToken
   public void updatePassword(@AuthTokenPayload DecodedJWT authTokenPayload,
@@ -5,21 +5,53 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity(name = "neural_network")
+@Table(uniqueConstraints = {
+  @UniqueConstraint(name = NeuralNetwork.OWNER_ID_NAME_CONSTRAINT, columnNames = {"owner_id", "name"}),
+  @UniqueConstraint(name = NeuralNetwork.OWNER_ID_API_ROOT_HASH_CONSTRAINT,
+    columnNames = {"owner_id", "api_root_hash"})
+}, indexes = {
+  @Index(name = "neural_network_active_id", columnList = "active, id"),
+  @Index(name = "neural_network_owner_id_id", columnList = "owner_id, id")
+})
 @Getter
 @Setter
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
 public class NeuralNetwork {
+  public static final String OWNER_ID_NAME_CONSTRAINT = "neural_network_owner_id_name";
+  public static final String OWNER_ID_API_ROOT_HASH_CONSTRAINT = "neural_network_owner_id_api_root_hash";
+
+  /*
+   * Ids are taken from neural_network_id_seq in blocks of 50 held in
+   * memory, so inserting neural networks does not need a round trip per
+   * row to learn the id and Hibernate can send the inserts as JDBC
+   * batches (see hibernate.jdbc.batch_size in README.md). With pooled-lo
+   * the value of the sequence is the first id of the next block.
+   * */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "neural_network_id")
+  @GenericGenerator(name = "neural_network_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+    parameters = {
+      @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "neural_network_id_seq"),
+      @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+      @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
   private Long id;
 
   @Column(nullable = false)
@@ -31,6 +63,15 @@ public class NeuralNetwork {
   @Column(length = 2048, nullable = false)
   private String api_root;
 
+  /*
+   * SHA-256 of api_root. A 2048 character column is too long for a
+   * unique index, so the uniqueness of api_root per owner is enforced
+   * on its digest. It is kept up to date by setApi_root.
+   * */
+  @Setter(AccessLevel.NONE)
+  @Column(columnDefinition = "BINARY(32)", nullable = false)
+  private byte[] api_root_hash;
+
   @Column(nullable = false)
   private String api_secret;
 
@@ -49,7 +90,16 @@ public class NeuralNetwork {
   public NeuralNetwork(Long owner_id, String name, String api_root, String api_secret) {
     this.owner_id = owner_id;
     this.name = name;
-    this.api_root = api_root;
     this.api_secret = api_secret;
+    setApi_root(api_root);
+  }
+
+  public static byte[] hashApiRoot(String api_root) {
+    return DigestUtils.sha256(api_root);
+  }
+
+  public void setApi_root(String api_root) {
+    this.api_root = api_root;
+    this.api_root_hash = hashApiRoot(api_root);
   }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package site.neurotriumph.www.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/*
+ * A mail waiting in the outbox. Rows are deleted once the mail has been
+ * handed to the SMTP server; rows that ran out of attempts stay behind
+ * as DEAD for inspection.
+ * */
+@Entity(name = "outgoing_mail")
+@Table(indexes = @Index(columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class OutgoingMail {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(length = 320, nullable = false)
+  private String recipient;
+
+  @Column(nullable = false)
+  private String subject;
+
+  /*
+   * Plain text, or the token to fill in when template is set.
+   * */
+  @Column(columnDefinition = "TEXT", nullable = false)
+  private String body;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 32)
+  private TokenMarker template;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  private OutgoingMailStatus status = OutgoingMailStatus.PENDING;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  /*
+   * Milliseconds since the epoch. While a dispatcher is sending the mail
+   * it holds a lease by pushing this into the future.
+   * */
+  @Column(nullable = false)
+  private long next_attempt_at;
+
+  @Column(nullable = false)
+  private long created_at;
+
+  @Column(length = 1024)
+  private String last_error;
+
+  public OutgoingMail(String recipient, String subject, String body, long now) {
+    this.recipient = recipient;
+    this.subject = subject;
+    this.body = body;
+    this.next_attempt_at = now;
+    this.created_at = now;
+  }
+
+  public OutgoingMail(String recipient, String subject, TokenMarker template, String token, long now) {
+    this(recipient, subject, token, now);
+    this.template = template;
+  }
+}
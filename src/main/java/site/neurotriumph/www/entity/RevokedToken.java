@@ -0,0 +1,46 @@
+package site.neurotriumph.www.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+@Entity(name = "revoked_token")
+@Table(indexes = {
+  @Index(columnList = "expires_at"),
+  @Index(columnList = "revoked_at")
+})
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedToken {
+  /*
+   * See TokenRevocationList.idOf.
+   * */
+  @Id
+  @Column(length = 64)
+  private String id;
+
+  /*
+   * The "exp" claim of the revoked token, in seconds. The row is
+   * useless after that moment and gets purged.
+   * */
+  @Column(nullable = false)
+  private long expires_at;
+
+  /*
+   * When the token was revoked, in milliseconds. Other instances pick up
+   * the revocations since their last sync by it (see TokenRevocationList).
+   * */
+  @Column(nullable = false)
+  private long revoked_at;
+}
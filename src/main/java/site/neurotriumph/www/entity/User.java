@@ -1,6 +1,9 @@
 package site.neurotriumph.www.entity;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 
@@ -11,21 +14,44 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
+  /*
+   * Same allocation as NeuralNetwork.id, from user_id_seq.
+   * */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id")
+  @GenericGenerator(name = "user_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+    parameters = {
+      @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_id_seq"),
+      @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+      @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
   private Long id;
 
   @Column(length = 320, nullable = false, unique = true)
   private String email;
 
-  @Column(length = 64, nullable = false)
+  @Column(length = 255, nullable = false)
   private String password_hash;
 
   @Column(columnDefinition = "TINYINT(1) DEFAULT 0", nullable = false)
   private boolean confirmed;
 
+  /*
+   * Advanced whenever existing authentication tokens of the user
+   * must stop being trusted (see TokenEpochTable).
+   * */
+  @Column(columnDefinition = "INT(11) DEFAULT 0", nullable = false)
+  private int token_epoch;
+
   public User(String email, String password_hash) {
     this.email = email;
     this.password_hash = password_hash;
   }
+
+  public User(Long id, String email, String password_hash, boolean confirmed) {
+    this.id = id;
+    this.email = email;
+    this.password_hash = password_hash;
+    this.confirmed = confirmed;
+  }
 }
@@ -0,0 +1,92 @@
+package site.neurotriumph.www.exception;
+
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * A business rejection such as a wrong password or a missing user. There
+ * is exactly one instance per Message constant, created when the class
+ * is loaded, and it carries no stack trace: rejecting a request costs a
+ * map lookup instead of capturing the stack of the request thread, which
+ * matters when /login is hammered with wrong credentials.
+ *
+ * Because the instances are shared, they are created with suppression
+ * and a writable stack trace disabled: addSuppressed (e.g. from a
+ * try-with-resources whose close() fails while one is in flight) and
+ * setStackTrace are no-ops instead of changing every later rejection.
+ * That constructor only exists from RuntimeException up, hence the
+ * superclass.
+ * */
+public final class DomainException extends RuntimeException {
+  private static final Map<String, DomainException> INSTANCES = new HashMap<>();
+
+  static {
+    for (Field field : Message.class.getFields()) {
+      if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+        try {
+          String message = (String) field.get(null);
+          INSTANCES.put(message, new DomainException(message, field.getName().toLowerCase(Locale.ROOT)));
+        } catch (IllegalAccessException e) {
+          throw new ExceptionInInitializerError(e);
+        }
+      }
+    }
+  }
+
+  private final String code;
+  private final ErrorResponseBody responseBody;
+
+  private DomainException(String message, String code) {
+    super(message, null, false, false);
+    this.code = code;
+    this.responseBody = new ErrorResponseBody(message, code);
+  }
+
+  /*
+   * Returns the shared instance for a Message constant.
+   * */
+  public static DomainException of(String message) {
+    DomainException domainException = INSTANCES.get(message);
+
+    if (domainException == null) {
+      throw new IllegalArgumentException("not a Message constant: " + message);
+    }
+
+    return domainException;
+  }
+
+  /*
+   * Stable, machine-readable code of a Message constant, e.g.
+   * "wrong_password", or null for any other text.
+   * */
+  public static String codeOf(String message) {
+    DomainException domainException = message == null ? null : INSTANCES.get(message);
+    return domainException == null ? null : domainException.code;
+  }
+
+  /*
+   * All instances, one per Message constant.
+   * */
+  public static Collection<DomainException> values() {
+    return Collections.unmodifiableCollection(INSTANCES.values());
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  /*
+   * Shared as well, ErrorResponseBody is immutable.
+   * */
+  public ErrorResponseBody getResponseBody() {
+    return responseBody;
+  }
+}
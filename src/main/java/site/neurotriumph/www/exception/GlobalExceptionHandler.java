@@ -1,21 +1,31 @@
 package site.neurotriumph.www.exception;
 
-import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
-import site.neurotriumph.www.pojo.ErrorResponseBody;
+import site.neurotriumph.www.component.ErrorResponseCache;
+import site.neurotriumph.www.constant.Message;
 
 import javax.validation.ConstraintViolationException;
-import java.util.List;
 
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+  @Autowired
+  private ErrorResponseCache errorResponseCache;
+
+  /*
+   * Validation stops at the first violation (see ValidationConfig), so
+   * the first error is the only one. It is a global error when the
+   * constraint is declared on the class instead of a field.
+   * */
   @Override
   protected ResponseEntity<Object> handleMethodArgumentNotValid(
     MethodArgumentNotValidException ex,
@@ -23,12 +33,47 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     HttpStatus status,
     WebRequest request) {
 
-    List<String> errors = ex.getBindingResult()
-      .getFieldErrors()
-      .stream()
-      .map(DefaultMessageSourceResolvable::getDefaultMessage).toList();
+    ObjectError error = ex.getBindingResult().getFieldError();
+
+    if (error == null) {
+      error = ex.getBindingResult().getGlobalError();
+    }
+
+    return errorResponseCache.badRequest(error == null || error.getDefaultMessage() == null
+      ? Message.INVALID_REQUEST_BODY
+      : error.getDefaultMessage());
+  }
+
+  /*
+   * A request body rejected by RequestBodyLimitingInputStream while
+   * Jackson was reading it may reach here wrapped by Jackson.
+   * */
+  @Override
+  protected ResponseEntity<Object> handleHttpMessageNotReadable(
+    HttpMessageNotReadableException ex,
+    HttpHeaders headers,
+    HttpStatus status,
+    WebRequest request) {
+
+    for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof DomainException domainException) {
+        return domainException(domainException);
+      }
+
+      if (cause instanceof RequestBodyTooLargeException requestBodyTooLargeException) {
+        return requestBodyTooLargeException(requestBodyTooLargeException);
+      }
+    }
 
-    return new ResponseEntity<>(new ErrorResponseBody(errors.get(0)), HttpStatus.BAD_REQUEST);
+    return super.handleHttpMessageNotReadable(ex, headers, status, request);
+  }
+
+  /*
+   * Business rejections are answered with a response rendered at startup.
+   * */
+  @ExceptionHandler(DomainException.class)
+  public ResponseEntity<Object> domainException(DomainException ex) {
+    return errorResponseCache.badRequest(ex.getMessage());
   }
 
   @ExceptionHandler({
@@ -36,6 +81,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     IllegalStateException.class
   })
   public ResponseEntity<Object> inputValidationException(Exception ex) {
-    return new ResponseEntity<>(new ErrorResponseBody(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    return errorResponseCache.badRequest(ex.getMessage());
+  }
+
+  @ExceptionHandler(ServerBusyException.class)
+  public ResponseEntity<Object> serverBusyException(ServerBusyException ex) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, "1");
+
+    return errorResponseCache.response(ex.getMessage(), headers, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(RequestBodyTooLargeException.class)
+  public ResponseEntity<Object> requestBodyTooLargeException(RequestBodyTooLargeException ex) {
+    return errorResponseCache.response(ex.getMessage(), new HttpHeaders(), HttpStatus.PAYLOAD_TOO_LARGE);
   }
-}
\ No newline at end of file
+}
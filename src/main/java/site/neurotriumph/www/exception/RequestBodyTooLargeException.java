@@ -0,0 +1,12 @@
+package site.neurotriumph.www.exception;
+
+/*
+ * Thrown while a request body is read, as soon as it is known to be
+ * longer than the largest body its type can validly have (see
+ * RequestBodyLimits). Answered with 413.
+ * */
+public class RequestBodyTooLargeException extends RuntimeException {
+  public RequestBodyTooLargeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,11 @@
+package site.neurotriumph.www.exception;
+
+/*
+ * Thrown when work is refused because a bounded executor is saturated.
+ * Answered with 503 so that clients can tell it apart from invalid input.
+ * */
+public class ServerBusyException extends RuntimeException {
+  public ServerBusyException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,21 @@
+package site.neurotriumph.www.hasher;
+
+/*
+ * A password hashing algorithm. Every implementation must be able to
+ * recognise its own hashes, so that hashes produced by different
+ * algorithms can live side by side in the user table.
+ * */
+public interface PasswordHasher {
+  String getName();
+
+  boolean supports(String passwordHash);
+
+  String hash(String password);
+
+  boolean matches(String password, String passwordHash);
+
+  /*
+   * Only asked for hashes this hasher supports.
+   * */
+  boolean needsRehash(String passwordHash);
+}
@@ -0,0 +1,107 @@
+package site.neurotriumph.www.hasher;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/*
+ * Salted PBKDF2 with HMAC-SHA256. Hashes are stored as
+ * "pbkdf2-sha256$<iterations>$<salt>$<key>" with unpadded base64 parts,
+ * so the iteration count can be raised without breaking old hashes.
+ * */
+@Component
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+  public static final String NAME = "pbkdf2-sha256";
+
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  private static final String PREFIX = NAME + "$";
+  private static final int SALT_LENGTH = 16;
+  private static final int KEY_LENGTH = 256;
+
+  private final int iterations;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public Pbkdf2PasswordHasher(@Value("${app.password.pbkdf2.iterations:210000}") int iterations) {
+    if (iterations < 1) {
+      throw new IllegalArgumentException("app.password.pbkdf2.iterations must be positive");
+    }
+
+    this.iterations = iterations;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean supports(String passwordHash) {
+    return passwordHash != null && passwordHash.startsWith(PREFIX);
+  }
+
+  @Override
+  public String hash(String password) {
+    byte[] salt = new byte[SALT_LENGTH];
+    secureRandom.nextBytes(salt);
+
+    Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+
+    return PREFIX + iterations +
+      "$" + encoder.encodeToString(salt) +
+      "$" + encoder.encodeToString(deriveKey(password, salt, iterations));
+  }
+
+  @Override
+  public boolean matches(String password, String passwordHash) {
+    String[] parts = passwordHash.split("\\$");
+
+    if (parts.length != 4) {
+      return false;
+    }
+
+    try {
+      int hashIterations = Integer.parseInt(parts[1]);
+      byte[] salt = Base64.getDecoder().decode(parts[2]);
+      byte[] key = Base64.getDecoder().decode(parts[3]);
+
+      if (hashIterations < 1 || key.length * 8 != KEY_LENGTH) {
+        return false;
+      }
+
+      return MessageDigest.isEqual(key, deriveKey(password, salt, hashIterations));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean needsRehash(String passwordHash) {
+    String[] parts = passwordHash.split("\\$");
+
+    try {
+      return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  }
+
+  private static byte[] deriveKey(String password, byte[] salt, int iterations) {
+    PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_LENGTH);
+
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM)
+        .generateSecret(keySpec)
+        .getEncoded();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      keySpec.clearPassword();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package site.neurotriumph.www.hasher;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/*
+ * Unsalted hex-encoded SHA-256, the format every existing
+ * password_hash was written in.
+ * */
+@Component
+public class Sha256PasswordHasher implements PasswordHasher {
+  public static final String NAME = "sha256";
+
+  private static final int HASH_LENGTH = 64;
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean supports(String passwordHash) {
+    if (passwordHash == null || passwordHash.length() != HASH_LENGTH) {
+      return false;
+    }
+
+    for (int i = 0; i < HASH_LENGTH; i++) {
+      char c = passwordHash.charAt(i);
+
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public String hash(String password) {
+    return DigestUtils.sha256Hex(password);
+  }
+
+  @Override
+  public boolean matches(String password, String passwordHash) {
+    return MessageDigest.isEqual(
+      hash(password).getBytes(StandardCharsets.US_ASCII),
+      passwordHash.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Override
+  public boolean needsRehash(String passwordHash) {
+    return false;
+  }
+}
@@ -0,0 +1,20 @@
+package site.neurotriumph.www.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class CacheStatsResponseBody {
+  private boolean enabled;
+  private int size;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long expirations;
+  private long invalidations;
+}
@@ -5,11 +5,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.Regex;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
 
 @Getter
 @Setter
@@ -19,5 +21,6 @@ import javax.validation.constraints.Pattern;
 public class ConfirmationRequestBody {
   @NotNull(message = Message.TOKEN_CANNOT_BE_BLANK)
   @Pattern(regexp = Regex.JWT_TOKEN, message = Message.INVALID_TOKEN)
+  @Size(max = Const.MAX_TOKEN_LENGTH, message = Message.TOKEN_IS_TOO_LONG)
   private String token;
 }
\ No newline at end of file
@@ -5,12 +5,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.annotation.NeuralNetworkApiRoot;
+import site.neurotriumph.www.annotation.NeuralNetworkName;
+import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.constant.Regex;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
 
 @Getter
 @Setter
@@ -19,13 +21,16 @@ import javax.validation.constraints.Pattern;
 @ToString
 public class CreateNeuralNetworkRequestBody {
   @NotNull(message = Message.NN_NAME_CANNOT_BE_BLANK)
-  @Pattern(regexp = Regex.NN_NAME, message =  Message.INVALID_NN_NAME)
+  @NeuralNetworkName(message = Message.INVALID_NN_NAME)
+  @Size(max = Const.MAX_NN_NAME_LENGTH, message = Message.NN_NAME_IS_TOO_LONG)
   private String name;
 
   @NotEmpty(message = Message.NN_API_ROOT_CANNOT_BE_BLANK)
-  @Pattern(regexp = Regex.URL, message = Message.INVALID_NN_API_ROOT)
+  @NeuralNetworkApiRoot(message = Message.INVALID_NN_API_ROOT)
+  @Size(max = Const.MAX_NN_API_ROOT_LENGTH, message = Message.NN_API_ROOT_IS_TOO_LONG)
   private String api_root;
 
   @NotEmpty(message = Message.NN_API_SECRET_CANNOT_BE_BLANK)
+  @Size(max = Const.MAX_NN_API_SECRET_LENGTH, message = Message.NN_API_SECRET_IS_TOO_LONG)
   private String api_secret;
 }
@@ -0,0 +1,21 @@
+package site.neurotriumph.www.pojo;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class CursorPageResponseBody<T> {
+  private List<T> items;
+
+  /*
+   * Pass it back as the cursor parameter to get the next page,
+   * null on the last page.
+   * */
+  private String next_cursor;
+}
@@ -2,13 +2,22 @@ package site.neurotriumph.www.pojo;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.exception.DomainException;
 
 @Getter
-@Setter
 @AllArgsConstructor
 @ToString
 public class ErrorResponseBody {
-  private String error;
+  private final String error;
+
+  /*
+   * Stable code of the error (see DomainException.codeOf), null when the
+   * message is not one of the Message constants.
+   * */
+  private final String code;
+
+  public ErrorResponseBody(String error) {
+    this(error, DomainException.codeOf(error));
+  }
 }
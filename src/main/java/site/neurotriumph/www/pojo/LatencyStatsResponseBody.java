@@ -0,0 +1,19 @@
+package site.neurotriumph.www.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class LatencyStatsResponseBody {
+  private long count;
+  private long mean_us;
+  private long p50_us;
+  private long p90_us;
+  private long p99_us;
+  private long max_us;
+}
@@ -0,0 +1,16 @@
+package site.neurotriumph.www.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class MailFlowStatsResponseBody {
+  private LatencyStatsResponseBody queueing_latency;
+  private LatencyStatsResponseBody delivery_delay;
+  private long delivery_failures;
+}
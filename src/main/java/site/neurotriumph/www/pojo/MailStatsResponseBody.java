@@ -0,0 +1,30 @@
+package site.neurotriumph.www.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class MailStatsResponseBody {
+  private long pending;
+  private long dead;
+  private int queueing_in_flight;
+  private int delivery_in_flight;
+  private long sent;
+  private long failed_attempts;
+  private long dead_lettered;
+  private long superseded;
+  private long deferred;
+  private long smtp_connections_opened;
+  private long smtp_connections_reused;
+  private LatencyStatsResponseBody smtp_latency;
+  private Map<String, MailFlowStatsResponseBody> flows;
+  private Map<String, Long> queueing_failures;
+  private Map<String, Long> delivery_failures;
+}
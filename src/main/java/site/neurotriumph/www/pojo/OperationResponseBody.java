@@ -0,0 +1,24 @@
+package site.neurotriumph.www.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import site.neurotriumph.www.constant.OperationStatus;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class OperationResponseBody {
+  private String id;
+  private OperationStatus status;
+
+  /*
+   * Set when the operation failed, like the fields of ErrorResponseBody.
+   * */
+  private String error;
+  private String code;
+}
@@ -19,9 +19,11 @@ import javax.validation.constraints.Size;
 public class RegisterRequestBody {
   @NotEmpty(message = Message.EMAIL_CANNOT_BE_BLANK)
   @Email(message = Message.INVALID_EMAIL)
+  @Size(max = Const.MAX_EMAIL_LENGTH, message = Message.EMAIL_IS_TOO_LONG)
   private String email;
 
   @NotNull(message = Message.PASSWORD_CANNOT_BE_BLANK)
   @Size(min = Const.MIN_PASSWORD_LENGTH, message = Message.PASSWORD_IS_TOO_SHORT)
+  @Size(max = Const.MAX_PASSWORD_LENGTH, message = Message.PASSWORD_IS_TOO_LONG)
   private String password;
 }
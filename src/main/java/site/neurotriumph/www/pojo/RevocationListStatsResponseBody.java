@@ -0,0 +1,19 @@
+package site.neurotriumph.www.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+public class RevocationListStatsResponseBody {
+  private int filter_bits;
+  private long revocations;
+  private long filter_misses;
+  private long filter_matches;
+  private long false_positives;
+  private long purged;
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.annotation.RequestBodyLength;
 import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
 
@@ -21,9 +22,11 @@ import javax.validation.constraints.Size;
 public class UpdateEmailRequestBody {
   @NotNull(message = Message.PASSWORD_CANNOT_BE_BLANK)
   @Size(min = Const.MIN_PASSWORD_LENGTH, message = Message.PASSWORD_IS_TOO_SHORT)
+  @RequestBodyLength(max = Const.MAX_CURRENT_PASSWORD_LENGTH)
   private String password;
 
   @NotEmpty(message = Message.EMAIL_CANNOT_BE_BLANK)
   @Email(message = Message.INVALID_EMAIL)
+  @Size(max = Const.MAX_EMAIL_LENGTH, message = Message.EMAIL_IS_TOO_LONG)
   private String new_email;
 }
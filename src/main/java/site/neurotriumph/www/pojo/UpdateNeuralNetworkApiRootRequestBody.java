@@ -5,13 +5,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.annotation.NeuralNetworkApiRoot;
+import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.constant.Regex;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
 
 @Getter
 @Setter
@@ -24,6 +25,7 @@ public class UpdateNeuralNetworkApiRootRequestBody {
   private Long id;
 
   @NotEmpty(message = Message.NN_API_ROOT_CANNOT_BE_BLANK)
-  @Pattern(regexp = Regex.URL, message = Message.INVALID_NN_API_ROOT)
+  @NeuralNetworkApiRoot(message = Message.INVALID_NN_API_ROOT)
+  @Size(max = Const.MAX_NN_API_ROOT_LENGTH, message = Message.NN_API_ROOT_IS_TOO_LONG)
   private String new_api_root;
 }
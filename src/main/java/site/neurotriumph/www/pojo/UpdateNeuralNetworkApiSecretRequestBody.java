@@ -5,11 +5,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 @Getter
 @Setter
@@ -22,5 +24,6 @@ public class UpdateNeuralNetworkApiSecretRequestBody {
   private Long id;
 
   @NotEmpty(message = Message.NN_API_SECRET_CANNOT_BE_BLANK)
+  @Size(max = Const.MAX_NN_API_SECRET_LENGTH, message = Message.NN_API_SECRET_IS_TOO_LONG)
   private String new_api_secret;
 }
@@ -5,12 +5,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import site.neurotriumph.www.annotation.NeuralNetworkName;
+import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.constant.Regex;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
 
 @Getter
 @Setter
@@ -23,6 +24,7 @@ public class UpdateNeuralNetworkNameRequestBody {
   private Long id;
 
   @NotNull(message = Message.NN_NAME_CANNOT_BE_BLANK)
-  @Pattern(regexp = Regex.NN_NAME, message =  Message.INVALID_NN_NAME)
+  @NeuralNetworkName(message = Message.INVALID_NN_NAME)
+  @Size(max = Const.MAX_NN_NAME_LENGTH, message = Message.NN_NAME_IS_TOO_LONG)
   private String new_name;
 }
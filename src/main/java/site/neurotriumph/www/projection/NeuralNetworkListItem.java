@@ -0,0 +1,11 @@
+package site.neurotriumph.www.projection;
+
+/*
+ * Columns of a neural network the public listing needs. It is built by a
+ * constructor expression, so it is never managed by the persistence
+ * context: no entity, no dirty-checking snapshot, and neither api_root
+ * nor api_secret is read from the database. The id is only used for the
+ * cursor.
+ * */
+public record NeuralNetworkListItem(Long id, String name, int tests_passed, int tests_failed) {
+}
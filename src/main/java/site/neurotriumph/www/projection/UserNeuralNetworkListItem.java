@@ -0,0 +1,9 @@
+package site.neurotriumph.www.projection;
+
+/*
+ * Same as NeuralNetworkListItem for the listing of the owner, which also
+ * shows the state of the neural network.
+ * */
+public record UserNeuralNetworkListItem(Long id, String name, int tests_passed, int tests_failed,
+                                        boolean invalid_api, boolean active) {
+}
@@ -2,21 +2,18 @@ package site.neurotriumph.www.repository;
 
 import java.util.List;
 import java.util.Optional;
+import javax.transaction.Transactional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import site.neurotriumph.www.entity.NeuralNetwork;
+import site.neurotriumph.www.projection.NeuralNetworkListItem;
+import site.neurotriumph.www.projection.UserNeuralNetworkListItem;
 
 @Repository
 public interface NeuralNetworkRepository extends JpaRepository<NeuralNetwork, Long> {
-  @Query("SELECT nn FROM neural_network nn WHERE nn.name = :name AND nn.owner_id = :owner_id")
-  Optional<NeuralNetwork> findByNameAndOwnerId(String name, Long owner_id);
-
-  @Query("SELECT nn FROM neural_network nn WHERE nn.api_root = :api_root AND nn.owner_id = :owner_id")
-  Optional<NeuralNetwork> findByApiRootAndOwnerId(String api_root, Long owner_id);
-
   @Query("SELECT nn FROM neural_network nn WHERE nn.id = :id AND nn.owner_id = :owner_id")
   Optional<NeuralNetwork> findByIdAndOwnerId(Long id, Long owner_id);
 
@@ -24,9 +21,63 @@ public interface NeuralNetworkRepository extends JpaRepository<NeuralNetwork, Lo
   @Query("DELETE FROM neural_network nn WHERE nn.owner_id = :owner_id")
   void deleteAllByOwnerId(Long owner_id);
 
-  @Query("SELECT nn FROM neural_network nn WHERE nn.owner_id = :owner_id")
-  List<NeuralNetwork> findAllByOwnerId(Long owner_id, Pageable pageable);
+  @Query("SELECT CASE WHEN COUNT(nn) > 0 THEN true ELSE false END FROM neural_network nn " +
+    "WHERE nn.id = :id AND nn.owner_id = :owner_id")
+  boolean existsByIdAndOwnerId(Long id, Long owner_id);
+
+  /*
+   * Single statement updates of a neural network of the owner. They
+   * return 0 when the neural network does not exist, belongs to another
+   * user or already has the new value. Values are compared as bytes,
+   * like String.equals, whatever the collation of the column.
+   * */
+  @Modifying
+  @Transactional
+  @Query("UPDATE neural_network nn SET nn.active = CASE WHEN nn.active = true THEN false ELSE true END " +
+    "WHERE nn.id = :id AND nn.owner_id = :owner_id")
+  int toggleActivity(Long id, Long owner_id);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE neural_network nn SET nn.name = :name " +
+    "WHERE nn.id = :id AND nn.owner_id = :owner_id AND cast(nn.name as binary) <> cast(:name as binary)")
+  int updateName(Long id, Long owner_id, String name);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE neural_network nn SET nn.api_root = :api_root, nn.api_root_hash = :api_root_hash " +
+    "WHERE nn.id = :id AND nn.owner_id = :owner_id AND nn.api_root_hash <> :api_root_hash")
+  int updateApiRoot(Long id, Long owner_id, String api_root, byte[] api_root_hash);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE neural_network nn SET nn.api_secret = :api_secret " +
+    "WHERE nn.id = :id AND nn.owner_id = :owner_id AND cast(nn.api_secret as binary) <> cast(:api_secret as binary)")
+  int updateApiSecret(Long id, Long owner_id, String api_secret);
+
+  @Query("SELECT new site.neurotriumph.www.projection.UserNeuralNetworkListItem(" +
+    "nn.id, nn.name, nn.tests_passed, nn.tests_failed, nn.invalid_api, nn.active) " +
+    "FROM neural_network nn WHERE nn.owner_id = :owner_id ORDER BY nn.id")
+  List<UserNeuralNetworkListItem> findAllByOwnerId(Long owner_id, Pageable pageable);
+
+  @Query("SELECT new site.neurotriumph.www.projection.NeuralNetworkListItem(" +
+    "nn.id, nn.name, nn.tests_passed, nn.tests_failed) " +
+    "FROM neural_network nn WHERE nn.active = true ORDER BY nn.id")
+  List<NeuralNetworkListItem> findAllActive(Pageable pageable);
+
+  /*
+   * Keyset variants of the two queries above: the page starts right after
+   * after_id in the (owner_id, id) and (active, id) indexes, so its cost
+   * does not depend on how many rows came before it. Pass a Pageable of
+   * page 0, it only limits the number of rows.
+   * */
+  @Query("SELECT new site.neurotriumph.www.projection.UserNeuralNetworkListItem(" +
+    "nn.id, nn.name, nn.tests_passed, nn.tests_failed, nn.invalid_api, nn.active) " +
+    "FROM neural_network nn WHERE nn.owner_id = :owner_id AND nn.id > :after_id ORDER BY nn.id")
+  List<UserNeuralNetworkListItem> findAllByOwnerIdAfter(Long owner_id, Long after_id, Pageable pageable);
 
-  @Query("SELECT nn FROM neural_network nn WHERE nn.active = true")
-  List<NeuralNetwork> findAllActive(Pageable pageable);
+  @Query("SELECT new site.neurotriumph.www.projection.NeuralNetworkListItem(" +
+    "nn.id, nn.name, nn.tests_passed, nn.tests_failed) " +
+    "FROM neural_network nn WHERE nn.active = true AND nn.id > :after_id ORDER BY nn.id")
+  List<NeuralNetworkListItem> findAllActiveAfter(Long after_id, Pageable pageable);
 }
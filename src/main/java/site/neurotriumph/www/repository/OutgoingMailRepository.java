@@ -0,0 +1,41 @@
+package site.neurotriumph.www.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.entity.OutgoingMail;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+@Repository
+public interface OutgoingMailRepository extends JpaRepository<OutgoingMail, Long> {
+  @Query("SELECT m FROM outgoing_mail m WHERE m.status = :status AND m.next_attempt_at <= :now ORDER BY m.id")
+  List<OutgoingMail> findDue(OutgoingMailStatus status, long now, Pageable pageable);
+
+  /*
+   * Succeeds only for the dispatcher that saw the row in this exact state.
+   * */
+  @Modifying
+  @Transactional
+  @Query("UPDATE outgoing_mail m SET m.next_attempt_at = :leaseUntil " +
+    "WHERE m.id = :id AND m.status = :status AND m.next_attempt_at = :next_attempt_at")
+  int claim(Long id, OutgoingMailStatus status, long next_attempt_at, long leaseUntil);
+
+  /*
+   * Replaces the body of a mail no dispatcher has claimed yet. The new
+   * next_attempt_at differs from the old one, so a dispatcher that read
+   * the row before this update fails to claim it and cannot send the
+   * superseded body.
+   * */
+  @Modifying
+  @Transactional
+  @Query("UPDATE outgoing_mail m SET m.body = :body, m.next_attempt_at = :newNextAttemptAt " +
+    "WHERE m.id = :id AND m.status = :status AND m.next_attempt_at = :next_attempt_at")
+  int supersede(Long id, OutgoingMailStatus status, long next_attempt_at, long newNextAttemptAt, String body);
+
+  long countByStatus(OutgoingMailStatus status);
+}
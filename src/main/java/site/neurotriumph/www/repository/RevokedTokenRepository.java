@@ -0,0 +1,24 @@
+package site.neurotriumph.www.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import site.neurotriumph.www.entity.RevokedToken;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+  @Query("SELECT r.id FROM revoked_token r")
+  List<String> findAllIds();
+
+  @Query("SELECT r.id FROM revoked_token r WHERE r.revoked_at >= :since")
+  List<String> findAllIdsRevokedSince(long since);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM revoked_token r WHERE r.expires_at < :now")
+  int deleteAllExpiredBefore(long now);
+}
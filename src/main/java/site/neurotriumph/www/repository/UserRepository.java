@@ -1,10 +1,13 @@
 package site.neurotriumph.www.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import site.neurotriumph.www.entity.User;
 
+import javax.transaction.Transactional;
+
 import java.util.Optional;
 
 @Repository
@@ -14,4 +17,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   @Query("SELECT u FROM User u WHERE u.id = :id AND u.confirmed = 1")
   Optional<User> findConfirmedById(Long id);
+
+  /*
+   * Replaces the hash only if it has not been changed since it was read.
+   * */
+  @Modifying
+  @Transactional
+  @Query("UPDATE User u SET u.password_hash = :newPasswordHash WHERE u.id = :id AND u.password_hash = :passwordHash")
+  int updatePasswordHash(Long id, String passwordHash, String newPasswordHash);
 }
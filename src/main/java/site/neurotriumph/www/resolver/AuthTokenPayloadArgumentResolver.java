@@ -0,0 +1,138 @@
+package site.neurotriumph.www.resolver;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import site.neurotriumph.www.annotation.AuthTokenPayload;
+import site.neurotriumph.www.component.FastAuthTokenVerifier;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.component.TrustedUserContext;
+import site.neurotriumph.www.component.VerifiedTokenCache;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.Header;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.repository.UserRepository;
+
+/*
+ * Verifies the Authentication-Token header and passes the decoded
+ * token to the parameter annotated with @AuthTokenPayload.
+ *
+ * Versioned tokens are additionally checked against the token epoch of
+ * their user. When the epoch agrees, the user is known to exist and be
+ * confirmed, and the request is marked so that services skip the lookup.
+ *
+ * Revoked tokens are rejected.
+ * */
+public class AuthTokenPayloadArgumentResolver implements HandlerMethodArgumentResolver {
+  private final TokenVerifierRegistry tokenVerifierRegistry;
+  private final FastAuthTokenVerifier fastAuthTokenVerifier;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final TokenEpochTable tokenEpochTable;
+  private final TokenRevocationList tokenRevocationList;
+  private final UserRepository userRepository;
+
+  public AuthTokenPayloadArgumentResolver(TokenVerifierRegistry tokenVerifierRegistry,
+                                          FastAuthTokenVerifier fastAuthTokenVerifier,
+                                          VerifiedTokenCache verifiedTokenCache,
+                                          TokenEpochTable tokenEpochTable,
+                                          TokenRevocationList tokenRevocationList,
+                                          UserRepository userRepository) {
+    this.tokenVerifierRegistry = tokenVerifierRegistry;
+    this.fastAuthTokenVerifier = fastAuthTokenVerifier;
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.tokenEpochTable = tokenEpochTable;
+    this.tokenRevocationList = tokenRevocationList;
+    this.userRepository = userRepository;
+  }
+
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    return parameter.hasParameterAnnotation(AuthTokenPayload.class);
+  }
+
+  @Override
+  public Object resolveArgument(MethodParameter parameter,
+                                ModelAndViewContainer mavContainer,
+                                NativeWebRequest webRequest,
+                                WebDataBinderFactory binderFactory) {
+    String token = webRequest.getHeader(Header.AUTHENTICATION_TOKEN);
+
+    if (token == null)
+      throw DomainException.of(Message.AUTH_TOKEN_NOT_SPECIFIED);
+
+    DecodedJWT decodedJWT = verifiedTokenCache.get(token);
+    if (decodedJWT == null) {
+      decodedJWT = verify(token);
+      verifiedTokenCache.put(token, decodedJWT);
+    }
+
+    if (tokenRevocationList.isRevoked(TokenRevocationList.idOf(decodedJWT))) {
+      throw DomainException.of(Message.AUTH_TOKEN_REVOKED);
+    }
+
+    Integer tokenVersion = decodedJWT.getClaim(Field.TOKEN_VERSION).asInt();
+    if (tokenVersion != null && tokenVersion >= Const.AUTH_TOKEN_VERSION) {
+      verifyTokenEpoch(decodedJWT, webRequest);
+    }
+
+    return decodedJWT;
+  }
+
+  /*
+   * Tokens issued by AuthService.login are handled by the fast verifier,
+   * anything it does not accept goes through the generic verifier.
+   * */
+  private DecodedJWT verify(String token) {
+    DecodedJWT decodedJWT = fastAuthTokenVerifier.verify(token);
+    if (decodedJWT != null) {
+      return decodedJWT;
+    }
+
+    try {
+      return tokenVerifierRegistry.verify(TokenMarker.AUTHENTICATION, token);
+    } catch (TokenExpiredException e) {
+      throw DomainException.of(Message.AUTH_TOKEN_EXPIRED);
+    } catch (JWTVerificationException e) {
+      throw DomainException.of(Message.INVALID_TOKEN);
+    }
+  }
+
+  private void verifyTokenEpoch(DecodedJWT decodedJWT, NativeWebRequest webRequest) {
+    Long userId = decodedJWT.getClaim(Field.USER_ID).asLong();
+    Integer tokenEpoch = decodedJWT.getClaim(Field.TOKEN_EPOCH).asInt();
+
+    if (userId == null || tokenEpoch == null) {
+      throw DomainException.of(Message.INVALID_TOKEN);
+    }
+
+    int epoch = tokenEpochTable.getEpoch(userId);
+    if (epoch == TokenEpochTable.UNKNOWN) {
+      long stamp = tokenEpochTable.stamp();
+
+      User user = userRepository.findConfirmedById(userId)
+        .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
+
+      epoch = user.getToken_epoch();
+      tokenEpochTable.putLoaded(userId, epoch, stamp);
+    }
+
+    if (epoch != tokenEpoch) {
+      throw DomainException.of(Message.INVALID_TOKEN);
+    }
+
+    if (Boolean.TRUE.equals(decodedJWT.getClaim(Field.CONFIRMED).asBoolean())) {
+      TrustedUserContext.trust(webRequest, userId);
+    }
+  }
+}
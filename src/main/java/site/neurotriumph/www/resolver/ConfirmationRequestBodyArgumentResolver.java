@@ -0,0 +1,66 @@
+package site.neurotriumph.www.resolver;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.RequestAttribute;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.pojo.ConfirmationRequestBody;
+
+/*
+ * Reads and validates the ConfirmationRequestBody of a handler annotated
+ * with @WithConfirmationToken through the regular @RequestBody processor,
+ * then verifies its token against the marker of the handler. The decoded
+ * token is kept as a request attribute for @ConfirmationTokenPayload.
+ * */
+public class ConfirmationRequestBodyArgumentResolver implements HandlerMethodArgumentResolver {
+  private final HandlerMethodArgumentResolver requestBodyResolver;
+  private final TokenHandlerMethods tokenHandlerMethods;
+  private final TokenVerifierRegistry tokenVerifierRegistry;
+
+  public ConfirmationRequestBodyArgumentResolver(HandlerMethodArgumentResolver requestBodyResolver,
+                                                 TokenHandlerMethods tokenHandlerMethods,
+                                                 TokenVerifierRegistry tokenVerifierRegistry) {
+    this.requestBodyResolver = requestBodyResolver;
+    this.tokenHandlerMethods = tokenHandlerMethods;
+    this.tokenVerifierRegistry = tokenVerifierRegistry;
+  }
+
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    return parameter.getParameterType().equals(ConfirmationRequestBody.class) &&
+      tokenHandlerMethods.getConfirmationTokenMarker(parameter.getMethod()) != null &&
+      requestBodyResolver.supportsParameter(parameter);
+  }
+
+  @Override
+  public Object resolveArgument(MethodParameter parameter,
+                                ModelAndViewContainer mavContainer,
+                                NativeWebRequest webRequest,
+                                WebDataBinderFactory binderFactory) throws Exception {
+    ConfirmationRequestBody confirmationRequestBody = (ConfirmationRequestBody) requestBodyResolver
+      .resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+
+    TokenMarker tokenMarker = tokenHandlerMethods.getConfirmationTokenMarker(parameter.getMethod());
+
+    DecodedJWT decodedJWT;
+    try {
+      decodedJWT = tokenVerifierRegistry.verify(tokenMarker, confirmationRequestBody.getToken());
+    } catch (JWTVerificationException e) {
+      throw DomainException.of(Message.INVALID_TOKEN);
+    }
+
+    webRequest.setAttribute(RequestAttribute.CONFIRMATION_TOKEN_PAYLOAD, decodedJWT,
+      RequestAttributes.SCOPE_REQUEST);
+
+    return confirmationRequestBody;
+  }
+}
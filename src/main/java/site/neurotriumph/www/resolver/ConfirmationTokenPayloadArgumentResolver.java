@@ -0,0 +1,39 @@
+package site.neurotriumph.www.resolver;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import site.neurotriumph.www.annotation.ConfirmationTokenPayload;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.RequestAttribute;
+
+/*
+ * Passes the confirmation token verified by ConfirmationRequestBodyArgumentResolver
+ * to the parameter annotated with @ConfirmationTokenPayload. The body has to be
+ * declared before the payload, since arguments are resolved in order.
+ * */
+public class ConfirmationTokenPayloadArgumentResolver implements HandlerMethodArgumentResolver {
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    return parameter.hasParameterAnnotation(ConfirmationTokenPayload.class);
+  }
+
+  @Override
+  public Object resolveArgument(MethodParameter parameter,
+                                ModelAndViewContainer mavContainer,
+                                NativeWebRequest webRequest,
+                                WebDataBinderFactory binderFactory) {
+    Object decodedJWT = webRequest.getAttribute(RequestAttribute.CONFIRMATION_TOKEN_PAYLOAD,
+      RequestAttributes.SCOPE_REQUEST);
+
+    // TokenHandlerMethods rejects handlers without the body at startup.
+    if (decodedJWT == null) {
+      throw new IllegalStateException(parameter.getMethod() + ": " + Message.CONFIRMATION_REQUEST_BODY_REQUIRED);
+    }
+
+    return decodedJWT;
+  }
+}
@@ -0,0 +1,93 @@
+package site.neurotriumph.www.resolver;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import site.neurotriumph.www.annotation.AuthTokenPayload;
+import site.neurotriumph.www.annotation.ConfirmationTokenPayload;
+import site.neurotriumph.www.annotation.WithAuthToken;
+import site.neurotriumph.www.annotation.WithConfirmationToken;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.pojo.ConfirmationRequestBody;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Token requirements of every handler method, read once at startup.
+ * The annotation contract is also checked here, so a handler that
+ * is annotated with @WithAuthToken or @WithConfirmationToken but
+ * cannot receive the token fails the application start instead of
+ * silently skipping the check.
+ * */
+public class TokenHandlerMethods {
+  private final Map<Method, TokenMarker> confirmationTokenMarkers = new HashMap<>();
+
+  public TokenHandlerMethods(Collection<HandlerMethod> handlerMethods) {
+    for (HandlerMethod handlerMethod : handlerMethods) {
+      Method method = handlerMethod.getMethod();
+
+      boolean hasAuthTokenPayload = false;
+      int confirmationRequestBodyIndex = -1;
+      int confirmationTokenPayloadIndex = -1;
+
+      for (MethodParameter methodParameter : handlerMethod.getMethodParameters()) {
+        if (methodParameter.hasParameterAnnotation(AuthTokenPayload.class)) {
+          requireDecodedJWT(methodParameter);
+          hasAuthTokenPayload = true;
+        }
+
+        if (methodParameter.hasParameterAnnotation(ConfirmationTokenPayload.class)) {
+          requireDecodedJWT(methodParameter);
+          confirmationTokenPayloadIndex = methodParameter.getParameterIndex();
+        }
+
+        if (methodParameter.hasParameterAnnotation(RequestBody.class) &&
+          methodParameter.getParameterType().equals(ConfirmationRequestBody.class)) {
+          confirmationRequestBodyIndex = methodParameter.getParameterIndex();
+        }
+      }
+
+      if (handlerMethod.hasMethodAnnotation(WithAuthToken.class) != hasAuthTokenPayload) {
+        throw new IllegalStateException(method + ": @WithAuthToken and @AuthTokenPayload must be used together");
+      }
+
+      WithConfirmationToken withConfirmationToken = handlerMethod.getMethodAnnotation(WithConfirmationToken.class);
+      if (withConfirmationToken == null) {
+        if (confirmationTokenPayloadIndex != -1) {
+          throw new IllegalStateException(method + ": @ConfirmationTokenPayload requires @WithConfirmationToken");
+        }
+
+        continue;
+      }
+
+      if (confirmationRequestBodyIndex == -1) {
+        throw new IllegalStateException(method + ": " + Message.CONFIRMATION_REQUEST_BODY_REQUIRED);
+      }
+
+      if (confirmationTokenPayloadIndex != -1 && confirmationTokenPayloadIndex < confirmationRequestBodyIndex) {
+        throw new IllegalStateException(method + ": @ConfirmationTokenPayload must follow the request body");
+      }
+
+      confirmationTokenMarkers.put(method, withConfirmationToken.value());
+    }
+  }
+
+  private static void requireDecodedJWT(MethodParameter methodParameter) {
+    if (!methodParameter.getParameterType().equals(DecodedJWT.class)) {
+      throw new IllegalStateException(methodParameter.getMethod() + ": token payload parameters must be of type " +
+        DecodedJWT.class.getSimpleName());
+    }
+  }
+
+  /*
+   * Returns null if the method does not expect a confirmation token.
+   * */
+  public TokenMarker getConfirmationTokenMarker(Method method) {
+    return confirmationTokenMarkers.get(method);
+  }
+}
@@ -1,17 +1,24 @@
 package site.neurotriumph.www.service;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.neurotriumph.www.component.BoundedExecutor;
+import site.neurotriumph.www.component.ConfirmedUserCache;
+import site.neurotriumph.www.component.PasswordHashingExecutor;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
 import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.exception.ServerBusyException;
 import site.neurotriumph.www.pojo.LoginRequestBody;
 import site.neurotriumph.www.pojo.LoginResponseBody;
 import site.neurotriumph.www.pojo.RegisterRequestBody;
@@ -19,11 +26,13 @@ import site.neurotriumph.www.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
-  @Value("${app.secret}")
-  private String appSecret;
+  @Autowired
+  private TokenVerifierRegistry tokenVerifierRegistry;
 
   @Autowired
   private UserRepository userRepository;
@@ -31,54 +40,170 @@ public class AuthService {
   @Autowired
   private MailSenderService mailSenderService;
 
-  public LoginResponseBody login(LoginRequestBody loginRequestBody) {
+  @Autowired
+  private ConfirmedUserCache confirmedUserCache;
+
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
+
+  @Autowired
+  private PasswordHashingExecutor passwordHashingExecutor;
+
+  @Autowired
+  private TokenRevocationList tokenRevocationList;
+
+  @Autowired
+  @Qualifier("databaseExecutor")
+  private BoundedExecutor databaseExecutor;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  /*
+   * State carried from the user lookup to the issuing of the token.
+   * The stamp is taken before the lookup, see TokenEpochTable.
+   * */
+  private record LoginAttempt(User user, String passwordHash, long stamp) {
+  }
+
+  private LoginAttempt findLoginAttempt(LoginRequestBody loginRequestBody) {
+    long stamp = tokenEpochTable.stamp();
+
     User user = userRepository.findByEmail(loginRequestBody.getEmail())
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
     if (!user.isConfirmed()) {
-      throw new IllegalStateException(Message.USER_NOT_CONFIRMED);
+      throw DomainException.of(Message.USER_NOT_CONFIRMED);
     }
 
-    if (!user.getPassword_hash()
-      .equals(DigestUtils.sha256Hex(loginRequestBody.getPassword()))) {
-      throw new IllegalStateException(Message.WRONG_PASSWORD);
+    return new LoginAttempt(user, user.getPassword_hash(), stamp);
+  }
+
+  private LoginResponseBody completeLogin(LoginAttempt loginAttempt, boolean passwordMatches, String password) {
+    if (!passwordMatches) {
+      throw DomainException.of(Message.WRONG_PASSWORD);
     }
 
+    User user = loginAttempt.user();
+
+    upgradePasswordHash(user, loginAttempt.passwordHash(), password);
+
     String token = JWT.create()
+      .withJWTId(UUID.randomUUID().toString())
       .withClaim(Field.USER_ID, user.getId())
+      .withClaim(Field.TOKEN_VERSION, Const.AUTH_TOKEN_VERSION)
+      .withClaim(Field.CONFIRMED, true)
+      .withClaim(Field.TOKEN_EPOCH, user.getToken_epoch())
       .withExpiresAt(new Date(System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME))
-      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+      .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.AUTHENTICATION));
+
+    tokenEpochTable.putLoaded(user.getId(), user.getToken_epoch(), loginAttempt.stamp());
 
     return new LoginResponseBody(token, user.getId());
   }
 
+  /*
+   * Moves a hash that has just been matched over to the current
+   * hasher. Skipped when the hashing pool is saturated: the user
+   * is logged in either way and the next login will try again.
+   * */
+  private void upgradePasswordHash(User user, String passwordHash, String password) {
+    if (!passwordHashingExecutor.needsUpgrade(passwordHash)) {
+      return;
+    }
+
+    try {
+      userRepository.updatePasswordHash(user.getId(), passwordHash, passwordHashingExecutor.hash(password));
+    } catch (ServerBusyException ignored) {
+    }
+  }
+
+  public LoginResponseBody login(LoginRequestBody loginRequestBody) {
+    LoginAttempt loginAttempt = findLoginAttempt(loginRequestBody);
+
+    return completeLogin(loginAttempt,
+      passwordHashingExecutor.matches(loginRequestBody.getPassword(), loginAttempt.passwordHash()),
+      loginRequestBody.getPassword());
+  }
+
+  /*
+   * Same as login, but the lookup, the password check and the issuing
+   * of the token run on the database and hashing pools, and the calling
+   * thread returns immediately.
+   * */
+  public CompletableFuture<LoginResponseBody> loginAsync(LoginRequestBody loginRequestBody) {
+    return databaseExecutor.supply(() -> findLoginAttempt(loginRequestBody))
+      .thenCompose(loginAttempt -> passwordHashingExecutor
+        .matchesAsync(loginRequestBody.getPassword(), loginAttempt.passwordHash())
+        .thenCompose(passwordMatches -> databaseExecutor.supply(() ->
+          completeLogin(loginAttempt, passwordMatches, loginRequestBody.getPassword()))));
+  }
+
+  /*
+   * Revokes the token the request was made with.
+   * */
+  public void logout(DecodedJWT authTokenPayload) {
+    tokenRevocationList.revoke(TokenRevocationList.idOf(authTokenPayload),
+      authTokenPayload.getExpiresAt().getTime() / 1000);
+  }
+
   @Transactional
   public void confirmRegistration(Long id) {
     User user = userRepository.findById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
     if (user.isConfirmed()) {
-      throw new IllegalStateException(Message.USER_ALREADY_CONFIRMED);
+      throw DomainException.of(Message.USER_ALREADY_CONFIRMED);
     }
 
     user.setConfirmed(true);
+
+    confirmedUserCache.invalidateTransactionally(user.getId());
   }
 
-  public void register(RegisterRequestBody registerRequestBody) {
-    userRepository.findByEmail(registerRequestBody.getEmail())
+  private void checkEmailIsFree(String email) {
+    userRepository.findByEmail(email)
       .ifPresent(o -> {
-        throw new IllegalStateException(Message.USER_ALREADY_EXISTS);
+        throw DomainException.of(Message.USER_ALREADY_EXISTS);
       });
+  }
 
-    User user = userRepository.save(new User(
-      registerRequestBody.getEmail(),
-      DigestUtils.sha256Hex(registerRequestBody.getPassword())));
+  /*
+   * Inserts the user and queues the confirmation mail in one transaction.
+   * */
+  private void createUser(String email, String passwordHash) {
+    transactionTemplate.executeWithoutResult(status -> {
+      User user = userRepository.save(new User(email, passwordHash));
 
-    String token = JWT.create()
-      .withClaim(Field.USER_ID, user.getId())
-      .withExpiresAt(new Date(System.currentTimeMillis() + Const.CONFIRMATION_TOKEN_LIFETIME))
-      .sign(Algorithm.HMAC256(appSecret + TokenMarker.REGISTRATION_CONFIRMATION));
+      String token = JWT.create()
+        .withClaim(Field.USER_ID, user.getId())
+        .withExpiresAt(new Date(System.currentTimeMillis() + Const.CONFIRMATION_TOKEN_LIFETIME))
+        .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.REGISTRATION_CONFIRMATION));
+
+      mailSenderService.send(email, TokenMarker.REGISTRATION_CONFIRMATION, token);
+    });
+  }
+
+  public void register(RegisterRequestBody registerRequestBody) {
+    checkEmailIsFree(registerRequestBody.getEmail());
+
+    createUser(registerRequestBody.getEmail(),
+      passwordHashingExecutor.hash(registerRequestBody.getPassword()));
+  }
 
-    mailSenderService.send(registerRequestBody.getEmail(), "Neuro Triumph", token);
+  /*
+   * Same as register, with the database work and the hashing on their
+   * own pools.
+   * */
+  public CompletableFuture<Void> registerAsync(RegisterRequestBody registerRequestBody) {
+    return databaseExecutor.supply(() -> {
+        checkEmailIsFree(registerRequestBody.getEmail());
+        return registerRequestBody.getPassword();
+      })
+      .thenCompose(passwordHashingExecutor::hashAsync)
+      .thenCompose(passwordHash -> databaseExecutor.supply(() -> {
+        createUser(registerRequestBody.getEmail(), passwordHash);
+        return null;
+      }));
   }
 }
@@ -1,26 +1,107 @@
 package site.neurotriumph.www.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import site.neurotriumph.www.component.MailCoalescingWindow;
+import site.neurotriumph.www.component.MailDispatcher;
+import site.neurotriumph.www.component.MailTelemetry;
+import site.neurotriumph.www.component.MailTemplates;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.entity.OutgoingMail;
+import site.neurotriumph.www.repository.OutgoingMailRepository;
 
+/*
+ * Queues mails in the outbox. The row joins the caller's transaction,
+ * if there is one, and MailDispatcher sends it after the commit.
+ * */
 @Service
 public class MailSenderService {
-  @Value("${spring.mail.username}")
-  private String senderEmail;
+  @Autowired
+  private OutgoingMailRepository outgoingMailRepository;
+
+  @Autowired
+  private MailDispatcher mailDispatcher;
 
   @Autowired
-  private JavaMailSender javaMailSender;
+  private MailCoalescingWindow mailCoalescingWindow;
+
+  @Autowired
+  private MailTemplates mailTemplates;
+
+  @Autowired
+  private MailTelemetry mailTelemetry;
 
   public void send(String to, String subject, String body) {
-    SimpleMailMessage simpleMailMessage = new SimpleMailMessage();
-    simpleMailMessage.setFrom(senderEmail);
-    simpleMailMessage.setTo(to);
-    simpleMailMessage.setSubject(subject);
-    simpleMailMessage.setText(body);
+    measure(null, () -> {
+      outgoingMailRepository.save(new OutgoingMail(to, subject, body, System.currentTimeMillis()));
+
+      mailDispatcher.wakeUpAfterCommit();
+    });
+  }
+
+  /*
+   * Sends the confirmation mail for a token of the given kind. The mail
+   * is rendered from its template by MailDispatcher; the outbox only
+   * keeps the token.
+   *
+   * Repeated requests within the window are coalesced (see
+   * MailCoalescingWindow): while the previous mail is still waiting in
+   * the outbox its token is replaced with the new one, and once it has
+   * gone out the new mail waits until the window is over, where it can
+   * be superseded in turn.
+   * */
+  public void send(String to, TokenMarker tokenMarker, String token) {
+    measure(tokenMarker, () -> queue(to, tokenMarker, token));
+  }
+
+  private void queue(String to, TokenMarker tokenMarker, String token) {
+    long now = System.currentTimeMillis();
+    OutgoingMail outgoingMail = new OutgoingMail(to, mailTemplates.get(tokenMarker).subject(), tokenMarker,
+      token, now);
+
+    if (!mailCoalescingWindow.isEnabled()) {
+      outgoingMailRepository.save(outgoingMail);
+      mailDispatcher.wakeUpAfterCommit();
+      return;
+    }
+
+    MailCoalescingWindow.Entry previous = mailCoalescingWindow.get(to, tokenMarker, now);
+
+    if (previous != null) {
+      long nextAttemptAt = previous.nextAttemptAt() - 1;
+
+      if (outgoingMailRepository.supersede(previous.outgoingMailId(), OutgoingMailStatus.PENDING,
+        previous.nextAttemptAt(), nextAttemptAt, token) == 1) {
+        mailCoalescingWindow.putAfterCommit(to, tokenMarker,
+          new MailCoalescingWindow.Entry(previous.outgoingMailId(), nextAttemptAt));
+        mailCoalescingWindow.recordSuperseded();
+        mailDispatcher.wakeUpAfterCommit();
+        return;
+      }
+
+      outgoingMail.setNext_attempt_at(Math.max(now, previous.nextAttemptAt() + mailCoalescingWindow.getWindow()));
+      mailCoalescingWindow.recordDeferred();
+    }
+
+    outgoingMailRepository.save(outgoingMail);
+
+    mailCoalescingWindow.putAfterCommit(to, tokenMarker,
+      new MailCoalescingWindow.Entry(outgoingMail.getId(), outgoingMail.getNext_attempt_at()));
+    mailDispatcher.wakeUpAfterCommit();
+  }
+
+  private void measure(TokenMarker tokenMarker, Runnable queueing) {
+    long startedAt = mailTelemetry.queueingStarted();
+    RuntimeException failure = null;
 
-    javaMailSender.send(simpleMailMessage);
+    try {
+      queueing.run();
+    } catch (RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      mailTelemetry.queueingFinished(tokenMarker, startedAt, failure);
+    }
   }
-}
\ No newline at end of file
+}
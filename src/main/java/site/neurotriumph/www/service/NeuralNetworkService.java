@@ -1,15 +1,24 @@
 package site.neurotriumph.www.service;
 
 import java.util.List;
-import javax.transaction.Transactional;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import site.neurotriumph.www.component.ConfirmedUserCache;
+import site.neurotriumph.www.component.NeuralNetworkCursors;
+import site.neurotriumph.www.component.TrustedUserContext;
 import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.NeuralNetwork;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.CreateNeuralNetworkRequestBody;
 import site.neurotriumph.www.pojo.CreateNeuralNetworkResponseBody;
+import site.neurotriumph.www.pojo.CursorPageResponseBody;
 import site.neurotriumph.www.pojo.DeleteNeuralNetworkRequestBody;
 import site.neurotriumph.www.pojo.GetNeuralNetworkResponseBody;
 import site.neurotriumph.www.pojo.GetNeuralNetworksResponseBodyItem;
@@ -18,6 +27,8 @@ import site.neurotriumph.www.pojo.ToggleNeuralNetworkActivityRequestBody;
 import site.neurotriumph.www.pojo.UpdateNeuralNetworkApiRootRequestBody;
 import site.neurotriumph.www.pojo.UpdateNeuralNetworkApiSecretRequestBody;
 import site.neurotriumph.www.pojo.UpdateNeuralNetworkNameRequestBody;
+import site.neurotriumph.www.projection.NeuralNetworkListItem;
+import site.neurotriumph.www.projection.UserNeuralNetworkListItem;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
 
@@ -29,123 +40,208 @@ public class NeuralNetworkService {
   @Autowired
   private NeuralNetworkRepository neuralNetworkRepository;
 
+  @Autowired
+  private ConfirmedUserCache confirmedUserCache;
+
+  @Autowired
+  private NeuralNetworkCursors neuralNetworkCursors;
+
+  private void requireConfirmedUser(Long userId) {
+    if (TrustedUserContext.isTrusted(userId) || confirmedUserCache.contains(userId)) {
+      return;
+    }
+
+    long stamp = confirmedUserCache.stamp();
+
+    userRepository.findConfirmedById(userId)
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
+
+    confirmedUserCache.put(userId, stamp);
+  }
+
+  /*
+   * The name and the api root of a neural network are unique per owner,
+   * which the database enforces: a violation of one of these constraints
+   * becomes the matching error, anything else is rethrown as it is.
+   * */
+  private static RuntimeException alreadyInUse(DataIntegrityViolationException e) {
+    Throwable cause = e.getCause();
+
+    while (cause != null && !(cause instanceof ConstraintViolationException)) {
+      cause = cause.getCause();
+    }
+
+    String constraintName = cause != null ? ((ConstraintViolationException) cause).getConstraintName() : null;
+
+    if (constraintName != null) {
+      constraintName = constraintName.toLowerCase(Locale.ROOT);
+
+      if (constraintName.contains(NeuralNetwork.OWNER_ID_NAME_CONSTRAINT)) {
+        return DomainException.of(Message.NN_NAME_ALREADY_IN_USE);
+      }
+
+      if (constraintName.contains(NeuralNetwork.OWNER_ID_API_ROOT_HASH_CONSTRAINT)) {
+        return DomainException.of(Message.NN_API_ROOT_ALREADY_IN_USE);
+      }
+    }
+
+    return e;
+  }
+
+  private static GetNeuralNetworksResponseBodyItem toResponseBodyItem(NeuralNetworkListItem n) {
+    long allTests = n.tests_passed() + n.tests_failed();
+    return new GetNeuralNetworksResponseBodyItem(
+      allTests > 0 ? (n.tests_passed() / allTests * 100) : 0,
+      n.name());
+  }
+
+  private static GetUserNeuralNetworksResponseBodyItem toUserResponseBodyItem(UserNeuralNetworkListItem n) {
+    long allTests = n.tests_passed() + n.tests_failed();
+    return new GetUserNeuralNetworksResponseBodyItem(
+      n.id(),
+      allTests > 0 ? (n.tests_passed() / allTests * 100) : 0,
+      n.name(),
+      n.invalid_api(),
+      n.active());
+  }
+
+  /*
+   * One row more than a page is read, the cursor is only handed out
+   * when that row exists.
+   * */
+  private <N, T> CursorPageResponseBody<T> toCursorPage(Long ownerId, List<N> neuralNetworks,
+                                                        ToLongFunction<N> idOf, Function<N, T> mapper) {
+    if (neuralNetworks.size() <= Const.NEURAL_NETWORKS_PAGE_SIZE) {
+      return new CursorPageResponseBody<>(neuralNetworks.stream().map(mapper).toList(), null);
+    }
+
+    List<N> page = neuralNetworks.subList(0, Const.NEURAL_NETWORKS_PAGE_SIZE);
+
+    return new CursorPageResponseBody<>(page.stream().map(mapper).toList(),
+      neuralNetworkCursors.encode(ownerId, idOf.applyAsLong(page.get(page.size() - 1))));
+  }
+
   public List<GetNeuralNetworksResponseBodyItem> getAll(Long page) {
-    List<NeuralNetwork> neuralNetworks = neuralNetworkRepository.findAllActive(
-      PageRequest.of((int) (page * Const.NEURAL_NETWORKS_PAGE_SIZE), Const.NEURAL_NETWORKS_PAGE_SIZE));
+    List<NeuralNetworkListItem> neuralNetworks = neuralNetworkRepository.findAllActive(
+      PageRequest.of(page.intValue(), Const.NEURAL_NETWORKS_PAGE_SIZE));
 
     return neuralNetworks.stream()
-      .map(n -> {
-        long allTests = n.getTests_passed() + n.getTests_failed();
-        return new GetNeuralNetworksResponseBodyItem(
-          allTests > 0 ? (n.getTests_passed() / allTests * 100) : 0,
-          n.getName());
-      })
+      .map(NeuralNetworkService::toResponseBodyItem)
       .toList();
   }
 
+  public CursorPageResponseBody<GetNeuralNetworksResponseBodyItem> getAllAfter(String cursor) {
+    long afterId = neuralNetworkCursors.decode(null, cursor);
+
+    List<NeuralNetworkListItem> neuralNetworks = neuralNetworkRepository.findAllActiveAfter(afterId,
+      PageRequest.of(0, Const.NEURAL_NETWORKS_PAGE_SIZE + 1));
+
+    return toCursorPage(null, neuralNetworks, NeuralNetworkListItem::id,
+      NeuralNetworkService::toResponseBodyItem);
+  }
+
   public List<GetUserNeuralNetworksResponseBodyItem> getAllByUser(Long userId, Long page) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+    requireConfirmedUser(userId);
 
-    List<NeuralNetwork> neuralNetworks = neuralNetworkRepository.findAllByOwnerId(userId,
-      PageRequest.of((int) (page * Const.NEURAL_NETWORKS_PAGE_SIZE), Const.NEURAL_NETWORKS_PAGE_SIZE));
+    List<UserNeuralNetworkListItem> neuralNetworks = neuralNetworkRepository.findAllByOwnerId(userId,
+      PageRequest.of(page.intValue(), Const.NEURAL_NETWORKS_PAGE_SIZE));
 
     return neuralNetworks.stream()
-      .map(n -> {
-        long allTests = n.getTests_passed() + n.getTests_failed();
-        return new GetUserNeuralNetworksResponseBodyItem(
-          n.getId(),
-          allTests > 0 ? (n.getTests_passed() / allTests * 100) : 0,
-          n.getName(),
-          n.isInvalid_api(),
-          n.isActive());
-      })
+      .map(NeuralNetworkService::toUserResponseBodyItem)
       .toList();
   }
 
+  public CursorPageResponseBody<GetUserNeuralNetworksResponseBodyItem> getAllByUserAfter(Long userId,
+                                                                                         String cursor) {
+    long afterId = neuralNetworkCursors.decode(userId, cursor);
+
+    requireConfirmedUser(userId);
+
+    List<UserNeuralNetworkListItem> neuralNetworks = neuralNetworkRepository.findAllByOwnerIdAfter(userId, afterId,
+      PageRequest.of(0, Const.NEURAL_NETWORKS_PAGE_SIZE + 1));
+
+    return toCursorPage(userId, neuralNetworks, UserNeuralNetworkListItem::id,
+      NeuralNetworkService::toUserResponseBodyItem);
+  }
+
   public void delete(Long userId, DeleteNeuralNetworkRequestBody deleteNeuralNetworkRequestBody) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+    requireConfirmedUser(userId);
 
     NeuralNetwork neuralNetwork = neuralNetworkRepository.findByIdAndOwnerId(
         deleteNeuralNetworkRequestBody.getId(), userId)
-      .orElseThrow(() -> new IllegalStateException(Message.NN_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.NN_DOES_NOT_EXIST));
 
     neuralNetworkRepository.delete(neuralNetwork);
   }
 
-  @Transactional
+  /*
+   * Tells why a conditional update of a neural network changed no row.
+   * The user is only looked up here, a user who does not exist or is not
+   * confirmed owns no neural networks, so the update itself is enough
+   * when it succeeds.
+   * */
+  private DomainException updateFailed(Long userId, Long id) {
+    requireConfirmedUser(userId);
+
+    return DomainException.of(neuralNetworkRepository.existsByIdAndOwnerId(id, userId)
+      ? Message.NOTHING_TO_UPDATE
+      : Message.NN_DOES_NOT_EXIST);
+  }
+
   public void toggleActivity(Long userId,
                              ToggleNeuralNetworkActivityRequestBody toggleNeuralNetworkActivityRequestBody) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+    if (neuralNetworkRepository.toggleActivity(toggleNeuralNetworkActivityRequestBody.getId(), userId) == 0) {
+      requireConfirmedUser(userId);
 
-    NeuralNetwork neuralNetwork = neuralNetworkRepository.findByIdAndOwnerId(
-        toggleNeuralNetworkActivityRequestBody.getId(), userId)
-      .orElseThrow(() -> new IllegalStateException(Message.NN_DOES_NOT_EXIST));
-
-    neuralNetwork.setActive(!neuralNetwork.isActive());
+      throw DomainException.of(Message.NN_DOES_NOT_EXIST);
+    }
   }
 
-  @Transactional
   public void updateApiSecret(Long userId,
                               UpdateNeuralNetworkApiSecretRequestBody updateNeuralNetworkApiSecretRequestBody) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
-
-    NeuralNetwork neuralNetwork = neuralNetworkRepository.findByIdAndOwnerId(
-        updateNeuralNetworkApiSecretRequestBody.getId(), userId)
-      .orElseThrow(() -> new IllegalStateException(Message.NN_DOES_NOT_EXIST));
-
-    if (neuralNetwork.getApi_secret().equals(
-      updateNeuralNetworkApiSecretRequestBody.getNew_api_secret())) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+    if (neuralNetworkRepository.updateApiSecret(updateNeuralNetworkApiSecretRequestBody.getId(), userId,
+      updateNeuralNetworkApiSecretRequestBody.getNew_api_secret()) == 0) {
+      throw updateFailed(userId, updateNeuralNetworkApiSecretRequestBody.getId());
     }
-
-    neuralNetwork.setApi_secret(updateNeuralNetworkApiSecretRequestBody.getNew_api_secret());
   }
 
-  @Transactional
   public void updateApiRoot(Long userId,
                             UpdateNeuralNetworkApiRootRequestBody updateNeuralNetworkApiRootRequestBody) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
-
-    NeuralNetwork neuralNetwork = neuralNetworkRepository.findByIdAndOwnerId(
-        updateNeuralNetworkApiRootRequestBody.getId(), userId)
-      .orElseThrow(() -> new IllegalStateException(Message.NN_DOES_NOT_EXIST));
-
-    if (neuralNetwork.getApi_root().equals(
-      updateNeuralNetworkApiRootRequestBody.getNew_api_root())) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+    int updated;
+
+    try {
+      updated = neuralNetworkRepository.updateApiRoot(updateNeuralNetworkApiRootRequestBody.getId(), userId,
+        updateNeuralNetworkApiRootRequestBody.getNew_api_root(),
+        NeuralNetwork.hashApiRoot(updateNeuralNetworkApiRootRequestBody.getNew_api_root()));
+    } catch (DataIntegrityViolationException e) {
+      throw alreadyInUse(e);
     }
 
-    neuralNetwork.setApi_root(updateNeuralNetworkApiRootRequestBody.getNew_api_root());
+    if (updated == 0) {
+      throw updateFailed(userId, updateNeuralNetworkApiRootRequestBody.getId());
+    }
   }
 
-  @Transactional
   public void updateName(Long userId, UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
-
-    NeuralNetwork neuralNetwork = neuralNetworkRepository.findByIdAndOwnerId(
-        updateNeuralNetworkNameRequestBody.getId(), userId)
-      .orElseThrow(() -> new IllegalStateException(Message.NN_DOES_NOT_EXIST));
+    int updated;
 
-    if (neuralNetwork.getName().equals(
-      updateNeuralNetworkNameRequestBody.getNew_name())) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+    try {
+      updated = neuralNetworkRepository.updateName(updateNeuralNetworkNameRequestBody.getId(), userId,
+        updateNeuralNetworkNameRequestBody.getNew_name());
+    } catch (DataIntegrityViolationException e) {
+      throw alreadyInUse(e);
     }
 
-    neuralNetwork.setName(updateNeuralNetworkNameRequestBody.getNew_name());
+    if (updated == 0) {
+      throw updateFailed(userId, updateNeuralNetworkNameRequestBody.getId());
+    }
   }
 
   public GetNeuralNetworkResponseBody get(Long userId, Long id) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+    requireConfirmedUser(userId);
 
     NeuralNetwork neuralNetwork = neuralNetworkRepository.findByIdAndOwnerId(id, userId)
-      .orElseThrow(() -> new IllegalStateException(Message.NN_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.NN_DOES_NOT_EXIST));
 
     return new GetNeuralNetworkResponseBody(
       neuralNetwork.getName(),
@@ -159,24 +255,19 @@ public class NeuralNetworkService {
 
   public CreateNeuralNetworkResponseBody create(Long userId,
                                                 CreateNeuralNetworkRequestBody createNeuralNetworkRequestBody) {
-    userRepository.findConfirmedById(userId)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
-
-    neuralNetworkRepository.findByNameAndOwnerId(createNeuralNetworkRequestBody.getName(), userId)
-      .ifPresent(o -> {
-        throw new IllegalStateException(Message.NN_NAME_ALREADY_IN_USE);
-      });
-
-    neuralNetworkRepository.findByApiRootAndOwnerId(createNeuralNetworkRequestBody.getApi_root(), userId)
-      .ifPresent(o -> {
-        throw new IllegalStateException(Message.NN_API_ROOT_ALREADY_IN_USE);
-      });
-
-    NeuralNetwork neuralNetwork = neuralNetworkRepository.save(new NeuralNetwork(
-      userId,
-      createNeuralNetworkRequestBody.getName(),
-      createNeuralNetworkRequestBody.getApi_root(),
-      createNeuralNetworkRequestBody.getApi_secret()));
+    requireConfirmedUser(userId);
+
+    NeuralNetwork neuralNetwork;
+
+    try {
+      neuralNetwork = neuralNetworkRepository.save(new NeuralNetwork(
+        userId,
+        createNeuralNetworkRequestBody.getName(),
+        createNeuralNetworkRequestBody.getApi_root(),
+        createNeuralNetworkRequestBody.getApi_secret()));
+    } catch (DataIntegrityViolationException e) {
+      throw alreadyInUse(e);
+    }
 
     return new CreateNeuralNetworkResponseBody(neuralNetwork.getId());
   }
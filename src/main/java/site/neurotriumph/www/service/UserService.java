@@ -1,16 +1,18 @@
 package site.neurotriumph.www.service;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import site.neurotriumph.www.component.ConfirmedUserCache;
+import site.neurotriumph.www.component.PasswordHashingExecutor;
+import site.neurotriumph.www.component.TokenEpochTable;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
 import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.DeleteUserRequestBody;
 import site.neurotriumph.www.pojo.GetUserResponseBody;
 import site.neurotriumph.www.pojo.UpdateEmailRequestBody;
@@ -23,8 +25,8 @@ import java.util.Date;
 
 @Service
 public class UserService {
-  @Value("${app.secret}")
-  private String appSecret;
+  @Autowired
+  private TokenVerifierRegistry tokenVerifierRegistry;
 
   @Autowired
   private UserRepository userRepository;
@@ -35,103 +37,124 @@ public class UserService {
   @Autowired
   private MailSenderService mailSenderService;
 
+  @Autowired
+  private ConfirmedUserCache confirmedUserCache;
+
+  @Autowired
+  private TokenEpochTable tokenEpochTable;
+
+  @Autowired
+  private PasswordHashingExecutor passwordHashingExecutor;
+
+  /*
+   * Stops trusting the authentication tokens issued to the user so far.
+   * */
+  private void advanceTokenEpoch(User user) {
+    user.setToken_epoch(user.getToken_epoch() + 1);
+    tokenEpochTable.putTransactionally(user.getId(), user.getToken_epoch());
+  }
+
   @Transactional
   public void confirmUserDeletion(Long id) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
     userRepository.delete(user);
 
     neuralNetworkRepository.deleteAllByOwnerId(user.getId());
+
+    confirmedUserCache.invalidateTransactionally(user.getId());
+    tokenEpochTable.removeTransactionally(user.getId());
   }
 
   public void deleteUser(Long id, DeleteUserRequestBody deleteUserRequestBody) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
-    if (!user.getPassword_hash()
-      .equals(DigestUtils.sha256Hex(deleteUserRequestBody.getPassword()))) {
-      throw new IllegalStateException(Message.WRONG_PASSWORD);
+    if (!passwordHashingExecutor.matches(deleteUserRequestBody.getPassword(), user.getPassword_hash())) {
+      throw DomainException.of(Message.WRONG_PASSWORD);
     }
 
     String token = JWT.create()
       .withExpiresAt(new Date(System.currentTimeMillis() + Const.CONFIRMATION_TOKEN_LIFETIME))
-      .sign(Algorithm.HMAC256(appSecret + TokenMarker.USER_DELETE_CONFIRMATION));
+      .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.USER_DELETE_CONFIRMATION));
 
-    mailSenderService.send(user.getEmail(), "Neuro Triumph", token);
+    mailSenderService.send(user.getEmail(), TokenMarker.USER_DELETE_CONFIRMATION, token);
   }
 
   @Transactional
   public void confirmEmailUpdate(Long id, String newEmail) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
     if (user.getEmail().equals(newEmail)) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+      throw DomainException.of(Message.NOTHING_TO_UPDATE);
     }
 
     user.setEmail(newEmail);
+    advanceTokenEpoch(user);
   }
 
   public void updateEmail(Long id, UpdateEmailRequestBody updateEmailRequestBody) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
-    if (!user.getPassword_hash()
-      .equals(DigestUtils.sha256Hex(updateEmailRequestBody.getPassword()))) {
-      throw new IllegalStateException(Message.WRONG_PASSWORD);
+    if (!passwordHashingExecutor.matches(updateEmailRequestBody.getPassword(), user.getPassword_hash())) {
+      throw DomainException.of(Message.WRONG_PASSWORD);
     }
 
     if (user.getEmail().equals(updateEmailRequestBody.getNew_email())) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+      throw DomainException.of(Message.NOTHING_TO_UPDATE);
     }
 
     String token = JWT.create()
       .withClaim(Field.NEW_EMAIL, updateEmailRequestBody.getNew_email())
       .withExpiresAt(new Date(System.currentTimeMillis() + Const.CONFIRMATION_TOKEN_LIFETIME))
-      .sign(Algorithm.HMAC256(appSecret + TokenMarker.EMAIL_UPDATE_CONFIRMATION));
+      .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.EMAIL_UPDATE_CONFIRMATION));
 
-    mailSenderService.send(user.getEmail(), "Neuro Triumph", token);
+    mailSenderService.send(user.getEmail(), TokenMarker.EMAIL_UPDATE_CONFIRMATION, token);
   }
 
   @Transactional
   public void confirmPasswordUpdate(Long id, String newPasswordHash) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
     if (user.getPassword_hash().equals(newPasswordHash)) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+      throw DomainException.of(Message.NOTHING_TO_UPDATE);
     }
 
     user.setPassword_hash(newPasswordHash);
+    advanceTokenEpoch(user);
   }
 
   public void updatePassword(Long id, UpdatePasswordRequestBody updatePasswordRequestBody) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
-    if (!user.getPassword_hash()
-      .equals(DigestUtils.sha256Hex(updatePasswordRequestBody.getPassword()))) {
-      throw new IllegalStateException(Message.WRONG_PASSWORD);
+    if (!passwordHashingExecutor.matches(updatePasswordRequestBody.getPassword(), user.getPassword_hash())) {
+      throw DomainException.of(Message.WRONG_PASSWORD);
     }
 
-    String newPasswordHash = DigestUtils.sha256Hex(updatePasswordRequestBody.getNew_password());
+    String newPassword = updatePasswordRequestBody.getNew_password();
 
-    if (user.getPassword_hash().equals(newPasswordHash)) {
-      throw new IllegalStateException(Message.NOTHING_TO_UPDATE);
+    if (passwordHashingExecutor.matches(newPassword, user.getPassword_hash())) {
+      throw DomainException.of(Message.NOTHING_TO_UPDATE);
     }
 
+    String newPasswordHash = passwordHashingExecutor.hash(newPassword);
+
     String token = JWT.create()
       .withClaim(Field.NEW_PASSWORD_HASH, newPasswordHash)
       .withExpiresAt(new Date(System.currentTimeMillis() + Const.CONFIRMATION_TOKEN_LIFETIME))
-      .sign(Algorithm.HMAC256(appSecret + TokenMarker.PASSWORD_UPDATE_CONFIRMATION));
+      .sign(tokenVerifierRegistry.getAlgorithm(TokenMarker.PASSWORD_UPDATE_CONFIRMATION));
 
-    mailSenderService.send(user.getEmail(), "Neuro Triumph", token);
+    mailSenderService.send(user.getEmail(), TokenMarker.PASSWORD_UPDATE_CONFIRMATION, token);
   }
 
   public GetUserResponseBody getUser(Long id) {
     User user = userRepository.findConfirmedById(id)
-      .orElseThrow(() -> new IllegalStateException(Message.USER_DOES_NOT_EXIST));
+      .orElseThrow(() -> DomainException.of(Message.USER_DOES_NOT_EXIST));
 
     return new GetUserResponseBody(user.getEmail());
   }
@@ -0,0 +1,212 @@
+package site.neurotriumph.www.validator;
+
+import site.neurotriumph.www.annotation.NeuralNetworkApiRoot;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/*
+ * Accepts exactly the language of Regex.URL without backtracking. The
+ * regex is an alternation of three authority forms followed by an
+ * optional path, query and fragment:
+ *
+ *   scheme:[//][userinfo@]host[:port] tail
+ *   www?host tail                       (the dot after www is unescaped)
+ *   userinfo@host tail
+ *
+ * Each form is tried once, left to right. Inside a form every part ends
+ * where the next one is forced to start, so the longest run of a part's
+ * characters is always the right split and no position is visited more
+ * than a constant number of times.
+ * */
+public class NeuralNetworkApiRootValidator implements ConstraintValidator<NeuralNetworkApiRoot, String> {
+  private static final int HOST = 1;
+  private static final int USER_INFO = 1 << 1;
+  private static final int PATH = 1 << 2;
+  private static final int QUERY = 1 << 3;
+  private static final int WORD = 1 << 4;
+
+  private static final byte[] CHARACTER_CLASSES = new byte[128];
+
+  static {
+    for (char c = 0; c < 128; c++) {
+      boolean letterOrDigit = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+      int classes = 0;
+
+      if (letterOrDigit || c == '_') {
+        classes |= USER_INFO | PATH | QUERY | WORD;
+      }
+
+      if (letterOrDigit || c == '.' || c == '-') {
+        classes |= HOST;
+      }
+
+      if ("-;:&=+$,".indexOf(c) >= 0) {
+        classes |= USER_INFO;
+      }
+
+      if ("+~%/.-".indexOf(c) >= 0) {
+        classes |= PATH;
+      }
+
+      if ("-+=&;%@.".indexOf(c) >= 0) {
+        classes |= QUERY;
+      }
+
+      CHARACTER_CLASSES[c] = (byte) classes;
+    }
+  }
+
+  @Override
+  public boolean isValid(String value, ConstraintValidatorContext context) {
+    return value == null || matches(value);
+  }
+
+  public static boolean matches(String value) {
+    return matchesScheme(value) || matchesWww(value) || matchesUserInfo(value);
+  }
+
+  /*
+   * [A-Za-z]{3,9}:(//)?([-;:&=+$,\w]+@)?[A-Za-z0-9.-]+(:[0-9]+)? tail
+   * */
+  private static boolean matchesScheme(String value) {
+    int length = value.length();
+    int i = 0;
+
+    while (i < length && isLetter(value.charAt(i))) {
+      i++;
+    }
+
+    if (i < 3 || i > 9 || i == length || value.charAt(i) != ':') {
+      return false;
+    }
+
+    i++;
+
+    // Neither the user info nor the host may start with '/'.
+    if (value.startsWith("//", i)) {
+      i += 2;
+    }
+
+    // The user info cannot contain '@', so if there is one it ends at
+    // the first '@'. Both readings have to be tried: "a@b" is also the
+    // host "a" followed by the query "@b".
+    int userInfoEnd = skip(value, i, USER_INFO);
+
+    if (userInfoEnd > i && userInfoEnd < length && value.charAt(userInfoEnd) == '@'
+      && matchesHost(value, userInfoEnd + 1, true)) {
+      return true;
+    }
+
+    return matchesHost(value, i, true);
+  }
+
+  /*
+   * www.[A-Za-z0-9.-]+ tail
+   * */
+  private static boolean matchesWww(String value) {
+    if (!value.startsWith("www") || value.length() == 3) {
+      return false;
+    }
+
+    int any = value.codePointAt(3);
+
+    if (isLineTerminator(any)) {
+      return false;
+    }
+
+    return matchesHost(value, 3 + Character.charCount(any), false);
+  }
+
+  /*
+   * [-;:&=+$,\w]+@[A-Za-z0-9.-]+ tail
+   * */
+  private static boolean matchesUserInfo(String value) {
+    int userInfoEnd = skip(value, 0, USER_INFO);
+
+    if (userInfoEnd == 0 || userInfoEnd == value.length() || value.charAt(userInfoEnd) != '@') {
+      return false;
+    }
+
+    return matchesHost(value, userInfoEnd + 1, false);
+  }
+
+  /*
+   * [A-Za-z0-9.-]+ followed by an optional port and the tail. The tail
+   * can begin with any host character too, but whatever it could take
+   * off the end of the host it would also match without.
+   * */
+  private static boolean matchesHost(String value, int from, boolean withPort) {
+    int hostEnd = skip(value, from, HOST);
+
+    if (hostEnd == from) {
+      return false;
+    }
+
+    // ':' is not allowed anywhere in the tail.
+    if (withPort && hostEnd < value.length() && value.charAt(hostEnd) == ':') {
+      int portEnd = hostEnd + 1;
+
+      while (portEnd < value.length() && isDigit(value.charAt(portEnd))) {
+        portEnd++;
+      }
+
+      return portEnd > hostEnd + 1 && matchesTail(value, portEnd);
+    }
+
+    return matchesTail(value, hostEnd);
+  }
+
+  /*
+   * (/[+~%/.\w-]*)?\??[-+=&;%@.\w]*#?\w*
+   * */
+  private static boolean matchesTail(String value, int from) {
+    int length = value.length();
+    int i = from;
+
+    if (i < length && value.charAt(i) == '/') {
+      i = skip(value, i + 1, PATH);
+    }
+
+    if (i < length && value.charAt(i) == '?') {
+      i++;
+    }
+
+    i = skip(value, i, QUERY);
+
+    if (i < length && value.charAt(i) == '#') {
+      i++;
+    }
+
+    return skip(value, i, WORD) == length;
+  }
+
+  private static int skip(String value, int from, int characterClass) {
+    int i = from;
+
+    while (i < value.length() && isIn(value.charAt(i), characterClass)) {
+      i++;
+    }
+
+    return i;
+  }
+
+  private static boolean isIn(char c, int characterClass) {
+    return c < 128 && (CHARACTER_CLASSES[c] & characterClass) != 0;
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /*
+   * The characters an unescaped '.' does not match.
+   * */
+  private static boolean isLineTerminator(int c) {
+    return c == '\n' || c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+  }
+}
@@ -0,0 +1,61 @@
+package site.neurotriumph.www.validator;
+
+import site.neurotriumph.www.annotation.NeuralNetworkName;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/*
+ * Accepts exactly the language of Regex.NN_NAME in a single pass: any
+ * character but a digit, then runs of letters and digits joined by
+ * single '.', '_' or '-' separators. The regex itself nests quantifiers
+ * over the same characters and backtracks through every way of splitting
+ * a long name that ends with an invalid character.
+ * */
+public class NeuralNetworkNameValidator implements ConstraintValidator<NeuralNetworkName, String> {
+  @Override
+  public boolean isValid(String value, ConstraintValidatorContext context) {
+    return value == null || matches(value);
+  }
+
+  public static boolean matches(String value) {
+    int length = value.length();
+
+    if (length == 0) {
+      return false;
+    }
+
+    // The first character is a whole code point, like [^0-9] in the regex.
+    int first = value.codePointAt(0);
+
+    if (first >= '0' && first <= '9') {
+      return false;
+    }
+
+    int i = Character.charCount(first);
+
+    if (i == length || !isLetterOrDigit(value.charAt(i))) {
+      return false;
+    }
+
+    boolean afterSeparator = false;
+
+    for (i++; i < length; i++) {
+      char c = value.charAt(i);
+
+      if (isLetterOrDigit(c)) {
+        afterSeparator = false;
+      } else if ((c == '.' || c == '_' || c == '-') && !afterSeparator) {
+        afterSeparator = true;
+      } else {
+        return false;
+      }
+    }
+
+    return !afterSeparator;
+  }
+
+  private static boolean isLetterOrDigit(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+  }
+}
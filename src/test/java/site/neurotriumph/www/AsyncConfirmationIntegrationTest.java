@@ -0,0 +1,185 @@
+package site.neurotriumph.www;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.Header;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.OperationStatus;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.pojo.ConfirmationRequestBody;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+import site.neurotriumph.www.pojo.OperationResponseBody;
+import site.neurotriumph.www.repository.NeuralNetworkRepository;
+import site.neurotriumph.www.repository.UserRepository;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource("/test.properties")
+public class AsyncConfirmationIntegrationTest {
+  @Value("${app.secret}")
+  private String appSecret;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NeuralNetworkRepository neuralNetworkRepository;
+
+  private String confirmationToken(TokenMarker tokenMarker) {
+    // A fresh id per test, as operations are remembered per token.
+    return JWT.create()
+      .withJWTId(UUID.randomUUID().toString())
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + tokenMarker));
+  }
+
+  private OperationResponseBody accept(String url, String authToken, String token) throws Exception {
+    var request = put(url)
+      .content(objectMapper.writeValueAsString(new ConfirmationRequestBody(token)))
+      .contentType(MediaType.APPLICATION_JSON);
+
+    if (authToken != null) {
+      request.header(Header.AUTHENTICATION_TOKEN, authToken);
+    }
+
+    MvcResult mvcResult = this.mockMvc.perform(request)
+      .andDo(print())
+      .andExpect(status().isAccepted())
+      .andReturn();
+
+    OperationResponseBody operationResponseBody = objectMapper.readValue(
+      mvcResult.getResponse().getContentAsString(), OperationResponseBody.class);
+
+    assertEquals("/operation/" + operationResponseBody.getId(),
+      mvcResult.getResponse().getHeader(HttpHeaders.LOCATION));
+
+    return operationResponseBody;
+  }
+
+  private OperationResponseBody awaitCompletion(String id) {
+    AtomicReference<OperationResponseBody> operationResponseBody = new AtomicReference<>();
+
+    await().atMost(5, SECONDS).untilAsserted(() -> {
+      MvcResult mvcResult = this.mockMvc.perform(get("/operation/" + id))
+        .andExpect(status().isOk())
+        .andReturn();
+
+      operationResponseBody.set(objectMapper.readValue(
+        mvcResult.getResponse().getContentAsString(), OperationResponseBody.class));
+
+      assertTrue(operationResponseBody.get().getStatus() != OperationStatus.PENDING);
+    });
+
+    return operationResponseBody.get();
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldConfirmRegistrationOnceInBackground() throws Exception {
+    String token = confirmationToken(TokenMarker.REGISTRATION_CONFIRMATION);
+
+    OperationResponseBody accepted = accept("/register/confirm/async", null, token);
+    OperationResponseBody completed = awaitCompletion(accepted.getId());
+
+    assertEquals(OperationStatus.DONE, completed.getStatus());
+    assertTrue(userRepository.findById(1L).orElseThrow().isConfirmed());
+
+    // The same token is the same operation, it does not fail with "already confirmed".
+    OperationResponseBody repeated = accept("/register/confirm/async", null, token);
+
+    assertEquals(accepted.getId(), repeated.getId());
+    assertEquals(OperationStatus.DONE, repeated.getStatus());
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReportFailedOperation() throws Exception {
+    OperationResponseBody accepted = accept("/register/confirm/async", null,
+      confirmationToken(TokenMarker.REGISTRATION_CONFIRMATION));
+    OperationResponseBody completed = awaitCompletion(accepted.getId());
+
+    assertEquals(OperationStatus.FAILED, completed.getStatus());
+    assertEquals(Message.USER_ALREADY_CONFIRMED, completed.getError());
+    assertEquals("user_already_confirmed", completed.getCode());
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql", "/sql/insert_neural_network.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql", "/sql/truncate_neural_network.sql"},
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldDeleteUserInBackground() throws Exception {
+    String authToken = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    OperationResponseBody accepted = accept("/user/delete/confirm/async", authToken,
+      confirmationToken(TokenMarker.USER_DELETE_CONFIRMATION));
+    OperationResponseBody completed = awaitCompletion(accepted.getId());
+
+    assertEquals(OperationStatus.DONE, completed.getStatus());
+    assertTrue(userRepository.findById(1L).isEmpty());
+    assertTrue(neuralNetworkRepository.findAll().isEmpty());
+  }
+
+  @Test
+  public void shouldRejectInvalidTokenBeforeAccepting() throws Exception {
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.USER_DELETE_CONFIRMATION));
+
+    this.mockMvc.perform(put("/register/confirm/async")
+        .content(objectMapper.writeValueAsString(new ConfirmationRequestBody(token)))
+        .contentType(MediaType.APPLICATION_JSON))
+      .andDo(print())
+      .andExpect(status().isBadRequest())
+      .andExpect(content().string(objectMapper.writeValueAsString(
+        new ErrorResponseBody(Message.INVALID_TOKEN))));
+  }
+
+  @Test
+  public void shouldReturnOperationDoesNotExistError() throws Exception {
+    this.mockMvc.perform(get("/operation/" + "0".repeat(64)))
+      .andDo(print())
+      .andExpect(status().isBadRequest())
+      .andExpect(content().string(objectMapper.writeValueAsString(
+        new ErrorResponseBody(Message.OPERATION_DOES_NOT_EXIST))));
+  }
+}
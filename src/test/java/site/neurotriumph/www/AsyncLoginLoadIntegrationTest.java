@@ -0,0 +1,111 @@
+package site.neurotriumph.www;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import site.neurotriumph.www.hasher.Sha256PasswordHasher;
+import site.neurotriumph.www.pojo.LoginRequestBody;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Load test for the asynchronous login endpoint. Tomcat is limited to
+ * a few threads and every password check takes a fixed time, so the
+ * number of password checks in flight shows how many logins the server
+ * handles at once with the same request threads.
+ * */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+  "server.tomcat.threads.max=" + AsyncLoginLoadIntegrationTest.TOMCAT_THREADS,
+  "server.tomcat.threads.min-spare=" + AsyncLoginLoadIntegrationTest.TOMCAT_THREADS,
+  "app.password.hashing.threads=" + AsyncLoginLoadIntegrationTest.CONCURRENT_LOGINS,
+  "app.password.hashing.queue-capacity=" + AsyncLoginLoadIntegrationTest.CONCURRENT_LOGINS,
+  "app.async.database.threads=8"
+})
+@TestPropertySource("/test.properties")
+public class AsyncLoginLoadIntegrationTest {
+  static final int TOMCAT_THREADS = 4;
+  static final int CONCURRENT_LOGINS = 32;
+  private static final long PASSWORD_CHECK_MILLIS = 200;
+
+  private static final AtomicInteger passwordChecksInFlight = new AtomicInteger();
+  private static final AtomicInteger maxPasswordChecksInFlight = new AtomicInteger();
+
+  @SpyBean
+  private Sha256PasswordHasher sha256PasswordHasher;
+
+  @LocalServerPort
+  private int port;
+
+  @Value("${spring.mail.username}")
+  private String senderEmail;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  private int measureMaxConcurrentLogins(String path) throws Exception {
+    HttpRequest httpRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+        new LoginRequestBody(senderEmail, "Qwerty123"))))
+      .build();
+
+    maxPasswordChecksInFlight.set(0);
+
+    Mockito.doAnswer(invocation -> {
+      maxPasswordChecksInFlight.accumulateAndGet(passwordChecksInFlight.incrementAndGet(), Math::max);
+
+      try {
+        Thread.sleep(PASSWORD_CHECK_MILLIS);
+      } finally {
+        passwordChecksInFlight.decrementAndGet();
+      }
+
+      return invocation.callRealMethod();
+    }).when(sha256PasswordHasher).matches(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < CONCURRENT_LOGINS; i++) {
+      responses.add(httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      assertEquals(200, response.get().statusCode());
+    }
+
+    return maxPasswordChecksInFlight.get();
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldHandleSeveralTimesMoreConcurrentLoginsAsynchronously() throws Exception {
+    int maxConcurrentLogins = measureMaxConcurrentLogins("/login");
+    int maxConcurrentAsyncLogins = measureMaxConcurrentLogins("/login/async");
+
+    assertTrue(maxConcurrentLogins <= TOMCAT_THREADS);
+    assertTrue(maxConcurrentAsyncLogins >= 4 * TOMCAT_THREADS);
+  }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.UserService;
 
@@ -28,8 +29,8 @@ public class ConfirmEmailUpdateUnitTest {
   private UserRepository userRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNothingToUpdate() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNothingToUpdate() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       User user = Mockito.spy(new User());
       user.setId(1L);
       user.setEmail("test@gmail.com");
@@ -46,8 +47,8 @@ public class ConfirmEmailUpdateUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(1L)))
         .thenReturn(Optional.empty());
 
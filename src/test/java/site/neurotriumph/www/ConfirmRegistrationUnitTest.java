@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.AuthService;
 
@@ -28,8 +29,8 @@ public class ConfirmRegistrationUnitTest {
   private UserRepository userRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserAlreadyConfirmed() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserAlreadyConfirmed() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       User user = Mockito.spy(new User());
       user.setConfirmed(true);
 
@@ -47,8 +48,8 @@ public class ConfirmRegistrationUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.doReturn(Optional.empty())
         .when(userRepository)
         .findById(ArgumentMatchers.eq(1L));
@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.UserService;
@@ -32,8 +33,8 @@ public class ConfirmUserDeletionUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(1L)))
         .thenReturn(Optional.empty());
 
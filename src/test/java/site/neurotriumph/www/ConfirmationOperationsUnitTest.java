@@ -0,0 +1,125 @@
+package site.neurotriumph.www;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import site.neurotriumph.www.component.BoundedExecutor;
+import site.neurotriumph.www.component.ConfirmationOperations;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.OperationStatus;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.exception.ServerBusyException;
+import site.neurotriumph.www.pojo.OperationResponseBody;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConfirmationOperationsUnitTest {
+  private final BoundedExecutor confirmationExecutor = new BoundedExecutor("confirmation", 1, 10);
+
+  private ConfirmationOperations confirmationOperations(int capacity) {
+    ConfirmationOperations confirmationOperations = new ConfirmationOperations(60000, capacity);
+    ReflectionTestUtils.setField(confirmationOperations, "confirmationExecutor", confirmationExecutor);
+
+    return confirmationOperations;
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(5);
+    }
+  }
+
+  private static OperationStatus statusOf(ConfirmationOperations confirmationOperations, String id) {
+    return confirmationOperations.getStatus(id).getStatus();
+  }
+
+  @After
+  public void tearDown() {
+    confirmationExecutor.destroy();
+  }
+
+  @Test
+  public void shouldRunConfirmationAgainAfterTransientFailure() throws InterruptedException {
+    ConfirmationOperations confirmationOperations = confirmationOperations(10);
+    AtomicInteger runs = new AtomicInteger();
+
+    confirmationOperations.submit(TokenMarker.REGISTRATION_CONFIRMATION, "token", () -> {
+      runs.incrementAndGet();
+      throw new IllegalStateException("database timeout");
+    });
+
+    await(() -> confirmationOperations.getSize() == 0);
+
+    OperationResponseBody operationResponseBody = confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "token", runs::incrementAndGet);
+
+    await(() -> statusOf(confirmationOperations, operationResponseBody.getId()) == OperationStatus.DONE);
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  public void shouldKeepDomainRejection() throws InterruptedException {
+    ConfirmationOperations confirmationOperations = confirmationOperations(10);
+    AtomicInteger runs = new AtomicInteger();
+
+    OperationResponseBody accepted = confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "token", () -> {
+        runs.incrementAndGet();
+        throw DomainException.of(Message.USER_DOES_NOT_EXIST);
+      });
+
+    await(() -> statusOf(confirmationOperations, accepted.getId()) == OperationStatus.FAILED);
+
+    OperationResponseBody repeated = confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "token", runs::incrementAndGet);
+
+    assertEquals(OperationStatus.FAILED, repeated.getStatus());
+    assertEquals(Message.USER_DOES_NOT_EXIST, repeated.getError());
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  public void shouldRefuseSubmitInsteadOfEvictingPendingOperation() throws InterruptedException {
+    ConfirmationOperations confirmationOperations = confirmationOperations(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger runs = new AtomicInteger();
+
+    OperationResponseBody pending = confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "first", () -> {
+        runs.incrementAndGet();
+
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+
+    assertThrows(ServerBusyException.class, () -> confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "second", runs::incrementAndGet));
+
+    // The pending operation is still there, so its token does not run twice.
+    assertEquals(OperationStatus.PENDING, confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "first", runs::incrementAndGet).getStatus());
+
+    release.countDown();
+    await(() -> statusOf(confirmationOperations, pending.getId()) == OperationStatus.DONE);
+
+    OperationResponseBody second = confirmationOperations.submit(
+      TokenMarker.REGISTRATION_CONFIRMATION, "second", runs::incrementAndGet);
+
+    await(() -> statusOf(confirmationOperations, second.getId()) == OperationStatus.DONE);
+    assertEquals(2, runs.get());
+    assertEquals(1, confirmationOperations.getSize());
+  }
+}
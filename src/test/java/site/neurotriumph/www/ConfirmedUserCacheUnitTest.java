@@ -0,0 +1,64 @@
+package site.neurotriumph.www;
+
+import org.junit.Test;
+import site.neurotriumph.www.component.ConfirmedUserCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConfirmedUserCacheUnitTest {
+  @Test
+  public void shouldContainUserAfterPut() {
+    ConfirmedUserCache confirmedUserCache = new ConfirmedUserCache(true, 16);
+
+    confirmedUserCache.put(1L, confirmedUserCache.stamp());
+
+    assertTrue(confirmedUserCache.contains(1L));
+    assertFalse(confirmedUserCache.contains(2L));
+    assertEquals(1, confirmedUserCache.size());
+  }
+
+  @Test
+  public void shouldNotCacheUserLoadedBeforeInvalidation() {
+    ConfirmedUserCache confirmedUserCache = new ConfirmedUserCache(true, 16);
+
+    long stamp = confirmedUserCache.stamp();
+    confirmedUserCache.invalidate(1L);
+    confirmedUserCache.put(1L, stamp);
+
+    assertFalse(confirmedUserCache.contains(1L));
+  }
+
+  @Test
+  public void shouldRemoveUserOnInvalidation() {
+    ConfirmedUserCache confirmedUserCache = new ConfirmedUserCache(true, 16);
+
+    confirmedUserCache.put(1L, confirmedUserCache.stamp());
+    confirmedUserCache.invalidateTransactionally(1L);
+
+    assertFalse(confirmedUserCache.contains(1L));
+    assertEquals(0, confirmedUserCache.size());
+  }
+
+  @Test
+  public void shouldNeverHoldMoreUsersThanItsCapacity() {
+    ConfirmedUserCache confirmedUserCache = new ConfirmedUserCache(true, 16);
+
+    for (long id = 1; id <= 1000; id++) {
+      confirmedUserCache.put(id, confirmedUserCache.stamp());
+    }
+
+    assertTrue(confirmedUserCache.size() <= 16);
+    assertEquals(1000 - confirmedUserCache.size(), confirmedUserCache.getEvictions());
+  }
+
+  @Test
+  public void shouldDoNothingWhenDisabled() {
+    ConfirmedUserCache confirmedUserCache = new ConfirmedUserCache(false, 16);
+
+    confirmedUserCache.put(1L, confirmedUserCache.stamp());
+
+    assertFalse(confirmedUserCache.contains(1L));
+  }
+}
@@ -15,6 +15,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.Header;
 import site.neurotriumph.www.constant.Message;
@@ -27,11 +28,12 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -50,8 +52,24 @@ public class CreateNeuralNetworkIntegrationTest {
   @Autowired
   private ObjectMapper objectMapper;
 
+  /*
+   * Creates the neural network of insert_neural_network.sql through the
+   * api. Inserting it with its fixed id could collide with the ids that
+   * the application hands out from neural_network_id_seq.
+   * */
+  private void createExistingNeuralNetwork(String authToken) throws Exception {
+    this.mockMvc.perform(post(baseUrl)
+        .header(Header.AUTHENTICATION_TOKEN, authToken)
+        .content(objectMapper.writeValueAsString(new CreateNeuralNetworkRequestBody(
+          "human_killer",
+          "http://188.187.188.37:5000/v1/api",
+          "123")))
+        .contentType(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk());
+  }
+
   @Test
-  @Sql(value = {"/sql/insert_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
   @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
   @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
   @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -65,6 +83,8 @@ public class CreateNeuralNetworkIntegrationTest {
       .withClaim(Field.USER_ID, 1L)
       .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
 
+    createExistingNeuralNetwork(authToken);
+
     this.mockMvc.perform(post(baseUrl)
         .header(Header.AUTHENTICATION_TOKEN, authToken)
         .content(objectMapper.writeValueAsString(createNeuralNetworkRequestBody))
@@ -76,7 +96,7 @@ public class CreateNeuralNetworkIntegrationTest {
   }
 
   @Test
-  @Sql(value = {"/sql/insert_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
   @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
   @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
   @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -90,6 +110,8 @@ public class CreateNeuralNetworkIntegrationTest {
       .withClaim(Field.USER_ID, 1L)
       .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
 
+    createExistingNeuralNetwork(authToken);
+
     this.mockMvc.perform(post(baseUrl)
         .header(Header.AUTHENTICATION_TOKEN, authToken)
         .content(objectMapper.writeValueAsString(createNeuralNetworkRequestBody))
@@ -333,6 +355,7 @@ public class CreateNeuralNetworkIntegrationTest {
 
   @Test
   @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
   @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
   public void shouldReturnOkStatusAndNeuralNetworkId() throws Exception {
     CreateNeuralNetworkRequestBody createNeuralNetworkRequestBody = new CreateNeuralNetworkRequestBody(
@@ -357,6 +380,53 @@ public class CreateNeuralNetworkIntegrationTest {
 
     assertNotNull(createNeuralNetworkResponseBody);
     assertNotNull(createNeuralNetworkResponseBody.getId());
-    assertEquals(1L, (long) createNeuralNetworkResponseBody.getId());
+
+    // Ids come from neural_network_id_seq, which truncating the table does
+    // not reset, so the id is looked up rather than expected to be 1.
+    this.mockMvc.perform(get("/user/nn/" + createNeuralNetworkResponseBody.getId())
+        .header(Header.AUTHENTICATION_TOKEN, token))
+      .andDo(print())
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.name").value("human_killer"));
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnNeuralNetworkApiRootIsTooLongError() throws Exception {
+    CreateNeuralNetworkRequestBody createNeuralNetworkRequestBody = new CreateNeuralNetworkRequestBody(
+      "human_killer",
+      "http://" + "a".repeat(Const.MAX_NN_API_ROOT_LENGTH),
+      "123");
+
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    this.mockMvc.perform(post(baseUrl)
+        .header(Header.AUTHENTICATION_TOKEN, token)
+        .content(objectMapper.writeValueAsString(createNeuralNetworkRequestBody))
+        .contentType(MediaType.APPLICATION_JSON))
+      .andDo(print())
+      .andExpect(status().isBadRequest())
+      .andExpect(content().string(objectMapper.writeValueAsString(
+        new ErrorResponseBody(Message.NN_API_ROOT_IS_TOO_LONG))));
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnRequestBodyIsTooLargeError() throws Exception {
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    this.mockMvc.perform(post(baseUrl)
+        .header(Header.AUTHENTICATION_TOKEN, token)
+        .content("{\"name\": \"human_killer\", \"padding\": \"" + "a".repeat(1 << 20) + "\"}")
+        .contentType(MediaType.APPLICATION_JSON))
+      .andExpect(status().isPayloadTooLarge())
+      .andExpect(content().string(objectMapper.writeValueAsString(
+        new ErrorResponseBody(Message.REQUEST_BODY_IS_TOO_LARGE))));
   }
 }
@@ -1,5 +1,6 @@
 package site.neurotriumph.www;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatchers;
@@ -7,16 +8,19 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.CreateNeuralNetworkRequestBody;
 import site.neurotriumph.www.pojo.CreateNeuralNetworkResponseBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.NeuralNetworkService;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
@@ -35,9 +39,18 @@ public class CreateNeuralNetworkUnitTest {
   @MockBean
   private NeuralNetworkRepository neuralNetworkRepository;
 
+  /*
+   * What the repository throws when the INSERT violates a unique constraint.
+   * */
+  private static DataIntegrityViolationException uniqueConstraintViolation(String constraintName) {
+    return new DataIntegrityViolationException("could not execute statement",
+      new ConstraintViolationException("could not execute statement",
+        new SQLIntegrityConstraintViolationException("Duplicate entry"), constraintName));
+  }
+
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkApiRootAlreadyInUse() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkApiRootAlreadyInUse() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       CreateNeuralNetworkRequestBody createNeuralNetworkRequestBody = new CreateNeuralNetworkRequestBody(
         "human_killer",
         "http://188.187.188.37:5000/v1/api",
@@ -49,15 +62,8 @@ public class CreateNeuralNetworkUnitTest {
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
         .thenReturn(Optional.of(user));
 
-      Mockito.when(neuralNetworkRepository.findByNameAndOwnerId(
-          createNeuralNetworkRequestBody.getName(),
-          user.getId()))
-        .thenReturn(Optional.empty());
-
-      Mockito.when(neuralNetworkRepository.findByApiRootAndOwnerId(
-          createNeuralNetworkRequestBody.getApi_root(),
-          user.getId()))
-        .thenReturn(Optional.of(new NeuralNetwork()));
+      Mockito.when(neuralNetworkRepository.save(ArgumentMatchers.any(NeuralNetwork.class)))
+        .thenThrow(uniqueConstraintViolation(NeuralNetwork.OWNER_ID_API_ROOT_HASH_CONSTRAINT));
 
       neuralNetworkService.create(user.getId(), createNeuralNetworkRequestBody);
     });
@@ -66,8 +72,8 @@ public class CreateNeuralNetworkUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkNameAlreadyInUse() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkNameAlreadyInUse() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       CreateNeuralNetworkRequestBody createNeuralNetworkRequestBody = new CreateNeuralNetworkRequestBody(
         "human_killer",
         "http://188.187.188.37:5000/v1/api",
@@ -79,10 +85,8 @@ public class CreateNeuralNetworkUnitTest {
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
         .thenReturn(Optional.of(user));
 
-      Mockito.when(neuralNetworkRepository.findByNameAndOwnerId(
-          createNeuralNetworkRequestBody.getName(),
-          user.getId()))
-        .thenReturn(Optional.of(new NeuralNetwork()));
+      Mockito.when(neuralNetworkRepository.save(ArgumentMatchers.any(NeuralNetwork.class)))
+        .thenThrow(uniqueConstraintViolation(NeuralNetwork.OWNER_ID_NAME_CONSTRAINT));
 
       neuralNetworkService.create(user.getId(), createNeuralNetworkRequestBody);
     });
@@ -91,8 +95,8 @@ public class CreateNeuralNetworkUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       CreateNeuralNetworkRequestBody createNeuralNetworkRequestBody = new CreateNeuralNetworkRequestBody(
         "human_killer",
         "http://188.187.188.37:5000/v1/api",
@@ -120,16 +124,6 @@ public class CreateNeuralNetworkUnitTest {
     Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
       .thenReturn(Optional.of(user));
 
-    Mockito.when(neuralNetworkRepository.findByNameAndOwnerId(
-        createNeuralNetworkRequestBody.getName(),
-        user.getId()))
-      .thenReturn(Optional.empty());
-
-    Mockito.when(neuralNetworkRepository.findByApiRootAndOwnerId(
-        createNeuralNetworkRequestBody.getApi_root(),
-        user.getId()))
-      .thenReturn(Optional.empty());
-
     NeuralNetwork neuralNetwork = Mockito.spy(new NeuralNetwork());
     neuralNetwork.setId(1L);
 
@@ -147,16 +141,6 @@ public class CreateNeuralNetworkUnitTest {
     Mockito.verify(userRepository, Mockito.times(1))
       .findConfirmedById(ArgumentMatchers.eq(user.getId()));
 
-    Mockito.verify(neuralNetworkRepository, Mockito.times(1))
-      .findByNameAndOwnerId(
-        createNeuralNetworkRequestBody.getName(),
-        user.getId());
-
-    Mockito.verify(neuralNetworkRepository, Mockito.times(1))
-      .findByApiRootAndOwnerId(
-        createNeuralNetworkRequestBody.getApi_root(),
-        user.getId());
-
     Mockito.verify(neuralNetworkRepository, Mockito.times(1))
       .save(ArgumentMatchers.any(NeuralNetwork.class));
 
@@ -14,6 +14,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.DeleteNeuralNetworkRequestBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
@@ -32,8 +33,8 @@ public class DeleteNeuralNetworkUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       DeleteNeuralNetworkRequestBody deleteNeuralNetworkRequestBody =
         new DeleteNeuralNetworkRequestBody(1L);
 
@@ -53,8 +54,8 @@ public class DeleteNeuralNetworkUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       DeleteNeuralNetworkRequestBody deleteNeuralNetworkRequestBody =
         new DeleteNeuralNetworkRequestBody(1L);
 
@@ -20,6 +20,7 @@ import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.Regex;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.DeleteUserRequestBody;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.MailSenderService;
@@ -52,8 +53,8 @@ public class DeleteUserUnitTest {
   private MailSenderService mailSenderService;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseWrongPassword() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseWrongPassword() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       DeleteUserRequestBody deleteUserRequestBody = new DeleteUserRequestBody("123123");
 
       User user = Mockito.spy(new User(
@@ -72,8 +73,8 @@ public class DeleteUserUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       DeleteUserRequestBody deleteUserRequestBody = new DeleteUserRequestBody("Qwerty123");
 
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(1L)))
@@ -145,7 +146,7 @@ public class DeleteUserUnitTest {
     Mockito.verify(mailSenderService, Mockito.times(1))
       .send(
         ArgumentMatchers.eq(user.getEmail()),
-        ArgumentMatchers.eq("Neuro Triumph"),
+        ArgumentMatchers.eq(TokenMarker.USER_DELETE_CONFIRMATION),
         ArgumentMatchers.any(String.class));
   }
 }
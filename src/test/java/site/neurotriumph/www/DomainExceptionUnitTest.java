@@ -0,0 +1,72 @@
+package site.neurotriumph.www;
+
+import org.junit.Test;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DomainExceptionUnitTest {
+  @Test
+  public void shouldShareOneStacklessInstancePerMessage() {
+    DomainException domainException = DomainException.of(Message.WRONG_PASSWORD);
+
+    assertSame(domainException, DomainException.of(Message.WRONG_PASSWORD));
+    assertEquals(Message.WRONG_PASSWORD, domainException.getMessage());
+    assertEquals("wrong_password", domainException.getCode());
+    assertEquals(0, domainException.getStackTrace().length);
+    assertSame(domainException, domainException.fillInStackTrace());
+  }
+
+  @Test
+  public void shouldIgnoreSuppressedExceptionsAndStackTraces() {
+    DomainException domainException = DomainException.of(Message.WRONG_PASSWORD);
+
+    domainException.addSuppressed(new IllegalStateException("close failed"));
+    domainException.setStackTrace(new Throwable().getStackTrace());
+
+    assertEquals(0, domainException.getSuppressed().length);
+    assertEquals(0, domainException.getStackTrace().length);
+  }
+
+  @Test
+  public void shouldPreallocateResponseBody() {
+    ErrorResponseBody errorResponseBody = DomainException.of(Message.USER_DOES_NOT_EXIST).getResponseBody();
+
+    assertEquals(Message.USER_DOES_NOT_EXIST, errorResponseBody.getError());
+    assertEquals("user_does_not_exist", errorResponseBody.getCode());
+    assertEquals("user_does_not_exist", new ErrorResponseBody(Message.USER_DOES_NOT_EXIST).getCode());
+  }
+
+  @Test
+  public void shouldRejectTextThatIsNotAMessageConstant() {
+    assertThrows(IllegalArgumentException.class, () -> DomainException.of("something went wrong"));
+    assertNull(DomainException.codeOf("something went wrong"));
+    assertNull(new ErrorResponseBody("something went wrong").getCode());
+  }
+
+  @Test
+  public void shouldDeriveCodesIndependentlyOfDefaultLocale() throws Exception {
+    Locale defaultLocale = Locale.getDefault();
+    URL classes = DomainException.class.getProtectionDomain().getCodeSource().getLocation();
+
+    // The codes are derived when the class is loaded, so load it again
+    // with a default locale that lowercases "I" to a dotless i.
+    Locale.setDefault(new Locale("tr", "TR"));
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes}, ClassLoader.getPlatformClassLoader())) {
+      Class<?> domainException = Class.forName(DomainException.class.getName(), true, classLoader);
+
+      assertEquals("invalid_id", domainException.getMethod("codeOf", String.class).invoke(null, Message.INVALID_ID));
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+}
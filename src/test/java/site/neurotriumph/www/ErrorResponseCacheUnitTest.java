@@ -0,0 +1,68 @@
+package site.neurotriumph.www;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import site.neurotriumph.www.component.ErrorResponseCache;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ErrorResponseCacheUnitTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void shouldRenderEveryMessageLikeObjectMapper() throws Exception {
+    ErrorResponseCache errorResponseCache = new ErrorResponseCache(objectMapper);
+
+    for (DomainException domainException : DomainException.values()) {
+      String message = domainException.getMessage();
+      byte[] expected = objectMapper.writeValueAsBytes(new ErrorResponseBody(message));
+
+      assertArrayEquals(expected, errorResponseCache.getBody(message));
+
+      ResponseEntity<Object> responseEntity = errorResponseCache.badRequest(message);
+      assertSame(responseEntity, errorResponseCache.badRequest(message));
+      assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+      assertEquals(MediaType.APPLICATION_JSON, responseEntity.getHeaders().getContentType());
+      assertArrayEquals(expected, (byte[]) responseEntity.getBody());
+    }
+  }
+
+  @Test
+  public void shouldKeepExtraHeaders() throws Exception {
+    ErrorResponseCache errorResponseCache = new ErrorResponseCache(objectMapper);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, "1");
+
+    ResponseEntity<Object> responseEntity = errorResponseCache.response(Message.SERVER_IS_BUSY, headers,
+      HttpStatus.SERVICE_UNAVAILABLE);
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+    assertEquals("1", responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertEquals(objectMapper.writeValueAsString(new ErrorResponseBody(Message.SERVER_IS_BUSY)),
+      new String((byte[]) responseEntity.getBody(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void shouldSerializeOtherMessagesPerResponse() throws Exception {
+    ErrorResponseCache errorResponseCache = new ErrorResponseCache(objectMapper);
+
+    ResponseEntity<Object> responseEntity = errorResponseCache.badRequest("page: must be greater than 0");
+
+    assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    assertTrue(responseEntity.getBody() instanceof ErrorResponseBody);
+    assertEquals("page: must be greater than 0", ((ErrorResponseBody) responseEntity.getBody()).getError());
+  }
+}
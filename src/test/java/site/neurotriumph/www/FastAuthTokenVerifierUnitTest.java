@@ -0,0 +1,124 @@
+package site.neurotriumph.www;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.Test;
+import site.neurotriumph.www.component.FastAuthTokenVerifier;
+import site.neurotriumph.www.component.TokenVerifierRegistry;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class FastAuthTokenVerifierUnitTest {
+  private final String appSecret = "abc123";
+
+  private final TokenVerifierRegistry tokenVerifierRegistry = new TokenVerifierRegistry(appSecret);
+  private final FastAuthTokenVerifier fastAuthTokenVerifier = new FastAuthTokenVerifier(appSecret, true,
+    tokenVerifierRegistry);
+  private final Algorithm algorithm = tokenVerifierRegistry.getAlgorithm(TokenMarker.AUTHENTICATION);
+
+  private final Date expiresAt = new Date(System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME);
+
+  @Test
+  public void shouldReturnSameClaimsAsGenericVerifier() {
+    String token = JWT.create()
+      .withJWTId(UUID.randomUUID().toString())
+      .withClaim(Field.USER_ID, 42L)
+      .withClaim(Field.TOKEN_VERSION, Const.AUTH_TOKEN_VERSION)
+      .withClaim(Field.CONFIRMED, true)
+      .withClaim(Field.TOKEN_EPOCH, 7)
+      .withExpiresAt(expiresAt)
+      .sign(algorithm);
+
+    DecodedJWT expected = tokenVerifierRegistry.verify(TokenMarker.AUTHENTICATION, token);
+    DecodedJWT actual = fastAuthTokenVerifier.verify(token);
+
+    assertNotNull(actual);
+    for (String name : new String[]{Field.USER_ID, Field.EXPIRATION_TIME, Field.TOKEN_VERSION,
+      Field.TOKEN_EPOCH, Field.CONFIRMED, Field.TOKEN_ID, Field.NEW_EMAIL}) {
+      assertEquals(expected.getClaim(name).asLong(), actual.getClaim(name).asLong());
+      assertEquals(expected.getClaim(name).asInt(), actual.getClaim(name).asInt());
+      assertEquals(expected.getClaim(name).asBoolean(), actual.getClaim(name).asBoolean());
+      assertEquals(expected.getClaim(name).asString(), actual.getClaim(name).asString());
+      assertEquals(expected.getClaim(name).isNull(), actual.getClaim(name).isNull());
+    }
+
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getExpiresAt(), actual.getExpiresAt());
+    assertEquals(expected.getHeader(), actual.getHeader());
+    assertEquals(expected.getPayload(), actual.getPayload());
+    assertEquals(expected.getSignature(), actual.getSignature());
+  }
+
+  @Test
+  public void shouldAcceptTokenWithoutVersion() {
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withExpiresAt(expiresAt)
+      .sign(algorithm);
+
+    DecodedJWT decodedJWT = fastAuthTokenVerifier.verify(token);
+
+    assertNotNull(decodedJWT);
+    assertEquals(Long.valueOf(1L), decodedJWT.getClaim(Field.USER_ID).asLong());
+    assertNull(decodedJWT.getClaim(Field.TOKEN_VERSION).asInt());
+  }
+
+  @Test
+  public void shouldFallBackForTokensItDoesNotRecognize() {
+    String tokenWithWrongSignature = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withExpiresAt(expiresAt)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.REGISTRATION_CONFIRMATION));
+
+    String expiredToken = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withExpiresAt(new Date(System.currentTimeMillis() - 2000))
+      .sign(algorithm);
+
+    String tokenWithoutExpirationTime = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(algorithm);
+
+    String tokenWithUnknownClaim = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withClaim(Field.NEW_EMAIL, "test@gmail.com")
+      .withExpiresAt(expiresAt)
+      .sign(algorithm);
+
+    String tokenWithNegativeUserId = JWT.create()
+      .withClaim(Field.USER_ID, -1L)
+      .withExpiresAt(expiresAt)
+      .sign(algorithm);
+
+    String tokenWithEscapedId = JWT.create()
+      .withJWTId("a\"b")
+      .withClaim(Field.USER_ID, 1L)
+      .withExpiresAt(expiresAt)
+      .sign(algorithm);
+
+    String validToken = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .withExpiresAt(expiresAt)
+      .sign(algorithm);
+
+    assertNull(fastAuthTokenVerifier.verify(tokenWithWrongSignature));
+    assertNull(fastAuthTokenVerifier.verify(expiredToken));
+    assertNull(fastAuthTokenVerifier.verify(tokenWithoutExpirationTime));
+    assertNull(fastAuthTokenVerifier.verify(tokenWithUnknownClaim));
+    assertNull(fastAuthTokenVerifier.verify(tokenWithNegativeUserId));
+    assertNull(fastAuthTokenVerifier.verify(tokenWithEscapedId));
+    assertNull(fastAuthTokenVerifier.verify(validToken + "A"));
+    assertNull(fastAuthTokenVerifier.verify(validToken.substring(0, validToken.length() - 1)));
+    assertNull(fastAuthTokenVerifier.verify(""));
+    assertNull(fastAuthTokenVerifier.verify("a.b.c"));
+  }
+}
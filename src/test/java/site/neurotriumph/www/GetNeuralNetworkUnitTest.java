@@ -16,6 +16,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.GetNeuralNetworkResponseBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
@@ -34,8 +35,8 @@ public class GetNeuralNetworkUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       User user = Mockito.spy(new User());
       user.setId(1L);
 
@@ -52,8 +53,8 @@ public class GetNeuralNetworkUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(1L)))
         .thenReturn(Optional.empty());
 
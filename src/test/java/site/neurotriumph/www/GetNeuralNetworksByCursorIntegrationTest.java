@@ -0,0 +1,204 @@
+package site.neurotriumph.www;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+import site.neurotriumph.www.constant.Header;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.pojo.ErrorResponseBody;
+
+/*
+ * insert_neural_networks_of_two_owners.sql inserts 40 neural networks of
+ * the user with id 1, every fifth of them inactive, and 5 active neural
+ * networks of the user with id 2.
+ * */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource("/test.properties")
+public class GetNeuralNetworksByCursorIntegrationTest {
+  @Value("${app.secret}")
+  private String appSecret;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private String authToken() {
+    return JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+  }
+
+  private JsonNode getPage(MockHttpServletRequestBuilder request) throws Exception {
+    MvcResult mvcResult = this.mockMvc.perform(request)
+      .andDo(print())
+      .andExpect(status().isOk())
+      .andReturn();
+
+    return objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+  }
+
+  /*
+   * Follows next_cursor until the last page and returns the pages.
+   * */
+  private List<JsonNode> getAllPages(String url, String authToken) throws Exception {
+    List<JsonNode> pages = new ArrayList<>();
+    String cursor = null;
+
+    do {
+      MockHttpServletRequestBuilder request = get(url);
+
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+
+      if (authToken != null) {
+        request.header(Header.AUTHENTICATION_TOKEN, authToken);
+      }
+
+      JsonNode page = getPage(request);
+      pages.add(page);
+
+      cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asText();
+    } while (cursor != null);
+
+    return pages;
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_networks_of_two_owners.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldWalkThroughAllActiveNeuralNetworks() throws Exception {
+    List<JsonNode> pages = getAllPages("/nn/cursor", null);
+
+    assertEquals(3, pages.size());
+    assertEquals(Const.NEURAL_NETWORKS_PAGE_SIZE, pages.get(0).get("items").size());
+    assertEquals(Const.NEURAL_NETWORKS_PAGE_SIZE, pages.get(1).get("items").size());
+    assertEquals(1, pages.get(2).get("items").size());
+
+    List<String> names = new ArrayList<>();
+    pages.forEach(page -> page.get("items").forEach(item -> names.add(item.get("name").asText())));
+
+    List<String> expectedNames = new ArrayList<>();
+    for (int i = 1; i <= 45; i++) {
+      if (i > 40 || i % 5 != 0) {
+        expectedNames.add("nn_" + i);
+      }
+    }
+
+    assertEquals(expectedNames, names);
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_networks_of_two_owners.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldWalkThroughAllNeuralNetworksOfUser() throws Exception {
+    List<JsonNode> pages = getAllPages("/user/nn/all/cursor", authToken());
+
+    assertEquals(3, pages.size());
+
+    List<Long> ids = new ArrayList<>();
+    pages.forEach(page -> page.get("items").forEach(item -> ids.add(item.get("id").asLong())));
+
+    assertEquals(40, ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      assertEquals(i + 1, ids.get(i).longValue());
+    }
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_networks_of_two_owners.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnSameSecondPageAsOffsetPagination() throws Exception {
+    JsonNode firstPage = getPage(get("/user/nn/all/cursor")
+      .header(Header.AUTHENTICATION_TOKEN, authToken()));
+    JsonNode secondPage = getPage(get("/user/nn/all/cursor")
+      .param("cursor", firstPage.get("next_cursor").asText())
+      .header(Header.AUTHENTICATION_TOKEN, authToken()));
+    JsonNode offsetPage = getPage(get("/user/nn/all/1")
+      .header(Header.AUTHENTICATION_TOKEN, authToken()));
+
+    assertEquals(offsetPage, secondPage.get("items"));
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_networks_of_two_owners.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnInvalidCursorError() throws Exception {
+    String userCursor = getPage(get("/user/nn/all/cursor")
+      .header(Header.AUTHENTICATION_TOKEN, authToken())).get("next_cursor").asText();
+    String publicCursor = getPage(get("/nn/cursor")).get("next_cursor").asText();
+
+    List<MockHttpServletRequestBuilder> requests = new ArrayList<>();
+
+    // A cursor of one listing is not accepted by the other one.
+    requests.add(get("/nn/cursor").param("cursor", userCursor));
+    requests.add(get("/user/nn/all/cursor").param("cursor", publicCursor)
+      .header(Header.AUTHENTICATION_TOKEN, authToken()));
+
+    // Neither is a cursor that was not signed by the server.
+    requests.add(get("/nn/cursor").param("cursor", JWT.create()
+      .withClaim(Field.AFTER_ID, 0L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION))));
+    requests.add(get("/nn/cursor").param("cursor", "garbage"));
+
+    for (MockHttpServletRequestBuilder request : requests) {
+      this.mockMvc.perform(request)
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(objectMapper.writeValueAsString(
+          new ErrorResponseBody(Message.INVALID_CURSOR))));
+    }
+  }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnEmptyLastPage() throws Exception {
+    JsonNode page = getPage(get("/user/nn/all/cursor")
+      .header(Header.AUTHENTICATION_TOKEN, authToken()));
+
+    assertEquals(0, page.get("items").size());
+    assertTrue(page.get("next_cursor").isNull());
+  }
+}
@@ -14,9 +14,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Const;
-import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
 import site.neurotriumph.www.pojo.GetNeuralNetworksResponseBodyItem;
+import site.neurotriumph.www.projection.NeuralNetworkListItem;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.service.NeuralNetworkService;
 
@@ -36,10 +36,9 @@ public class GetNeuralNetworksUnitTest {
 
     Pageable pageable = PageRequest.of(0, Const.NEURAL_NETWORKS_PAGE_SIZE);
 
-    NeuralNetwork neuralNetwork = new NeuralNetwork();
-    neuralNetwork.setName("human_killer");
+    NeuralNetworkListItem neuralNetwork = new NeuralNetworkListItem(1L, "human_killer", 0, 0);
 
-    List<NeuralNetwork> neuralNetworks = new ArrayList<>();
+    List<NeuralNetworkListItem> neuralNetworks = new ArrayList<>();
     neuralNetworks.add(neuralNetwork);
 
     Mockito.when(neuralNetworkRepository.findAllActive(pageable))
@@ -55,7 +54,7 @@ public class GetNeuralNetworksUnitTest {
       getNeuralNetworksResponseBodyItems.get(0);
 
     assertNotNull(getUserNeuralNetworksResponseBodyItem);
-    assertEquals(neuralNetwork.getName(), getUserNeuralNetworksResponseBodyItem.getName());
+    assertEquals(neuralNetwork.name(), getUserNeuralNetworksResponseBodyItem.getName());
 
     Mockito.verify(neuralNetworkRepository, Mockito.times(1))
       .findAllActive(pageable);
@@ -18,9 +18,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Const;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.GetUserNeuralNetworksResponseBodyItem;
+import site.neurotriumph.www.projection.UserNeuralNetworkListItem;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.NeuralNetworkService;
@@ -38,8 +39,8 @@ public class GetUserNeuralNetworksUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(1L)))
         .thenReturn(Optional.empty());
 
@@ -56,10 +57,9 @@ public class GetUserNeuralNetworksUnitTest {
 
     Pageable pageable = PageRequest.of(0, Const.NEURAL_NETWORKS_PAGE_SIZE);
 
-    NeuralNetwork neuralNetwork = new NeuralNetwork();
-    neuralNetwork.setName("human_killer");
+    UserNeuralNetworkListItem neuralNetwork = new UserNeuralNetworkListItem(1L, "human_killer", 0, 0, true, true);
 
-    List<NeuralNetwork> neuralNetworks = new ArrayList<>();
+    List<UserNeuralNetworkListItem> neuralNetworks = new ArrayList<>();
     neuralNetworks.add(neuralNetwork);
 
     Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
@@ -78,7 +78,7 @@ public class GetUserNeuralNetworksUnitTest {
       getUserNeuralNetworksResponseBodyItems.get(0);
 
     assertNotNull(getUserNeuralNetworksResponseBodyItem);
-    assertEquals(neuralNetwork.getName(), getUserNeuralNetworksResponseBodyItem.getName());
+    assertEquals(neuralNetwork.name(), getUserNeuralNetworksResponseBodyItem.getName());
 
     Mockito.verify(userRepository, Mockito.times(1))
       .findConfirmedById(ArgumentMatchers.eq(user.getId()));
@@ -13,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.GetUserResponseBody;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.UserService;
@@ -38,8 +39,8 @@ public class GetUserUnitTest {
   private UserRepository userRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.doReturn(Optional.empty())
         .when(userRepository)
         .findConfirmedById(ArgumentMatchers.eq(1L));
@@ -0,0 +1,64 @@
+package site.neurotriumph.www;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import site.neurotriumph.www.component.ErrorResponseCache;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.GlobalExceptionHandler;
+import site.neurotriumph.www.pojo.RegisterRequestBody;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class GlobalExceptionHandlerUnitTest {
+  private final ErrorResponseCache errorResponseCache;
+  private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+  public GlobalExceptionHandlerUnitTest() throws Exception {
+    errorResponseCache = new ErrorResponseCache(new ObjectMapper());
+    ReflectionTestUtils.setField(globalExceptionHandler, "errorResponseCache", errorResponseCache);
+  }
+
+  private ResponseEntity<Object> handle(BindingResult bindingResult) throws Exception {
+    MethodParameter methodParameter = new MethodParameter(Object.class.getMethod("equals", Object.class), 0);
+
+    return globalExceptionHandler.handleException(new MethodArgumentNotValidException(methodParameter, bindingResult),
+      new ServletWebRequest(new MockHttpServletRequest()));
+  }
+
+  @Test
+  public void shouldAnswerWithMessageOfFieldError() throws Exception {
+    BindingResult bindingResult = new BeanPropertyBindingResult(new RegisterRequestBody("user@example.com", "12345678"), "body");
+    bindingResult.rejectValue("password", "Size", Message.PASSWORD_IS_TOO_SHORT);
+
+    assertSame(errorResponseCache.badRequest(Message.PASSWORD_IS_TOO_SHORT), handle(bindingResult));
+  }
+
+  @Test
+  public void shouldAnswerWithMessageOfGlobalError() throws Exception {
+    BindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "body");
+    bindingResult.reject("NotBlank", Message.NOTHING_TO_UPDATE);
+
+    assertSame(errorResponseCache.badRequest(Message.NOTHING_TO_UPDATE), handle(bindingResult));
+  }
+
+  @Test
+  public void shouldFallBackWhenErrorHasNoMessage() throws Exception {
+    BindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "body");
+    bindingResult.reject("Valid");
+
+    ResponseEntity<Object> responseEntity = handle(bindingResult);
+
+    assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    assertSame(errorResponseCache.badRequest(Message.INVALID_REQUEST_BODY), responseEntity);
+  }
+}
@@ -0,0 +1,39 @@
+package site.neurotriumph.www;
+
+import org.junit.Test;
+import site.neurotriumph.www.component.LatencyHistogram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramUnitTest {
+  @Test
+  public void shouldReportPercentilesWithinFactorOfTwo() {
+    LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    for (int i = 1; i <= 100; i++) {
+      latencyHistogram.recordMicros(i * 1000L);
+    }
+
+    assertEquals(100, latencyHistogram.getCount());
+    assertEquals(50500, latencyHistogram.getMeanMicros());
+    assertEquals(100000, latencyHistogram.getMaxMicros());
+
+    long p50 = latencyHistogram.getPercentileMicros(0.5);
+    assertTrue(p50 >= 50000 && p50 < 100000);
+
+    long p99 = latencyHistogram.getPercentileMicros(0.99);
+    assertTrue(p99 >= 99000 && p99 <= 100000);
+  }
+
+  @Test
+  public void shouldReportZerosWhenEmpty() {
+    LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    assertEquals(0, latencyHistogram.getMeanMicros());
+    assertEquals(0, latencyHistogram.getPercentileMicros(0.99));
+
+    latencyHistogram.recordNanos(-5);
+    assertEquals(0, latencyHistogram.getPercentileMicros(0.5));
+  }
+}
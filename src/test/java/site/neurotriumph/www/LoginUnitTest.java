@@ -20,6 +20,7 @@ import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.LoginRequestBody;
 import site.neurotriumph.www.pojo.LoginResponseBody;
 import site.neurotriumph.www.repository.UserRepository;
@@ -48,8 +49,8 @@ public class LoginUnitTest {
   private final LoginRequestBody loginRequestBody = new LoginRequestBody(null, "Qwerty123");
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseWrongPassword() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseWrongPassword() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       User user = new User();
       user.setConfirmed(true);
       user.setPassword_hash("123");
@@ -65,8 +66,8 @@ public class LoginUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserNotConfirmed() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserNotConfirmed() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.doReturn(Optional.of(new User()))
         .when(userRepository)
         .findByEmail(ArgumentMatchers.eq(loginRequestBody.getEmail()));
@@ -78,8 +79,8 @@ public class LoginUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       Mockito.doReturn(Optional.empty())
         .when(userRepository)
         .findByEmail(ArgumentMatchers.eq(loginRequestBody.getEmail()));
@@ -0,0 +1,103 @@
+package site.neurotriumph.www;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import site.neurotriumph.www.component.MailDispatcher;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.constant.TokenMarker;
+import site.neurotriumph.www.entity.OutgoingMail;
+import site.neurotriumph.www.repository.OutgoingMailRepository;
+import site.neurotriumph.www.service.MailSenderService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+  "app.mail.coalescing.window=60000"
+})
+public class MailCoalescingUnitTest {
+  @Autowired
+  private MailSenderService mailSenderService;
+
+  @MockBean
+  private OutgoingMailRepository outgoingMailRepository;
+
+  @MockBean
+  private MailDispatcher mailDispatcher;
+
+  private final AtomicLong ids = new AtomicLong();
+
+  @Before
+  public void setUp() {
+    Mockito.doAnswer(invocation -> {
+        OutgoingMail outgoingMail = invocation.getArgument(0);
+        outgoingMail.setId(ids.incrementAndGet());
+        return outgoingMail;
+      })
+      .when(outgoingMailRepository)
+      .save(ArgumentMatchers.any(OutgoingMail.class));
+  }
+
+  @Test
+  public void shouldSupersedePendingMailWithinWindow() {
+    Mockito.doReturn(1)
+      .when(outgoingMailRepository)
+      .supersede(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(OutgoingMailStatus.PENDING),
+        ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.anyString());
+
+    for (int i = 0; i < 3; i++) {
+      mailSenderService.send("supersede@gmail.com", TokenMarker.EMAIL_UPDATE_CONFIRMATION, "token " + i);
+    }
+
+    mailSenderService.send("supersede@gmail.com", TokenMarker.PASSWORD_UPDATE_CONFIRMATION, "other token");
+
+    ArgumentCaptor<OutgoingMail> saved = ArgumentCaptor.forClass(OutgoingMail.class);
+    Mockito.verify(outgoingMailRepository, Mockito.times(2))
+      .save(saved.capture());
+
+    assertEquals("token 0", saved.getAllValues().get(0).getBody());
+    assertEquals("other token", saved.getAllValues().get(1).getBody());
+
+    Long id = saved.getAllValues().get(0).getId();
+    long nextAttemptAt = saved.getAllValues().get(0).getNext_attempt_at();
+
+    /*
+     * Each supersede expects the next_attempt_at written by the previous one.
+     * */
+    Mockito.verify(outgoingMailRepository, Mockito.times(1))
+      .supersede(id, OutgoingMailStatus.PENDING, nextAttemptAt, nextAttemptAt - 1, "token 1");
+
+    Mockito.verify(outgoingMailRepository, Mockito.times(1))
+      .supersede(id, OutgoingMailStatus.PENDING, nextAttemptAt - 1, nextAttemptAt - 2, "token 2");
+  }
+
+  @Test
+  public void shouldDeferMailUntilWindowEndsOnceThePreviousOneWasSent() {
+    Mockito.doReturn(0)
+      .when(outgoingMailRepository)
+      .supersede(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(OutgoingMailStatus.PENDING),
+        ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.anyString());
+
+    mailSenderService.send("defer@gmail.com", TokenMarker.USER_DELETE_CONFIRMATION, "token 0");
+    mailSenderService.send("defer@gmail.com", TokenMarker.USER_DELETE_CONFIRMATION, "token 1");
+
+    ArgumentCaptor<OutgoingMail> saved = ArgumentCaptor.forClass(OutgoingMail.class);
+    Mockito.verify(outgoingMailRepository, Mockito.times(2))
+      .save(saved.capture());
+
+    List<OutgoingMail> outgoingMails = saved.getAllValues();
+    assertEquals("token 1", outgoingMails.get(1).getBody());
+    assertEquals(outgoingMails.get(0).getNext_attempt_at() + 60000, outgoingMails.get(1).getNext_attempt_at());
+  }
+}
@@ -0,0 +1,162 @@
+package site.neurotriumph.www;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+import site.neurotriumph.www.component.MailDispatcher;
+import site.neurotriumph.www.constant.OutgoingMailStatus;
+import site.neurotriumph.www.entity.OutgoingMail;
+import site.neurotriumph.www.repository.OutgoingMailRepository;
+import site.neurotriumph.www.service.MailSenderService;
+
+import javax.mail.internet.MimeMessage;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/*
+ * Exact attempt counts rely on no other dispatcher polling outgoing_mail:
+ * test.properties sets app.mail.outbox.poll-interval high for every
+ * cached test context, and this one only dispatches when woken up by a
+ * send or called directly.
+ * */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+  "app.mail.outbox.poll-interval=3600000",
+  "app.mail.outbox.initial-backoff=0",
+  "app.mail.outbox.max-attempts=2"
+})
+@TestPropertySource("/test.properties")
+public class MailOutboxIntegrationTest {
+  @Value("${spring.mail.username}")
+  private String senderEmail;
+
+  @Value("${spring.mail.password}")
+  private String senderPassword;
+
+  @Autowired
+  private MailSenderService mailSenderService;
+
+  @Autowired
+  private MailDispatcher mailDispatcher;
+
+  @Autowired
+  private OutgoingMailRepository outgoingMailRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private GreenMail startGreenMail() {
+    GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP)
+      .withConfiguration(GreenMailConfiguration.aConfig()
+        .withUser(senderEmail, senderPassword));
+
+    greenMail.start();
+
+    return greenMail;
+  }
+
+  @Test
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldSendMailsQueuedInTransactionAfterCommit() {
+    GreenMail greenMail = startGreenMail();
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        for (int i = 0; i < 3; i++) {
+          mailSenderService.send(senderEmail, "Neuro Triumph", "body " + i);
+        }
+      });
+
+      await().atMost(2, SECONDS).untilAsserted(() -> {
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertEquals(3, receivedMessages.length);
+        assertEquals("Neuro Triumph", receivedMessages[0].getSubject());
+      });
+
+      await().atMost(2, SECONDS).untilAsserted(() ->
+        assertEquals(0, outgoingMailRepository.count()));
+    } finally {
+      greenMail.stop();
+    }
+  }
+
+  @Test
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldNotSendMailsOfRolledBackTransaction() {
+    GreenMail greenMail = startGreenMail();
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        mailSenderService.send(senderEmail, "Neuro Triumph", "body");
+        status.setRollbackOnly();
+      });
+
+      mailDispatcher.dispatch();
+
+      assertEquals(0, greenMail.getReceivedMessages().length);
+      assertEquals(0, outgoingMailRepository.count());
+    } finally {
+      greenMail.stop();
+    }
+  }
+
+  @Test
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldRetryMailAfterSmtpOutage() {
+    mailSenderService.send(senderEmail, "Neuro Triumph", "body");
+
+    await().atMost(5, SECONDS).untilAsserted(() -> {
+      List<OutgoingMail> outgoingMails = outgoingMailRepository.findAll();
+      assertEquals(1, outgoingMails.size());
+      assertEquals(1, outgoingMails.get(0).getAttempts());
+      assertNotNull(outgoingMails.get(0).getLast_error());
+    });
+
+    GreenMail greenMail = startGreenMail();
+
+    try {
+      mailDispatcher.dispatch();
+
+      assertEquals(1, greenMail.getReceivedMessages().length);
+      assertEquals(0, outgoingMailRepository.count());
+    } finally {
+      greenMail.stop();
+    }
+  }
+
+  @Test
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_outgoing_mail.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldMarkMailDeadAfterLastAttempt() {
+    mailSenderService.send(senderEmail, "Neuro Triumph", "body");
+
+    await().atMost(5, SECONDS).untilAsserted(() ->
+      assertEquals(1, outgoingMailRepository.findAll().get(0).getAttempts()));
+
+    mailDispatcher.dispatch();
+
+    OutgoingMail outgoingMail = outgoingMailRepository.findAll().get(0);
+    assertEquals(2, outgoingMail.getAttempts());
+    assertEquals(OutgoingMailStatus.DEAD, outgoingMail.getStatus());
+
+    mailDispatcher.dispatch();
+
+    assertEquals(2, outgoingMailRepository.findAll().get(0).getAttempts());
+  }
+}
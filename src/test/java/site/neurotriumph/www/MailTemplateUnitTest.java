@@ -0,0 +1,55 @@
+package site.neurotriumph.www;
+
+import org.junit.Test;
+import site.neurotriumph.www.component.MailTemplate;
+import site.neurotriumph.www.component.MailTemplates;
+import site.neurotriumph.www.constant.TokenMarker;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MailTemplateUnitTest {
+  @Test
+  public void shouldFoldVariablesAtCompileTimeAndFillTokenSlots() {
+    MailTemplate mailTemplate = MailTemplate.compile(
+      "<a href=\"{{site_url}}/confirm?token={{token}}\">{{ token }}</a>",
+      Map.of("site_url", "https://example.com"));
+
+    assertEquals("<a href=\"https://example.com/confirm?token=a.b.c\">a.b.c</a>", mailTemplate.render("a.b.c"));
+    assertEquals("no slots", MailTemplate.compile("no slots", Map.of()).render("a.b.c"));
+  }
+
+  @Test
+  public void shouldRejectUnknownAndUnclosedPlaceholders() {
+    assertThrows(IllegalStateException.class, () -> MailTemplate.compile("{{site}}", Map.of()));
+    assertThrows(IllegalStateException.class, () -> MailTemplate.compile("{{token", Map.of()));
+  }
+
+  @Test
+  public void shouldHaveTemplatesForEveryConfirmationMail() throws IOException {
+    MailTemplates mailTemplates = new MailTemplates("https://example.com");
+
+    for (TokenMarker tokenMarker : TokenMarker.values()) {
+      if (tokenMarker == TokenMarker.AUTHENTICATION || tokenMarker == TokenMarker.NEURAL_NETWORK_CURSOR) {
+        assertThrows(IllegalStateException.class, () -> mailTemplates.get(tokenMarker));
+        continue;
+      }
+
+      MailTemplates.Templates templates = mailTemplates.get(tokenMarker);
+      String html = templates.html().render("a.b.c");
+      String text = templates.text().render("a.b.c");
+
+      assertEquals("Neuro Triumph", templates.subject());
+      // The token is in the fragment, which browsers do not send to the server.
+      assertTrue(html.contains("https://example.com/") && html.contains("#token=a.b.c"));
+      assertTrue(text.contains("https://example.com/") && text.contains("#token=a.b.c"));
+      assertFalse(html.contains("?token=") || text.contains("?token="));
+      assertFalse(html.contains("{{") || text.contains("{{"));
+    }
+  }
+}
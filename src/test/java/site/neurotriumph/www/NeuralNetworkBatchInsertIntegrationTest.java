@@ -0,0 +1,64 @@
+package site.neurotriumph.www;
+
+import org.hibernate.BaseSessionEventListener;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import site.neurotriumph.www.entity.NeuralNetwork;
+import site.neurotriumph.www.repository.NeuralNetworkRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/*
+ * Neural networks get their ids from neural_network_id_seq in blocks of
+ * 50, so saving many of them sends the inserts as JDBC batches instead
+ * of one statement per row.
+ * */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+  "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+  "spring.jpa.properties.hibernate.order_inserts=true",
+  "spring.jpa.properties.hibernate.session.events.auto="
+    + "site.neurotriumph.www.NeuralNetworkBatchInsertIntegrationTest$JdbcBatchCounter"
+})
+@TestPropertySource("/test.properties")
+public class NeuralNetworkBatchInsertIntegrationTest {
+  private static final AtomicInteger jdbcBatches = new AtomicInteger();
+
+  @Autowired
+  private NeuralNetworkRepository neuralNetworkRepository;
+
+  /*
+   * Registered for every session through hibernate.session.events.auto.
+   * */
+  public static class JdbcBatchCounter extends BaseSessionEventListener {
+    @Override
+    public void jdbcExecuteBatchStart() {
+      jdbcBatches.incrementAndGet();
+    }
+  }
+
+  @Test
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldInsertNeuralNetworksInJdbcBatches() {
+    List<NeuralNetwork> neuralNetworks = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      neuralNetworks.add(new NeuralNetwork(1L, "nn_" + i, "http://nn" + i + ".org/api", "123"));
+    }
+
+    jdbcBatches.set(0);
+    neuralNetworkRepository.saveAll(neuralNetworks);
+
+    assertEquals(3, jdbcBatches.get());
+    assertEquals(120, neuralNetworkRepository.count());
+  }
+}
@@ -0,0 +1,110 @@
+package site.neurotriumph.www;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Test;
+import site.neurotriumph.www.component.PasswordHashingExecutor;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.ServerBusyException;
+import site.neurotriumph.www.hasher.PasswordHasher;
+import site.neurotriumph.www.hasher.Pbkdf2PasswordHasher;
+import site.neurotriumph.www.hasher.Sha256PasswordHasher;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PasswordHashingExecutorUnitTest {
+  private final List<PasswordHasher> passwordHashers = List.of(
+    new Sha256PasswordHasher(),
+    new Pbkdf2PasswordHasher(1000));
+
+  @Test
+  public void shouldKeepProducingSha256HashesByDefault() {
+    PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(passwordHashers,
+      Sha256PasswordHasher.NAME, 1, 1);
+
+    String passwordHash = passwordHashingExecutor.hash("Qwerty123");
+
+    assertEquals(DigestUtils.sha256Hex("Qwerty123"), passwordHash);
+    assertTrue(passwordHashingExecutor.matches("Qwerty123", passwordHash));
+    assertFalse(passwordHashingExecutor.matches("Qwerty1234", passwordHash));
+    assertFalse(passwordHashingExecutor.needsUpgrade(passwordHash));
+
+    passwordHashingExecutor.destroy();
+  }
+
+  @Test
+  public void shouldMatchOldHashesAndAskForTheirUpgrade() {
+    PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(passwordHashers,
+      Pbkdf2PasswordHasher.NAME, 1, 1);
+
+    String oldPasswordHash = DigestUtils.sha256Hex("Qwerty123");
+    String passwordHash = passwordHashingExecutor.hash("Qwerty123");
+
+    assertTrue(passwordHash.startsWith(Pbkdf2PasswordHasher.NAME + "$1000$"));
+    assertNotEquals(passwordHash, passwordHashingExecutor.hash("Qwerty123"));
+
+    assertTrue(passwordHashingExecutor.matches("Qwerty123", oldPasswordHash));
+    assertTrue(passwordHashingExecutor.matches("Qwerty123", passwordHash));
+    assertFalse(passwordHashingExecutor.matches("Qwerty1234", passwordHash));
+    assertFalse(passwordHashingExecutor.matches("Qwerty123", "not a hash"));
+
+    assertTrue(passwordHashingExecutor.needsUpgrade(oldPasswordHash));
+    assertFalse(passwordHashingExecutor.needsUpgrade(passwordHash));
+    assertTrue(new Pbkdf2PasswordHasher(2000).needsRehash(passwordHash));
+
+    passwordHashingExecutor.destroy();
+  }
+
+  @Test
+  public void shouldRejectWorkWhenQueueIsFull() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    PasswordHasher blockingPasswordHasher = new Sha256PasswordHasher() {
+      @Override
+      public String hash(String password) {
+        started.countDown();
+
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        return super.hash(password);
+      }
+    };
+
+    PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(
+      List.of(blockingPasswordHasher), Sha256PasswordHasher.NAME, 1, 1);
+
+    Thread running = new Thread(() -> passwordHashingExecutor.hash("Qwerty123"));
+    Thread queued = new Thread(() -> passwordHashingExecutor.hash("Qwerty123"));
+
+    running.start();
+    started.await();
+    queued.start();
+
+    while (passwordHashingExecutor.getQueueSize() == 0) {
+      Thread.onSpinWait();
+    }
+
+    ServerBusyException exception = assertThrows(ServerBusyException.class,
+      () -> passwordHashingExecutor.hash("Qwerty123"));
+
+    release.countDown();
+    running.join();
+    queued.join();
+
+    assertEquals(Message.SERVER_IS_BUSY, exception.getMessage());
+    assertEquals(1, passwordHashingExecutor.getRejections());
+
+    passwordHashingExecutor.destroy();
+  }
+}
@@ -0,0 +1,125 @@
+package site.neurotriumph.www;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mail.SimpleMailMessage;
+import site.neurotriumph.www.component.PooledJavaMailSender;
+
+import static org.junit.Assert.assertEquals;
+
+public class PooledJavaMailSenderUnitTest {
+  private static final String SENDER_EMAIL = "test@gmail.com";
+  private static final String SENDER_PASSWORD = "Qwerty123";
+
+  private GreenMail greenMail;
+
+  @Before
+  public void setUp() {
+    greenMail = startGreenMail();
+  }
+
+  @After
+  public void tearDown() {
+    greenMail.stop();
+  }
+
+  private GreenMail startGreenMail() {
+    GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP)
+      .withConfiguration(GreenMailConfiguration.aConfig()
+        .withUser(SENDER_EMAIL, SENDER_PASSWORD));
+
+    greenMail.start();
+
+    return greenMail;
+  }
+
+  private PooledJavaMailSender createSender(int maxMessagesPerConnection, long idleTimeout) {
+    PooledJavaMailSender sender = new PooledJavaMailSender(2, maxMessagesPerConnection, idleTimeout);
+    sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+    sender.setPort(ServerSetupTest.SMTP.getPort());
+    sender.setUsername(SENDER_EMAIL);
+    sender.setPassword(SENDER_PASSWORD);
+    sender.getJavaMailProperties().setProperty("mail.smtp.auth", "true");
+
+    return sender;
+  }
+
+  private SimpleMailMessage[] messages(int count) {
+    SimpleMailMessage[] messages = new SimpleMailMessage[count];
+
+    for (int i = 0; i < count; i++) {
+      messages[i] = new SimpleMailMessage();
+      messages[i].setFrom(SENDER_EMAIL);
+      messages[i].setTo(SENDER_EMAIL);
+      messages[i].setSubject("Neuro Triumph");
+      messages[i].setText("body " + i);
+    }
+
+    return messages;
+  }
+
+  @Test
+  public void shouldReuseConnectionAcrossSendCalls() {
+    PooledJavaMailSender sender = createSender(100, 60000);
+
+    try {
+      for (int i = 0; i < 5; i++) {
+        sender.send(messages(3));
+      }
+
+      assertEquals(15, greenMail.getReceivedMessages().length);
+      assertEquals(1, sender.getConnectionsOpened());
+      assertEquals(4, sender.getConnectionsReused());
+      assertEquals(1, sender.getIdleConnections());
+    } finally {
+      sender.destroy();
+    }
+  }
+
+  @Test
+  public void shouldRecycleConnectionAfterMaxMessagesAndIdleTimeout() throws InterruptedException {
+    PooledJavaMailSender sender = createSender(4, 50);
+
+    try {
+      sender.send(messages(10));
+
+      assertEquals(10, greenMail.getReceivedMessages().length);
+      assertEquals(3, sender.getConnectionsOpened());
+
+      Thread.sleep(100);
+      sender.evictIdleConnections();
+
+      assertEquals(0, sender.getIdleConnections());
+
+      sender.send(messages(1));
+
+      assertEquals(4, sender.getConnectionsOpened());
+      assertEquals(0, sender.getConnectionsReused());
+    } finally {
+      sender.destroy();
+    }
+  }
+
+  @Test
+  public void shouldReconnectWhenPooledConnectionWasDropped() {
+    PooledJavaMailSender sender = createSender(100, 60000);
+
+    try {
+      sender.send(messages(1));
+
+      greenMail.stop();
+      greenMail = startGreenMail();
+
+      sender.send(messages(2));
+
+      assertEquals(2, greenMail.getReceivedMessages().length);
+      assertEquals(2, sender.getConnectionsOpened());
+    } finally {
+      sender.destroy();
+    }
+  }
+}
@@ -19,6 +19,7 @@ import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.Regex;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.RegisterRequestBody;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.AuthService;
@@ -48,8 +49,8 @@ public class RegisterUnitTest {
   private MailSenderService mailSenderService;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserAlreadyExists() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserAlreadyExists() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       RegisterRequestBody registerRequestBody = new RegisterRequestBody(
         "valid@email.com",
         "Qwerty123");
@@ -122,7 +123,7 @@ public class RegisterUnitTest {
     Mockito.verify(mailSenderService, Mockito.times(1))
       .send(
         ArgumentMatchers.eq(user.getEmail()),
-        ArgumentMatchers.eq("Neuro Triumph"),
+        ArgumentMatchers.eq(TokenMarker.REGISTRATION_CONFIRMATION),
         ArgumentMatchers.any(String.class));
   }
 }
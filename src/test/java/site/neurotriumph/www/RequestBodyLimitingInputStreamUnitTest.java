@@ -0,0 +1,123 @@
+package site.neurotriumph.www;
+
+import org.junit.Test;
+import site.neurotriumph.www.component.RequestBodyLimitingInputStream;
+import site.neurotriumph.www.component.RequestBodyLimits;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Message;
+import site.neurotriumph.www.exception.DomainException;
+import site.neurotriumph.www.exception.RequestBodyTooLargeException;
+import site.neurotriumph.www.pojo.CreateNeuralNetworkRequestBody;
+import site.neurotriumph.www.pojo.LoginRequestBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestBodyLimitingInputStreamUnitTest {
+  private final RequestBodyLimits requestBodyLimits = RequestBodyLimits.of(CreateNeuralNetworkRequestBody.class);
+
+  private static String body(String apiRoot) {
+    return "{\n  \"name\": \"human_killer\",\n  \"api_root\": \"" + apiRoot + "\",\n  \"api_secret\": \"123\"\n}";
+  }
+
+  private byte[] readAll(String body) throws IOException {
+    return new RequestBodyLimitingInputStream(
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), requestBodyLimits).readAllBytes();
+  }
+
+  @Test
+  public void shouldDeriveLimitsFromDeclaration() {
+    RequestBodyLimits.FieldLimit fieldLimit = requestBodyLimits.getFieldLimit("api_root");
+
+    assertEquals(Const.MAX_NN_API_ROOT_LENGTH, fieldLimit.maxLength());
+    assertEquals(Message.NN_API_ROOT_IS_TOO_LONG, fieldLimit.message());
+    assertTrue(requestBodyLimits.getMaxBodySize() > 6L * Const.MAX_NN_API_ROOT_LENGTH);
+  }
+
+  @Test
+  public void shouldPassValidBodyThrough() throws IOException {
+    String body = body("http://" + "a".repeat(Const.MAX_NN_API_ROOT_LENGTH - 7));
+
+    assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), readAll(body));
+  }
+
+  @Test
+  public void shouldCountCharactersLikeStringLength() throws IOException {
+    // An escape sequence is one character, a four byte UTF-8 sequence two.
+    readAll(body("\\u0041".repeat(Const.MAX_NN_API_ROOT_LENGTH)));
+    readAll(body("\\\"".repeat(Const.MAX_NN_API_ROOT_LENGTH)));
+    readAll(body("\uD83D\uDE00".repeat(Const.MAX_NN_API_ROOT_LENGTH / 2)));
+
+    DomainException domainException = assertThrows(DomainException.class,
+      () -> readAll(body("\uD83D\uDE00".repeat(Const.MAX_NN_API_ROOT_LENGTH / 2) + "a")));
+    assertEquals(Message.NN_API_ROOT_IS_TOO_LONG, domainException.getMessage());
+  }
+
+  @Test
+  public void shouldStopAtFirstCharacterTooMany() {
+    byte[] body = body("a".repeat(1 << 20)).getBytes(StandardCharsets.UTF_8);
+    ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(body);
+    RequestBodyLimitingInputStream requestBodyLimitingInputStream =
+      new RequestBodyLimitingInputStream(byteArrayInputStream, requestBodyLimits);
+
+    DomainException domainException = assertThrows(DomainException.class, () -> {
+      byte[] buffer = new byte[512];
+
+      while (requestBodyLimitingInputStream.read(buffer, 0, buffer.length) >= 0) {
+      }
+    });
+
+    assertEquals(Message.NN_API_ROOT_IS_TOO_LONG, domainException.getMessage());
+    assertTrue(body.length - byteArrayInputStream.available() < Const.MAX_NN_API_ROOT_LENGTH + 1024);
+  }
+
+  @Test
+  public void shouldLimitWholeBody() {
+    String body = "{\"name\": \"human_killer\", \"padding\": \"" + "a".repeat(1 << 20) + "\"}";
+
+    assertThrows(RequestBodyTooLargeException.class, () -> readAll(body));
+  }
+
+  @Test
+  public void shouldIgnoreNestedAndUnknownProperties() throws IOException {
+    readAll("{\"other\": {\"api_root\": \"" + "a".repeat(Const.MAX_NN_API_ROOT_LENGTH + 1) + "\"}}");
+    readAll("{\"api_roots\": \"" + "a".repeat(Const.MAX_NN_API_ROOT_LENGTH + 1) + "\"}");
+  }
+
+  @Test
+  public void shouldDecodeEscapedKeys() {
+    String value = "a".repeat(Const.MAX_NN_API_ROOT_LENGTH + 1);
+
+    DomainException domainException = assertThrows(DomainException.class,
+      () -> readAll("{\"api_r\\u006f\\u006Ft\": \"" + value + "\"}"));
+    assertEquals(Message.NN_API_ROOT_IS_TOO_LONG, domainException.getMessage());
+
+    domainException = assertThrows(DomainException.class,
+      () -> readAll("{\"api\\u005froot\": \"" + value + "\"}"));
+    assertEquals(Message.NN_API_ROOT_IS_TOO_LONG, domainException.getMessage());
+  }
+
+  @Test
+  public void shouldOnlyBoundCurrentPasswordThroughBodySize() throws IOException {
+    RequestBodyLimits loginLimits = RequestBodyLimits.of(LoginRequestBody.class);
+    String password = "a".repeat(Const.MAX_PASSWORD_LENGTH + 1);
+    String body = "{\"email\": \"user@example.com\", \"password\": \"" + password + "\"}";
+
+    assertNull(loginLimits.getFieldLimit("password"));
+    assertTrue(loginLimits.getMaxBodySize() > 6L * Const.MAX_CURRENT_PASSWORD_LENGTH);
+    assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), new RequestBodyLimitingInputStream(
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), loginLimits).readAllBytes());
+
+    String tooLarge = "{\"password\": \"" + "a".repeat(1 << 20) + "\"}";
+
+    assertThrows(RequestBodyTooLargeException.class, () -> new RequestBodyLimitingInputStream(
+      new ByteArrayInputStream(tooLarge.getBytes(StandardCharsets.UTF_8)), loginLimits).readAllBytes());
+  }
+}
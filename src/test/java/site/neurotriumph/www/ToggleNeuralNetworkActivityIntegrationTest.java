@@ -17,9 +17,11 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import site.neurotriumph.www.constant.Field;
 import site.neurotriumph.www.constant.Header;
@@ -221,4 +223,29 @@ public class ToggleNeuralNetworkActivityIntegrationTest {
       .andDo(print())
       .andExpect(status().isOk());
   }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldFlipActivity() throws Exception {
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    for (boolean active : new boolean[]{false, true}) {
+      this.mockMvc.perform(put(baseUrl)
+          .header(Header.AUTHENTICATION_TOKEN, token)
+          .content(objectMapper.writeValueAsString(new ToggleNeuralNetworkActivityRequestBody(1L)))
+          .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk());
+
+      this.mockMvc.perform(get("/user/nn/1")
+          .header(Header.AUTHENTICATION_TOKEN, token))
+        .andDo(print())
+        .andExpect(jsonPath("$.active").value(active));
+    }
+  }
 }
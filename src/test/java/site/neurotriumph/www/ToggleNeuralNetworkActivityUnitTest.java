@@ -12,8 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.ToggleNeuralNetworkActivityRequestBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
@@ -32,8 +32,8 @@ public class ToggleNeuralNetworkActivityUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       ToggleNeuralNetworkActivityRequestBody toggleNeuralNetworkActivityRequestBody =
         new ToggleNeuralNetworkActivityRequestBody(1L);
 
@@ -53,8 +53,8 @@ public class ToggleNeuralNetworkActivityUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       ToggleNeuralNetworkActivityRequestBody toggleNeuralNetworkActivityRequestBody =
         new ToggleNeuralNetworkActivityRequestBody(1L);
 
@@ -68,38 +68,21 @@ public class ToggleNeuralNetworkActivityUnitTest {
   }
 
   @Test
-  public void shouldFindUserAndNeuralNetworkAndToggleActivity() {
+  public void shouldToggleActivityInSingleStatement() {
     ToggleNeuralNetworkActivityRequestBody toggleNeuralNetworkActivityRequestBody =
       new ToggleNeuralNetworkActivityRequestBody(1L);
 
-    User user = new User();
-    user.setId(1L);
+    Mockito.when(neuralNetworkRepository.toggleActivity(toggleNeuralNetworkActivityRequestBody.getId(), 1L))
+      .thenReturn(1);
 
-    NeuralNetwork neuralNetwork = new NeuralNetwork();
-    neuralNetwork.setApi_secret("123");
-    neuralNetwork.setActive(true);
-
-    NeuralNetwork spiedNeuralNetwork = Mockito.spy(neuralNetwork);
-
-    Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
-      .thenReturn(Optional.of(user));
-
-    Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(
-        toggleNeuralNetworkActivityRequestBody.getId(),
-        user.getId()))
-      .thenReturn(Optional.of(spiedNeuralNetwork));
-
-    neuralNetworkService.toggleActivity(user.getId(), toggleNeuralNetworkActivityRequestBody);
-
-    Mockito.verify(userRepository, Mockito.times(1))
-      .findConfirmedById(ArgumentMatchers.eq(user.getId()));
+    neuralNetworkService.toggleActivity(1L, toggleNeuralNetworkActivityRequestBody);
 
     Mockito.verify(neuralNetworkRepository, Mockito.times(1))
-      .findByIdAndOwnerId(
-        toggleNeuralNetworkActivityRequestBody.getId(),
-        user.getId());
+      .toggleActivity(toggleNeuralNetworkActivityRequestBody.getId(), 1L);
+
+    Mockito.verify(neuralNetworkRepository, Mockito.never())
+      .findByIdAndOwnerId(ArgumentMatchers.any(), ArgumentMatchers.any());
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .setActive(ArgumentMatchers.eq(!neuralNetwork.isActive()));
+    Mockito.verifyNoInteractions(userRepository);
   }
 }
@@ -0,0 +1,45 @@
+package site.neurotriumph.www;
+
+import org.junit.Test;
+import site.neurotriumph.www.component.TokenEpochTable;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenEpochTableUnitTest {
+  @Test
+  public void shouldReturnUnknownForUserThatWasNeverLoaded() {
+    TokenEpochTable tokenEpochTable = new TokenEpochTable(16);
+
+    assertEquals(TokenEpochTable.UNKNOWN, tokenEpochTable.getEpoch(1L));
+  }
+
+  @Test
+  public void shouldReturnLoadedEpoch() {
+    TokenEpochTable tokenEpochTable = new TokenEpochTable(16);
+
+    tokenEpochTable.putLoaded(1L, 3, tokenEpochTable.stamp());
+
+    assertEquals(3, tokenEpochTable.getEpoch(1L));
+  }
+
+  @Test
+  public void shouldNotGoBackToOlderEpoch() {
+    TokenEpochTable tokenEpochTable = new TokenEpochTable(16);
+
+    tokenEpochTable.putTransactionally(1L, 4);
+    tokenEpochTable.putLoaded(1L, 3, tokenEpochTable.stamp());
+
+    assertEquals(4, tokenEpochTable.getEpoch(1L));
+  }
+
+  @Test
+  public void shouldIgnoreEpochLoadedBeforeChange() {
+    TokenEpochTable tokenEpochTable = new TokenEpochTable(16);
+
+    long stamp = tokenEpochTable.stamp();
+    tokenEpochTable.removeTransactionally(1L);
+    tokenEpochTable.putLoaded(1L, 0, stamp);
+
+    assertEquals(TokenEpochTable.UNKNOWN, tokenEpochTable.getEpoch(1L));
+  }
+}
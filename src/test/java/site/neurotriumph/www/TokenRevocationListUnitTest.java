@@ -0,0 +1,113 @@
+package site.neurotriumph.www;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import site.neurotriumph.www.component.TokenRevocationList;
+import site.neurotriumph.www.repository.RevokedTokenRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenRevocationListUnitTest {
+  private RevokedTokenRepository revokedTokenRepository;
+  private TokenRevocationList tokenRevocationList;
+
+  @Before
+  public void setUp() {
+    revokedTokenRepository = Mockito.mock(RevokedTokenRepository.class);
+    tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1000, 0.01);
+    tokenRevocationList.afterPropertiesSet();
+  }
+
+  @Test
+  public void shouldNotQueryDatabaseForTokensThatWereNeverRevoked() {
+    for (int i = 0; i < 1000; i++) {
+      tokenRevocationList.revoke(UUID.randomUUID().toString(), 0);
+    }
+
+    int filterMatches = 0;
+    for (int i = 0; i < 1000; i++) {
+      if (tokenRevocationList.isRevoked(UUID.randomUUID().toString())) {
+        filterMatches++;
+      }
+    }
+
+    assertEquals(0, filterMatches);
+    assertEquals(tokenRevocationList.getFalsePositives(),
+      Mockito.mockingDetails(revokedTokenRepository).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("existsById"))
+        .count());
+
+    /*
+     * Sized for 1000 ids with a 1% false positive probability.
+     * */
+    assertTrue(tokenRevocationList.getFalsePositives() < 50);
+  }
+
+  @Test
+  public void shouldConfirmFilterMatchesInDatabase() {
+    String tokenId = UUID.randomUUID().toString();
+
+    tokenRevocationList.revoke(tokenId, 1);
+
+    Mockito.when(revokedTokenRepository.existsById(tokenId)).thenReturn(true);
+    assertTrue(tokenRevocationList.isRevoked(tokenId));
+
+    Mockito.verify(revokedTokenRepository, Mockito.times(1))
+      .save(ArgumentMatchers.argThat(revokedToken ->
+        revokedToken.getId().equals(tokenId) && revokedToken.getExpires_at() == 1));
+    Mockito.verify(revokedTokenRepository, Mockito.times(1))
+      .existsById(tokenId);
+  }
+
+  @Test
+  public void shouldForgetPurgedTokensOnRebuild() {
+    String expiredTokenId = UUID.randomUUID().toString();
+    String tokenId = UUID.randomUUID().toString();
+
+    tokenRevocationList.revoke(expiredTokenId, 1);
+    tokenRevocationList.revoke(tokenId, Long.MAX_VALUE);
+
+    Mockito.when(revokedTokenRepository.deleteAllExpiredBefore(ArgumentMatchers.anyLong())).thenReturn(1);
+    Mockito.when(revokedTokenRepository.findAllIds()).thenReturn(List.of(tokenId));
+    Mockito.when(revokedTokenRepository.existsById(tokenId)).thenReturn(true);
+
+    tokenRevocationList.rebuild();
+
+    assertFalse(tokenRevocationList.isRevoked(expiredTokenId));
+    assertTrue(tokenRevocationList.isRevoked(tokenId));
+    assertEquals(1, tokenRevocationList.getPurged());
+
+    Mockito.verify(revokedTokenRepository, Mockito.never())
+      .existsById(expiredTokenId);
+  }
+
+  @Test
+  public void shouldPickUpTokensRevokedByOtherInstancesOnSync() {
+    String tokenId = UUID.randomUUID().toString();
+
+    Mockito.when(revokedTokenRepository.existsById(tokenId)).thenReturn(true);
+    assertFalse(tokenRevocationList.isRevoked(tokenId));
+
+    Mockito.when(revokedTokenRepository.findAllIdsRevokedSince(ArgumentMatchers.anyLong()))
+      .thenReturn(List.of(tokenId));
+    tokenRevocationList.sync();
+
+    assertTrue(tokenRevocationList.isRevoked(tokenId));
+
+    // Each sync reads from where the previous one (or the rebuild) started,
+    // less a minute of overlap for clock differences between instances.
+    long before = System.currentTimeMillis();
+    tokenRevocationList.sync();
+
+    Mockito.verify(revokedTokenRepository, Mockito.times(2)).findAllIdsRevokedSince(
+      ArgumentMatchers.longThat(since -> since >= before - TimeUnit.MINUTES.toMillis(2) && since <= before));
+  }
+}
@@ -20,6 +20,7 @@ import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.Regex;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.UpdateEmailRequestBody;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.MailSenderService;
@@ -52,8 +53,8 @@ public class UpdateEmailUnitTest {
   private MailSenderService mailSenderService;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNothingToUpdate() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNothingToUpdate() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateEmailRequestBody updateEmailRequestBody = new UpdateEmailRequestBody("Qwerty123",
         senderEmail);
 
@@ -73,8 +74,8 @@ public class UpdateEmailUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseWrongPassword() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseWrongPassword() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateEmailRequestBody updateEmailRequestBody = new UpdateEmailRequestBody("123123",
         "new_email@gmail.com");
 
@@ -94,8 +95,8 @@ public class UpdateEmailUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateEmailRequestBody updateEmailRequestBody = new UpdateEmailRequestBody("Qwerty123",
         "new_email@gmail.com");
 
@@ -175,7 +176,7 @@ public class UpdateEmailUnitTest {
     Mockito.verify(mailSenderService, Mockito.times(1))
       .send(
         ArgumentMatchers.eq(user.getEmail()),
-        ArgumentMatchers.eq("Neuro Triumph"),
+        ArgumentMatchers.eq(TokenMarker.EMAIL_UPDATE_CONFIRMATION),
         ArgumentMatchers.any(String.class));
   }
 }
@@ -69,6 +69,33 @@ public class UpdateNeuralNetworkApiRootIntegrationTest {
         new ErrorResponseBody(Message.NOTHING_TO_UPDATE))));
   }
 
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_networks_of_two_owners.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnNeuralNetworkApiRootAlreadyInUseError() throws Exception {
+    /*
+     * The neural network with id 2 of the same user already uses it.
+     * */
+    UpdateNeuralNetworkApiRootRequestBody updateNeuralNetworkApiRootRequestBody = new UpdateNeuralNetworkApiRootRequestBody(
+      1L, "http://nn2.org/api");
+
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    this.mockMvc.perform(put(baseUrl)
+        .header(Header.AUTHENTICATION_TOKEN, token)
+        .content(objectMapper.writeValueAsString(updateNeuralNetworkApiRootRequestBody))
+        .contentType(MediaType.APPLICATION_JSON))
+      .andDo(print())
+      .andExpect(status().isBadRequest())
+      .andExpect(content().string(objectMapper.writeValueAsString(
+        new ErrorResponseBody(Message.NN_API_ROOT_ALREADY_IN_USE))));
+  }
+
   @Test
   @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
   @Sql(value = {"/sql/insert_neural_network_with_owner_id_2.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
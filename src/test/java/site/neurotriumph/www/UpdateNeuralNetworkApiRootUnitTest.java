@@ -2,6 +2,7 @@ package site.neurotriumph.www;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.AdditionalMatchers;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.UpdateNeuralNetworkApiRootRequestBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
@@ -34,22 +36,22 @@ public class UpdateNeuralNetworkApiRootUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNothingToUpdate() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNothingToUpdate() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkApiRootRequestBody updateNeuralNetworkApiRootRequestBody =
         new UpdateNeuralNetworkApiRootRequestBody(1L, "http://188.187.188.37:5000/v2/api");
 
       User user = Mockito.spy(new User());
       user.setId(1L);
 
-      NeuralNetwork neuralNetwork = new NeuralNetwork();
-      neuralNetwork.setApi_root("http://188.187.188.37:5000/v2/api");
-
+      /*
+       * The update changes no row, although the neural network exists.
+       * */
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
         .thenReturn(Optional.of(user));
 
-      Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(1L, user.getId()))
-        .thenReturn(Optional.of(neuralNetwork));
+      Mockito.when(neuralNetworkRepository.existsByIdAndOwnerId(1L, user.getId()))
+        .thenReturn(true);
 
       neuralNetworkService.updateApiRoot(user.getId(), updateNeuralNetworkApiRootRequestBody);
     });
@@ -58,8 +60,8 @@ public class UpdateNeuralNetworkApiRootUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkApiRootRequestBody updateNeuralNetworkApiRootRequestBody =
         new UpdateNeuralNetworkApiRootRequestBody(1L, "http://188.187.188.37:5000/v2/api");
 
@@ -79,8 +81,8 @@ public class UpdateNeuralNetworkApiRootUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkApiRootRequestBody updateNeuralNetworkApiRootRequestBody =
         new UpdateNeuralNetworkApiRootRequestBody(1L, "http://188.187.188.37:5000/v2/api");
 
@@ -94,40 +96,29 @@ public class UpdateNeuralNetworkApiRootUnitTest {
   }
 
   @Test
-  public void shouldFindUserAndNeuralNetworkAndUpdateApiRoot() {
+  public void shouldUpdateApiRootInSingleStatement() {
     UpdateNeuralNetworkApiRootRequestBody updateNeuralNetworkApiRootRequestBody =
       new UpdateNeuralNetworkApiRootRequestBody(1L, "http://188.187.188.37:5000/v2/api");
 
-    User user = Mockito.spy(new User());
-    user.setId(1L);
-
-    NeuralNetwork neuralNetwork = new NeuralNetwork();
-    neuralNetwork.setApi_root("http://188.187.188.37:5000/v1/api");
-
-    NeuralNetwork spiedNeuralNetwork = Mockito.spy(neuralNetwork);
-
-    Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
-      .thenReturn(Optional.of(user));
-
-    Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(
-        updateNeuralNetworkApiRootRequestBody.getId(),
-        user.getId()))
-      .thenReturn(Optional.of(spiedNeuralNetwork));
-
-    neuralNetworkService.updateApiRoot(user.getId(), updateNeuralNetworkApiRootRequestBody);
+    Mockito.when(neuralNetworkRepository.updateApiRoot(
+        ArgumentMatchers.eq(updateNeuralNetworkApiRootRequestBody.getId()),
+        ArgumentMatchers.eq(1L),
+        ArgumentMatchers.eq(updateNeuralNetworkApiRootRequestBody.getNew_api_root()),
+        AdditionalMatchers.aryEq(NeuralNetwork.hashApiRoot(updateNeuralNetworkApiRootRequestBody.getNew_api_root()))))
+      .thenReturn(1);
 
-    Mockito.verify(userRepository, Mockito.times(1))
-      .findConfirmedById(ArgumentMatchers.eq(user.getId()));
+    neuralNetworkService.updateApiRoot(1L, updateNeuralNetworkApiRootRequestBody);
 
     Mockito.verify(neuralNetworkRepository, Mockito.times(1))
-      .findByIdAndOwnerId(
-        updateNeuralNetworkApiRootRequestBody.getId(),
-        user.getId());
+      .updateApiRoot(
+        ArgumentMatchers.eq(updateNeuralNetworkApiRootRequestBody.getId()),
+        ArgumentMatchers.eq(1L),
+        ArgumentMatchers.eq(updateNeuralNetworkApiRootRequestBody.getNew_api_root()),
+        AdditionalMatchers.aryEq(NeuralNetwork.hashApiRoot(updateNeuralNetworkApiRootRequestBody.getNew_api_root())));
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .getApi_root();
+    Mockito.verify(neuralNetworkRepository, Mockito.never())
+      .findByIdAndOwnerId(ArgumentMatchers.any(), ArgumentMatchers.any());
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .setApi_root(ArgumentMatchers.eq(updateNeuralNetworkApiRootRequestBody.getNew_api_root()));
+    Mockito.verifyNoInteractions(userRepository);
   }
 }
@@ -25,9 +25,11 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -267,4 +269,29 @@ public class UpdateNeuralNetworkApiSecretIntegrationTest {
       .andDo(print())
       .andExpect(status().isOk());
   }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldUpdateApiSecretThatDiffersOnlyInCase() throws Exception {
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    for (String newApiSecret : new String[]{"abc", "ABC"}) {
+      this.mockMvc.perform(put(baseUrl)
+          .header(Header.AUTHENTICATION_TOKEN, token)
+          .content(objectMapper.writeValueAsString(new UpdateNeuralNetworkApiSecretRequestBody(1L, newApiSecret)))
+          .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk());
+
+      this.mockMvc.perform(get("/user/nn/1")
+          .header(Header.AUTHENTICATION_TOKEN, token))
+        .andDo(print())
+        .andExpect(jsonPath("$.api_secret").value(newApiSecret));
+    }
+  }
 }
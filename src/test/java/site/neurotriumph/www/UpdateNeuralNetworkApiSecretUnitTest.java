@@ -12,8 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.UpdateNeuralNetworkApiSecretRequestBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
@@ -32,22 +32,22 @@ public class UpdateNeuralNetworkApiSecretUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNothingToUpdate() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNothingToUpdate() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkApiSecretRequestBody updateNeuralNetworkApiSecretRequestBody =
         new UpdateNeuralNetworkApiSecretRequestBody(1L, "1234");
 
       User user = Mockito.spy(new User());
       user.setId(1L);
 
-      NeuralNetwork neuralNetwork = new NeuralNetwork();
-      neuralNetwork.setApi_secret("1234");
-
+      /*
+       * The update changes no row, although the neural network exists.
+       * */
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
         .thenReturn(Optional.of(user));
 
-      Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(1L, user.getId()))
-        .thenReturn(Optional.of(neuralNetwork));
+      Mockito.when(neuralNetworkRepository.existsByIdAndOwnerId(1L, user.getId()))
+        .thenReturn(true);
 
       neuralNetworkService.updateApiSecret(user.getId(), updateNeuralNetworkApiSecretRequestBody);
     });
@@ -56,8 +56,8 @@ public class UpdateNeuralNetworkApiSecretUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkApiSecretRequestBody updateNeuralNetworkApiSecretRequestBody =
         new UpdateNeuralNetworkApiSecretRequestBody(1L, "1234");
 
@@ -77,8 +77,8 @@ public class UpdateNeuralNetworkApiSecretUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkApiSecretRequestBody updateNeuralNetworkApiSecretRequestBody =
         new UpdateNeuralNetworkApiSecretRequestBody(1L, "1234");
 
@@ -92,40 +92,27 @@ public class UpdateNeuralNetworkApiSecretUnitTest {
   }
 
   @Test
-  public void shouldFindUserAndNeuralNetworkAndUpdateApiSecret() {
+  public void shouldUpdateApiSecretInSingleStatement() {
     UpdateNeuralNetworkApiSecretRequestBody updateNeuralNetworkApiSecretRequestBody =
       new UpdateNeuralNetworkApiSecretRequestBody(1L, "1234");
 
-    User user = Mockito.spy(new User());
-    user.setId(1L);
-
-    NeuralNetwork neuralNetwork = new NeuralNetwork();
-    neuralNetwork.setApi_secret("123");
-
-    NeuralNetwork spiedNeuralNetwork = Mockito.spy(neuralNetwork);
-
-    Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
-      .thenReturn(Optional.of(user));
-
-    Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(
+    Mockito.when(neuralNetworkRepository.updateApiSecret(
         updateNeuralNetworkApiSecretRequestBody.getId(),
-        user.getId()))
-      .thenReturn(Optional.of(spiedNeuralNetwork));
-
-    neuralNetworkService.updateApiSecret(user.getId(), updateNeuralNetworkApiSecretRequestBody);
+        1L,
+        updateNeuralNetworkApiSecretRequestBody.getNew_api_secret()))
+      .thenReturn(1);
 
-    Mockito.verify(userRepository, Mockito.times(1))
-      .findConfirmedById(ArgumentMatchers.eq(user.getId()));
+    neuralNetworkService.updateApiSecret(1L, updateNeuralNetworkApiSecretRequestBody);
 
     Mockito.verify(neuralNetworkRepository, Mockito.times(1))
-      .findByIdAndOwnerId(
+      .updateApiSecret(
         updateNeuralNetworkApiSecretRequestBody.getId(),
-        user.getId());
+        1L,
+        updateNeuralNetworkApiSecretRequestBody.getNew_api_secret());
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .getApi_secret();
+    Mockito.verify(neuralNetworkRepository, Mockito.never())
+      .findByIdAndOwnerId(ArgumentMatchers.any(), ArgumentMatchers.any());
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .setApi_secret(ArgumentMatchers.eq(updateNeuralNetworkApiSecretRequestBody.getNew_api_secret()));
+    Mockito.verifyNoInteractions(userRepository);
   }
 }
@@ -25,9 +25,11 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -69,6 +71,33 @@ public class UpdateNeuralNetworkNameIntegrationTest {
         new ErrorResponseBody(Message.NOTHING_TO_UPDATE))));
   }
 
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_networks_of_two_owners.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldReturnNeuralNetworkNameAlreadyInUseError() throws Exception {
+    /*
+     * The neural network with id 2 of the same user already uses it.
+     * */
+    UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody = new UpdateNeuralNetworkNameRequestBody(
+      1L, "nn_2");
+
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    this.mockMvc.perform(put(baseUrl)
+        .header(Header.AUTHENTICATION_TOKEN, token)
+        .content(objectMapper.writeValueAsString(updateNeuralNetworkNameRequestBody))
+        .contentType(MediaType.APPLICATION_JSON))
+      .andDo(print())
+      .andExpect(status().isBadRequest())
+      .andExpect(content().string(objectMapper.writeValueAsString(
+        new ErrorResponseBody(Message.NN_NAME_ALREADY_IN_USE))));
+  }
+
   @Test
   @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
   @Sql(value = {"/sql/insert_neural_network_with_owner_id_2.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -296,4 +325,29 @@ public class UpdateNeuralNetworkNameIntegrationTest {
       .andDo(print())
       .andExpect(status().isOk());
   }
+
+  @Test
+  @Sql(value = {"/sql/insert_confirmed_user.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/insert_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_neural_network.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(value = {"/sql/truncate_user.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void shouldUpdateNameThatDiffersOnlyInCase() throws Exception {
+    String token = JWT.create()
+      .withClaim(Field.USER_ID, 1L)
+      .sign(Algorithm.HMAC256(appSecret + TokenMarker.AUTHENTICATION));
+
+    for (String newName : new String[]{"Human_Killer", "human_killer"}) {
+      this.mockMvc.perform(put(baseUrl)
+          .header(Header.AUTHENTICATION_TOKEN, token)
+          .content(objectMapper.writeValueAsString(new UpdateNeuralNetworkNameRequestBody(1L, newName)))
+          .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk());
+
+      this.mockMvc.perform(get("/user/nn/1")
+          .header(Header.AUTHENTICATION_TOKEN, token))
+        .andDo(print())
+        .andExpect(jsonPath("$.name").value(newName));
+    }
+  }
 }
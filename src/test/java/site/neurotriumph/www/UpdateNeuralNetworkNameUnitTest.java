@@ -9,8 +9,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import site.neurotriumph.www.constant.Message;
-import site.neurotriumph.www.entity.NeuralNetwork;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.UpdateNeuralNetworkNameRequestBody;
 import site.neurotriumph.www.repository.NeuralNetworkRepository;
 import site.neurotriumph.www.repository.UserRepository;
@@ -34,22 +34,22 @@ public class UpdateNeuralNetworkNameUnitTest {
   private NeuralNetworkRepository neuralNetworkRepository;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNothingToUpdate() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
-      UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody = new UpdateNeuralNetworkNameRequestBody(
-        1L, "human_killer");
+  public void shouldThrowDomainExceptionBecauseNothingToUpdate() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
+      UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody =
+        new UpdateNeuralNetworkNameRequestBody(1L, "human_killer");
 
       User user = Mockito.spy(new User());
       user.setId(1L);
 
-      NeuralNetwork neuralNetwork = new NeuralNetwork();
-      neuralNetwork.setName("human_killer");
-
+      /*
+       * The update changes no row, although the neural network exists.
+       * */
       Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
         .thenReturn(Optional.of(user));
 
-      Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(1L, user.getId()))
-        .thenReturn(Optional.of(neuralNetwork));
+      Mockito.when(neuralNetworkRepository.existsByIdAndOwnerId(1L, user.getId()))
+        .thenReturn(true);
 
       neuralNetworkService.updateName(user.getId(), updateNeuralNetworkNameRequestBody);
     });
@@ -58,8 +58,8 @@ public class UpdateNeuralNetworkNameUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNeuralNetworkDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNeuralNetworkDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody = new UpdateNeuralNetworkNameRequestBody(
         1L, "human_defender");
 
@@ -79,8 +79,8 @@ public class UpdateNeuralNetworkNameUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody = new UpdateNeuralNetworkNameRequestBody(
         1L, "human_defender");
 
@@ -94,40 +94,27 @@ public class UpdateNeuralNetworkNameUnitTest {
   }
 
   @Test
-  public void shouldFindUserAndNeuralNetworkAndUpdateName() {
-    UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody = new UpdateNeuralNetworkNameRequestBody(
-      1L, "human_defender");
-
-    User user = Mockito.spy(new User());
-    user.setId(1L);
+  public void shouldUpdateNameInSingleStatement() {
+    UpdateNeuralNetworkNameRequestBody updateNeuralNetworkNameRequestBody =
+      new UpdateNeuralNetworkNameRequestBody(1L, "human_defender");
 
-    NeuralNetwork neuralNetwork = new NeuralNetwork();
-    neuralNetwork.setName("human_killer");
-
-    NeuralNetwork spiedNeuralNetwork = Mockito.spy(neuralNetwork);
-
-    Mockito.when(userRepository.findConfirmedById(ArgumentMatchers.eq(user.getId())))
-      .thenReturn(Optional.of(user));
-
-    Mockito.when(neuralNetworkRepository.findByIdAndOwnerId(
+    Mockito.when(neuralNetworkRepository.updateName(
         updateNeuralNetworkNameRequestBody.getId(),
-        user.getId()))
-      .thenReturn(Optional.of(spiedNeuralNetwork));
-
-    neuralNetworkService.updateName(user.getId(), updateNeuralNetworkNameRequestBody);
+        1L,
+        updateNeuralNetworkNameRequestBody.getNew_name()))
+      .thenReturn(1);
 
-    Mockito.verify(userRepository, Mockito.times(1))
-      .findConfirmedById(ArgumentMatchers.eq(user.getId()));
+    neuralNetworkService.updateName(1L, updateNeuralNetworkNameRequestBody);
 
     Mockito.verify(neuralNetworkRepository, Mockito.times(1))
-      .findByIdAndOwnerId(
+      .updateName(
         updateNeuralNetworkNameRequestBody.getId(),
-        user.getId());
+        1L,
+        updateNeuralNetworkNameRequestBody.getNew_name());
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .getName();
+    Mockito.verify(neuralNetworkRepository, Mockito.never())
+      .findByIdAndOwnerId(ArgumentMatchers.any(), ArgumentMatchers.any());
 
-    Mockito.verify(spiedNeuralNetwork, Mockito.times(1))
-      .setName(ArgumentMatchers.eq(updateNeuralNetworkNameRequestBody.getNew_name()));
+    Mockito.verifyNoInteractions(userRepository);
   }
 }
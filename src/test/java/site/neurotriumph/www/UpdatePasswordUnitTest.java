@@ -20,6 +20,7 @@ import site.neurotriumph.www.constant.Message;
 import site.neurotriumph.www.constant.Regex;
 import site.neurotriumph.www.constant.TokenMarker;
 import site.neurotriumph.www.entity.User;
+import site.neurotriumph.www.exception.DomainException;
 import site.neurotriumph.www.pojo.UpdatePasswordRequestBody;
 import site.neurotriumph.www.repository.UserRepository;
 import site.neurotriumph.www.service.MailSenderService;
@@ -52,8 +53,8 @@ public class UpdatePasswordUnitTest {
   private MailSenderService mailSenderService;
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseNothingToUpdate() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseNothingToUpdate() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdatePasswordRequestBody updatePasswordRequestBody = new UpdatePasswordRequestBody("Qwerty123",
         "Qwerty123");
 
@@ -73,8 +74,8 @@ public class UpdatePasswordUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseWrongPassword() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseWrongPassword() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdatePasswordRequestBody updatePasswordRequestBody = new UpdatePasswordRequestBody("123123",
         "Qwerty1234");
 
@@ -94,8 +95,8 @@ public class UpdatePasswordUnitTest {
   }
 
   @Test
-  public void shouldThrowIllegalStateExceptionBecauseUserDoesNotExist() {
-    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+  public void shouldThrowDomainExceptionBecauseUserDoesNotExist() {
+    DomainException exception = assertThrows(DomainException.class, () -> {
       UpdatePasswordRequestBody updatePasswordRequestBody = new UpdatePasswordRequestBody("Qwerty123",
         "Qwerty1234");
 
@@ -175,7 +176,7 @@ public class UpdatePasswordUnitTest {
     Mockito.verify(mailSenderService, Mockito.times(1))
       .send(
         ArgumentMatchers.eq(user.getEmail()),
-        ArgumentMatchers.eq("Neuro Triumph"),
+        ArgumentMatchers.eq(TokenMarker.PASSWORD_UPDATE_CONFIRMATION),
         ArgumentMatchers.any(String.class));
   }
 }
@@ -0,0 +1,79 @@
+package site.neurotriumph.www;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.Test;
+import site.neurotriumph.www.component.VerifiedTokenCache;
+import site.neurotriumph.www.constant.Const;
+import site.neurotriumph.www.constant.Field;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class VerifiedTokenCacheUnitTest {
+  private final Algorithm algorithm = Algorithm.HMAC256("abc123");
+
+  private String createToken(long userId, long expiresAt) {
+    return JWT.create()
+      .withClaim(Field.USER_ID, userId)
+      .withExpiresAt(new Date(expiresAt))
+      .sign(algorithm);
+  }
+
+  @Test
+  public void shouldReturnCachedTokenOnRepeatedLookup() {
+    VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 10, Const.AUTH_TOKEN_LIFETIME);
+
+    String token = createToken(1L, System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME);
+    DecodedJWT decodedJWT = JWT.decode(token);
+
+    assertNull(verifiedTokenCache.get(token));
+    verifiedTokenCache.put(token, decodedJWT);
+    assertSame(decodedJWT, verifiedTokenCache.get(token));
+
+    assertEquals(1, verifiedTokenCache.getHits());
+    assertEquals(1, verifiedTokenCache.getMisses());
+  }
+
+  @Test
+  public void shouldNotReturnTokenAfterItsExpirationTime() {
+    VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 10, Const.AUTH_TOKEN_LIFETIME);
+
+    String token = createToken(1L, System.currentTimeMillis() - 1000);
+    verifiedTokenCache.put(token, JWT.decode(token));
+
+    assertNull(verifiedTokenCache.get(token));
+    assertEquals(1, verifiedTokenCache.getExpirations());
+    assertEquals(0, verifiedTokenCache.size());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedTokenWhenFull() {
+    VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 2, Const.AUTH_TOKEN_LIFETIME);
+
+    long expiresAt = System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME;
+    for (long userId = 1; userId <= 3; userId++) {
+      String token = createToken(userId, expiresAt);
+      verifiedTokenCache.put(token, JWT.decode(token));
+    }
+
+    assertEquals(2, verifiedTokenCache.size());
+    assertEquals(1, verifiedTokenCache.getEvictions());
+    assertNull(verifiedTokenCache.get(createToken(1L, expiresAt)));
+  }
+
+  @Test
+  public void shouldDoNothingWhenDisabled() {
+    VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(false, 10, Const.AUTH_TOKEN_LIFETIME);
+
+    String token = createToken(1L, System.currentTimeMillis() + Const.AUTH_TOKEN_LIFETIME);
+    verifiedTokenCache.put(token, JWT.decode(token));
+
+    assertNull(verifiedTokenCache.get(token));
+    assertEquals(0, verifiedTokenCache.size());
+  }
+}
@@ -1,4 +1,4 @@
 TRUNCATE user;
 
-INSERT INTO user (email, password_hash, confirmed) VALUES ("test@gmail.com",
+INSERT INTO user (id, email, password_hash, confirmed) VALUES (1, "test@gmail.com",
   "77aae185203edc6357676db95caa25d0f398d402c1723e6a7b42cfe8d2967f2e", 1);
\ No newline at end of file
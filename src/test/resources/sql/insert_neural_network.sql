@@ -1,4 +1,5 @@
 TRUNCATE neural_network;
 
-INSERT INTO neural_network (owner_id, name, api_root, api_secret) VALUES (1, "human_killer",
-  "http://188.187.188.37:5000/v1/api", "123");
\ No newline at end of file
+INSERT INTO neural_network (id, owner_id, name, api_root, api_root_hash, api_secret) VALUES (1, 1, "human_killer",
+  "http://188.187.188.37:5000/v1/api",
+  UNHEX(SHA2("http://188.187.188.37:5000/v1/api", 256)), "123");
\ No newline at end of file
@@ -0,0 +1,48 @@
+TRUNCATE neural_network;
+
+INSERT INTO neural_network (id, owner_id, name, api_root, api_root_hash, api_secret, active) VALUES
+  (1, 1, "nn_1", "http://nn1.org/api", UNHEX(SHA2("http://nn1.org/api", 256)), "123", 1),
+  (2, 1, "nn_2", "http://nn2.org/api", UNHEX(SHA2("http://nn2.org/api", 256)), "123", 1),
+  (3, 1, "nn_3", "http://nn3.org/api", UNHEX(SHA2("http://nn3.org/api", 256)), "123", 1),
+  (4, 1, "nn_4", "http://nn4.org/api", UNHEX(SHA2("http://nn4.org/api", 256)), "123", 1),
+  (5, 1, "nn_5", "http://nn5.org/api", UNHEX(SHA2("http://nn5.org/api", 256)), "123", 0),
+  (6, 1, "nn_6", "http://nn6.org/api", UNHEX(SHA2("http://nn6.org/api", 256)), "123", 1),
+  (7, 1, "nn_7", "http://nn7.org/api", UNHEX(SHA2("http://nn7.org/api", 256)), "123", 1),
+  (8, 1, "nn_8", "http://nn8.org/api", UNHEX(SHA2("http://nn8.org/api", 256)), "123", 1),
+  (9, 1, "nn_9", "http://nn9.org/api", UNHEX(SHA2("http://nn9.org/api", 256)), "123", 1),
+  (10, 1, "nn_10", "http://nn10.org/api", UNHEX(SHA2("http://nn10.org/api", 256)), "123", 0),
+  (11, 1, "nn_11", "http://nn11.org/api", UNHEX(SHA2("http://nn11.org/api", 256)), "123", 1),
+  (12, 1, "nn_12", "http://nn12.org/api", UNHEX(SHA2("http://nn12.org/api", 256)), "123", 1),
+  (13, 1, "nn_13", "http://nn13.org/api", UNHEX(SHA2("http://nn13.org/api", 256)), "123", 1),
+  (14, 1, "nn_14", "http://nn14.org/api", UNHEX(SHA2("http://nn14.org/api", 256)), "123", 1),
+  (15, 1, "nn_15", "http://nn15.org/api", UNHEX(SHA2("http://nn15.org/api", 256)), "123", 0),
+  (16, 1, "nn_16", "http://nn16.org/api", UNHEX(SHA2("http://nn16.org/api", 256)), "123", 1),
+  (17, 1, "nn_17", "http://nn17.org/api", UNHEX(SHA2("http://nn17.org/api", 256)), "123", 1),
+  (18, 1, "nn_18", "http://nn18.org/api", UNHEX(SHA2("http://nn18.org/api", 256)), "123", 1),
+  (19, 1, "nn_19", "http://nn19.org/api", UNHEX(SHA2("http://nn19.org/api", 256)), "123", 1),
+  (20, 1, "nn_20", "http://nn20.org/api", UNHEX(SHA2("http://nn20.org/api", 256)), "123", 0),
+  (21, 1, "nn_21", "http://nn21.org/api", UNHEX(SHA2("http://nn21.org/api", 256)), "123", 1),
+  (22, 1, "nn_22", "http://nn22.org/api", UNHEX(SHA2("http://nn22.org/api", 256)), "123", 1),
+  (23, 1, "nn_23", "http://nn23.org/api", UNHEX(SHA2("http://nn23.org/api", 256)), "123", 1),
+  (24, 1, "nn_24", "http://nn24.org/api", UNHEX(SHA2("http://nn24.org/api", 256)), "123", 1),
+  (25, 1, "nn_25", "http://nn25.org/api", UNHEX(SHA2("http://nn25.org/api", 256)), "123", 0),
+  (26, 1, "nn_26", "http://nn26.org/api", UNHEX(SHA2("http://nn26.org/api", 256)), "123", 1),
+  (27, 1, "nn_27", "http://nn27.org/api", UNHEX(SHA2("http://nn27.org/api", 256)), "123", 1),
+  (28, 1, "nn_28", "http://nn28.org/api", UNHEX(SHA2("http://nn28.org/api", 256)), "123", 1),
+  (29, 1, "nn_29", "http://nn29.org/api", UNHEX(SHA2("http://nn29.org/api", 256)), "123", 1),
+  (30, 1, "nn_30", "http://nn30.org/api", UNHEX(SHA2("http://nn30.org/api", 256)), "123", 0),
+  (31, 1, "nn_31", "http://nn31.org/api", UNHEX(SHA2("http://nn31.org/api", 256)), "123", 1),
+  (32, 1, "nn_32", "http://nn32.org/api", UNHEX(SHA2("http://nn32.org/api", 256)), "123", 1),
+  (33, 1, "nn_33", "http://nn33.org/api", UNHEX(SHA2("http://nn33.org/api", 256)), "123", 1),
+  (34, 1, "nn_34", "http://nn34.org/api", UNHEX(SHA2("http://nn34.org/api", 256)), "123", 1),
+  (35, 1, "nn_35", "http://nn35.org/api", UNHEX(SHA2("http://nn35.org/api", 256)), "123", 0),
+  (36, 1, "nn_36", "http://nn36.org/api", UNHEX(SHA2("http://nn36.org/api", 256)), "123", 1),
+  (37, 1, "nn_37", "http://nn37.org/api", UNHEX(SHA2("http://nn37.org/api", 256)), "123", 1),
+  (38, 1, "nn_38", "http://nn38.org/api", UNHEX(SHA2("http://nn38.org/api", 256)), "123", 1),
+  (39, 1, "nn_39", "http://nn39.org/api", UNHEX(SHA2("http://nn39.org/api", 256)), "123", 1),
+  (40, 1, "nn_40", "http://nn40.org/api", UNHEX(SHA2("http://nn40.org/api", 256)), "123", 0),
+  (41, 2, "nn_41", "http://nn41.org/api", UNHEX(SHA2("http://nn41.org/api", 256)), "123", 1),
+  (42, 2, "nn_42", "http://nn42.org/api", UNHEX(SHA2("http://nn42.org/api", 256)), "123", 1),
+  (43, 2, "nn_43", "http://nn43.org/api", UNHEX(SHA2("http://nn43.org/api", 256)), "123", 1),
+  (44, 2, "nn_44", "http://nn44.org/api", UNHEX(SHA2("http://nn44.org/api", 256)), "123", 1),
+  (45, 2, "nn_45", "http://nn45.org/api", UNHEX(SHA2("http://nn45.org/api", 256)), "123", 1);
\ No newline at end of file
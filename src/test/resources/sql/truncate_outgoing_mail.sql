@@ -0,0 +1 @@
+TRUNCATE outgoing_mail;
\ No newline at end of file